@@ -0,0 +1,27 @@
+package com.gym.backend.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent identical calls of a read-only service method: while one call runs,
+ * callers with equal arguments wait for it and receive the same result (or exception)
+ * instead of running their own. The arguments must implement equals and hashCode, the
+ * result must not depend on the calling user, and callers must not mutate the shared result.
+ * Calls made inside an already running transaction are not coalesced, since they may need
+ * to see that transaction's own writes.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /**
+     * How long a completed result keeps answering identical calls. Zero shares only the
+     * in-flight call.
+     */
+    long ttlMillis() default 0;
+}
@@ -0,0 +1,160 @@
+package com.gym.backend.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-flight execution of {@link Coalesced} methods. The first caller for a method and
+ * argument list runs it; identical callers arriving meanwhile, or within the TTL after it
+ * completes, share its outcome. Failures are shared with the waiting callers but never
+ * kept. Ordered outside the transaction interceptor so only the leading call opens a
+ * transaction.
+ *
+ * Every call is counted under {@code coalescing.calls} by operation and result: {@code leader}
+ * ran the method, {@code joined} waited for a running call and {@code cached} reused a
+ * completed one. The coalescing ratio is (joined + cached) / all calls. The three counters
+ * are registered once per method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CoalescingAspect {
+
+    private static final int LEADER = 0;
+    private static final int JOINED = 1;
+    private static final int CACHED = 2;
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<CallKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<Method, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    CoalescingAspect(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Counter[] calls = counters.computeIfAbsent(signature.getMethod(), method -> register(signature));
+        CallKey key = new CallKey(signature.getMethod().toGenericString(), Arrays.asList(joinPoint.getArgs()));
+
+        while (true) {
+            Flight existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.isExpired(nanoClock.getAsLong())) {
+                    calls[existing.future.isDone() ? CACHED : JOINED].increment();
+                    return await(existing);
+                }
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight flight = new Flight(coalesced.ttlMillis());
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            calls[LEADER].increment();
+            return lead(joinPoint, key, flight);
+        }
+    }
+
+    private Object lead(ProceedingJoinPoint joinPoint, CallKey key, Flight flight) throws Throwable {
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+        flight.complete(result, nanoClock.getAsLong());
+        if (flight.ttlMillis <= 0) {
+            flights.remove(key, flight);
+        } else {
+            // Keys built from arguments would otherwise accumulate
+            CompletableFuture.delayedExecutor(flight.ttlMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+        return result;
+    }
+
+    private static Object await(Flight flight) throws Throwable {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private Counter[] register(MethodSignature signature) {
+        String operation = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+        Counter[] calls = new Counter[3];
+        calls[LEADER] = counter(operation, "leader");
+        calls[JOINED] = counter(operation, "joined");
+        calls[CACHED] = counter(operation, "cached");
+        return calls;
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder("coalescing.calls")
+                .description("Calls of coalesced methods, by whether they ran, joined a running call or reused a result")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Value
+    private static class CallKey {
+        String method;
+        List<Object> args;
+    }
+
+    private static final class Flight {
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final long ttlMillis;
+        volatile long completedAtNanos;
+
+        Flight(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        void complete(Object result, long nowNanos) {
+            completedAtNanos = nowNanos;
+            future.complete(result);
+        }
+
+        boolean isExpired(long nowNanos) {
+            return future.isDone() && nowNanos - completedAtNanos >= TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        }
+    }
+}
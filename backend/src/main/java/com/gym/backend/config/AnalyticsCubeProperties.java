@@ -0,0 +1,90 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory analytics cube
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics-cube")
+public class AnalyticsCubeProperties {
+
+    private boolean enabled = true;
+
+    /** Delay between incremental refreshes, which read only rows changed since the last one */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /** A full reload picks up deletions and renamed classes, trainers and plans */
+    private Duration fullReloadInterval = Duration.ofHours(6);
+
+    /** How far the change watermark trails each refresh, to cover transactions still in flight */
+    private Duration commitLag = Duration.ofMinutes(2);
+
+    private int fetchSize = 5000;
+
+    /** Threads scanning chunks for a single query */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Largest group-by cardinality accepted; each scan thread holds 24 bytes per group */
+    private int maxGroups = 250_000;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getFullReloadInterval() {
+        return fullReloadInterval;
+    }
+
+    public void setFullReloadInterval(Duration fullReloadInterval) {
+        this.fullReloadInterval = fullReloadInterval;
+    }
+
+    public Duration getCommitLag() {
+        return commitLag;
+    }
+
+    public void setCommitLag(Duration commitLag) {
+        this.commitLag = commitLag;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxGroups() {
+        return maxGroups;
+    }
+
+    public void setMaxGroups(int maxGroups) {
+        this.maxGroups = maxGroups;
+    }
+}
@@ -0,0 +1,48 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for analytics calculations
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+
+    /** Members the facility holds at once; hourly utilization is measured against it */
+    private int facilityCapacity = 150;
+
+    /** Longest visit counted towards utilization, so a missed check-out does not skew the day */
+    private Duration maxVisitLength = Duration.ofHours(4);
+
+    /** Currency revenue reports are stated in; ledger rows in other currencies are left out */
+    private String reportingCurrency = "USD";
+
+    // Getters and setters
+    public int getFacilityCapacity() {
+        return facilityCapacity;
+    }
+
+    public void setFacilityCapacity(int facilityCapacity) {
+        this.facilityCapacity = facilityCapacity;
+    }
+
+    public Duration getMaxVisitLength() {
+        return maxVisitLength;
+    }
+
+    public void setMaxVisitLength(Duration maxVisitLength) {
+        this.maxVisitLength = maxVisitLength;
+    }
+
+    public String getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    public void setReportingCurrency(String reportingCurrency) {
+        this.reportingCurrency = reportingCurrency;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the daily unique-visitor and top-k booking sketches
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics-sketch")
+public class AnalyticsSketchProperties {
+
+    private boolean enabled = true;
+
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * How far the watermark trails the refresh start, so rows committed late are not missed
+     */
+    private Duration commitLag = Duration.ofMinutes(2);
+
+    /**
+     * Heavy-hitter candidates kept per day and sketch. Only candidates are ranked, so this
+     * bounds how far down a day's list a key can sit and still reach a range's top k.
+     */
+    private int candidatesPerDay = 64;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getCommitLag() {
+        return commitLag;
+    }
+
+    public void setCommitLag(Duration commitLag) {
+        this.commitLag = commitLag;
+    }
+
+    public int getCandidatesPerDay() {
+        return candidatesPerDay;
+    }
+
+    public void setCandidatesPerDay(int candidatesPerDay) {
+        this.candidatesPerDay = candidatesPerDay;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the hourly and daily attendance rollups
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.attendance-rollup")
+public class AttendanceRollupProperties {
+
+    private boolean enabled = true;
+
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * How far the watermark trails the refresh start. Rows stamped just before a refresh
+     * but committed after it are still picked up by the next one.
+     */
+    private Duration commitLag = Duration.ofMinutes(2);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getCommitLag() {
+        return commitLag;
+    }
+
+    public void setCommitLag(Duration commitLag) {
+        this.commitLag = commitLag;
+    }
+}
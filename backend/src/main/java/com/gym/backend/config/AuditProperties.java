@@ -0,0 +1,88 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous audit-log writer
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Events held in memory before new events spill to disk
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Rows per multi-row INSERT
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an event waits in memory before a partial batch is written
+     */
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/gym-audit";
+
+    /**
+     * Spill file size beyond which further overflow is dropped and counted
+     */
+    private DataSize maxSpillSize = DataSize.ofMegabytes(256);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public DataSize getMaxSpillSize() {
+        return maxSpillSize;
+    }
+
+    public void setMaxSpillSize(DataSize maxSpillSize) {
+        this.maxSpillSize = maxSpillSize;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gym.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+/**
+ * Cache configuration backed by bounded Caffeine caches.
+ * Every cache records statistics so hit rate and evictions show up under the actuator
+ * {@code cache.*} metrics. Hibernate second-level cache regions live in a separate JCache
+ * manager and report through the {@code hibernate.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_BY_ID = "users-by-id";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String MEMBER_IDS_BY_USER = "member-ids-by-user";
+    public static final String UTILIZATION_ANALYTICS = "utilization-analytics";
+
+    // Hibernate second-level cache regions
+    public static final String MEMBERSHIP_PLANS_REGION = "membership-plans";
+    public static final String GYM_CLASSES_REGION = "gym-classes";
+    public static final String TRAINER_PROFILES_REGION = "trainer-profiles";
+    public static final String ROLES_REGION = "roles";
+    public static final String USER_ROLES_REGION = "user-roles";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private final CacheProperties cacheProperties;
+
+    public CacheConfig(CacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        cacheProperties.getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .recordStats();
+            if (spec.isExpiring()) {
+                builder.expireAfterWrite(spec.getExpireAfterWrite());
+            }
+            cacheManager.registerCustomCache(name, builder.build());
+        });
+
+        return cacheManager;
+    }
+
+    /**
+     * JCache manager holding the Hibernate second-level cache regions, each sized explicitly
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager entityCacheManager() {
+        javax.cache.CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        cacheProperties.getEntityRegions().forEach((region, spec) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(spec.getMaximumSize()));
+            if (spec.isExpiring()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(spec.getExpireAfterWrite().toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration);
+            }
+        });
+
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate at the pre-built regions instead of letting it create unbounded ones
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(javax.cache.CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -0,0 +1,96 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the in-process Caffeine caches
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+    /**
+     * Hibernate second-level cache regions. Every region must be listed here;
+     * Hibernate fails at startup on a region without explicit sizing.
+     */
+    private Map<String, CacheSpec> entityRegions = new LinkedHashMap<>();
+
+    public CacheProperties() {
+        specs.put(CacheConfig.USERS_BY_ID, new CacheSpec(50_000, Duration.ofMinutes(10)));
+        specs.put(CacheConfig.USERS_BY_EMAIL, new CacheSpec(50_000, Duration.ofMinutes(10)));
+        specs.put(CacheConfig.MEMBER_IDS_BY_USER, new CacheSpec(100_000, Duration.ofHours(1)));
+        // Dashboard aggregates, keyed by date range; a short TTL bounds how stale they get
+        specs.put(CacheConfig.UTILIZATION_ANALYTICS, new CacheSpec(500, Duration.ofMinutes(5)));
+
+        entityRegions.put(CacheConfig.MEMBERSHIP_PLANS_REGION, new CacheSpec(1_000, Duration.ofHours(1)));
+        entityRegions.put(CacheConfig.GYM_CLASSES_REGION, new CacheSpec(5_000, Duration.ofHours(1)));
+        entityRegions.put(CacheConfig.TRAINER_PROFILES_REGION, new CacheSpec(5_000, Duration.ofHours(1)));
+        entityRegions.put(CacheConfig.ROLES_REGION, new CacheSpec(100, Duration.ofHours(12)));
+        entityRegions.put(CacheConfig.USER_ROLES_REGION, new CacheSpec(50_000, Duration.ofMinutes(10)));
+        entityRegions.put(CacheConfig.QUERY_RESULTS_REGION, new CacheSpec(1_000, Duration.ofMinutes(10)));
+        // Update timestamps must outlive every cached query result, so they never expire
+        entityRegions.put(CacheConfig.UPDATE_TIMESTAMPS_REGION, new CacheSpec(10_000, Duration.ZERO));
+    }
+
+    // Getters and setters
+    public Map<String, CacheSpec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, CacheSpec> specs) {
+        this.specs = specs;
+    }
+
+    public Map<String, CacheSpec> getEntityRegions() {
+        return entityRegions;
+    }
+
+    public void setEntityRegions(Map<String, CacheSpec> entityRegions) {
+        this.entityRegions = entityRegions;
+    }
+
+    /**
+     * Size and TTL settings for a single named cache. A zero TTL means entries never expire.
+     */
+    public static class CacheSpec {
+
+        private long maximumSize;
+        private Duration expireAfterWrite;
+
+        public CacheSpec() {
+            this(10_000, Duration.ofMinutes(10));
+        }
+
+        public CacheSpec(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public boolean isExpiring() {
+            return expireAfterWrite != null && !expireAfterWrite.isZero();
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
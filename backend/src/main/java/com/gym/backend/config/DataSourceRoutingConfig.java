@@ -0,0 +1,136 @@
+package com.gym.backend.config;
+
+import com.gym.backend.datasource.DataSourceTarget;
+import com.gym.backend.datasource.MeteredDataSource;
+import com.gym.backend.datasource.ReadYourWritesTracker;
+import com.gym.backend.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Splits database traffic across isolated Hikari pools: "primary" for member-facing OLTP work,
+ * "reporting" for {@link com.gym.backend.datasource.ReportingWorkload} methods, and an optional
+ * "replica" for read-only transactions when {@code app.datasource.replica.enabled} is set.
+ * Each pool reports under {@code hikaricp.*} tagged with its pool name, and under
+ * {@code datasource.db.time} per endpoint.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails primary = primaryConnection(properties, connectionDetails);
+        HikariDataSource dataSource = pool(primary, primary.getJdbcUrl(), null, null);
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReadReplicaProperties replica,
+                                              DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        HikariDataSource dataSource = pool(primaryConnection(properties, connectionDetails),
+                replica.getUrl(), replica.getUsername(), replica.getPassword());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.reporting", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @ConfigurationProperties("app.datasource.reporting.hikari")
+    public HikariDataSource reportingDataSource(ReportingPoolProperties reporting,
+                                                DataSourceProperties properties,
+                                                ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails primary = primaryConnection(properties, connectionDetails);
+        HikariDataSource dataSource = pool(primary,
+                StringUtils.hasText(reporting.getUrl()) ? reporting.getUrl() : primary.getJdbcUrl(),
+                reporting.getUsername(), reporting.getPassword());
+        dataSource.setPoolName("reporting");
+        dataSource.setConnectionInitSql("SET statement_timeout = " + reporting.getStatementTimeout().toMillis());
+        return dataSource;
+    }
+
+    /**
+     * Application-facing datasource. Flyway, schema validation and writes all land on the primary.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 @Qualifier("reportingDataSource") ObjectProvider<HikariDataSource> reportingDataSource,
+                                 ReadReplicaProperties replica,
+                                 DbTimeBudgetProperties budgets,
+                                 MeterRegistry meterRegistry) {
+        Map<DataSourceTarget, DataSource> pools = new EnumMap<>(DataSourceTarget.class);
+        pools.put(DataSourceTarget.PRIMARY, primaryDataSource);
+        replicaDataSource.ifAvailable(pool -> pools.put(DataSourceTarget.REPLICA, pool));
+        reportingDataSource.ifAvailable(pool -> pools.put(DataSourceTarget.REPORTING, pool));
+        pools.replaceAll((target, pool) ->
+                new MeteredDataSource(target, pool, budgets.budgetFor(target), meterRegistry));
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(
+                replica.getReadYourWritesWindow(), replica.getMaxTrackedWriters());
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(pools, tracker, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Connection settings of the primary, from a service connection when one is registered
+     */
+    private JdbcConnectionDetails primaryConnection(DataSourceProperties properties,
+                                                    ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        return connectionDetails.getIfAvailable(() -> new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return properties.determineDriverClassName();
+            }
+        });
+    }
+
+    private HikariDataSource pool(JdbcConnectionDetails primary, String url, String username, String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.getDriverClassName())
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : primary.getUsername())
+                .password(StringUtils.hasText(password) ? password : primary.getPassword())
+                .build();
+    }
+}
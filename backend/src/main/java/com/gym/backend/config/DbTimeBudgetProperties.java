@@ -0,0 +1,41 @@
+package com.gym.backend.config;
+
+import com.gym.backend.datasource.DataSourceTarget;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-pool DB-time budgets: how long a single caller is expected to hold a connection
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource")
+public class DbTimeBudgetProperties {
+
+    private Map<DataSourceTarget, Duration> dbTimeBudgets = new EnumMap<>(DataSourceTarget.class);
+
+    public DbTimeBudgetProperties() {
+        dbTimeBudgets.put(DataSourceTarget.PRIMARY, Duration.ofMillis(250));
+        dbTimeBudgets.put(DataSourceTarget.REPLICA, Duration.ofSeconds(1));
+        dbTimeBudgets.put(DataSourceTarget.REPORTING, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Budget for the given pool
+     */
+    public Duration budgetFor(DataSourceTarget target) {
+        return dbTimeBudgets.getOrDefault(target, Duration.ofSeconds(1));
+    }
+
+    // Getters and setters
+    public Map<DataSourceTarget, Duration> getDbTimeBudgets() {
+        return dbTimeBudgets;
+    }
+
+    public void setDbTimeBudgets(Map<DataSourceTarget, Duration> dbTimeBudgets) {
+        this.dbTimeBudgets = dbTimeBudgets;
+    }
+}
@@ -0,0 +1,58 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for streaming data exports
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    /** Rows fetched per cursor round trip, and between flushes of the response */
+    private int fetchSize = 1000;
+
+    /** Exports streamed at the same time; each one holds a reporting pool connection */
+    private int maxConcurrentExports = 2;
+
+    /** Exports queued behind the running ones before new requests are rejected */
+    private int queueCapacity = 10;
+
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Getters and setters
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getMaxConcurrentExports() {
+        return maxConcurrentExports;
+    }
+
+    public void setMaxConcurrentExports(int maxConcurrentExports) {
+        this.maxConcurrentExports = maxConcurrentExports;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for scheduled housekeeping jobs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.housekeeping")
+public class HousekeepingProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 1000;
+    private Duration pauseBetweenBatches = Duration.ofMillis(200);
+    private int maxBatchesPerRun = 1000;
+    private Duration emailVerificationTokenRetention = Duration.ofDays(1);
+    private Duration passwordResetTokenRetention = Duration.ofDays(1);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPauseBetweenBatches() {
+        return pauseBetweenBatches;
+    }
+
+    public void setPauseBetweenBatches(Duration pauseBetweenBatches) {
+        this.pauseBetweenBatches = pauseBetweenBatches;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public Duration getEmailVerificationTokenRetention() {
+        return emailVerificationTokenRetention;
+    }
+
+    public void setEmailVerificationTokenRetention(Duration emailVerificationTokenRetention) {
+        this.emailVerificationTokenRetention = emailVerificationTokenRetention;
+    }
+
+    public Duration getPasswordResetTokenRetention() {
+        return passwordResetTokenRetention;
+    }
+
+    public void setPasswordResetTokenRetention(Duration passwordResetTokenRetention) {
+        this.passwordResetTokenRetention = passwordResetTokenRetention;
+    }
+}
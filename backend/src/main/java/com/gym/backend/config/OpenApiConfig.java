@@ -1,5 +1,6 @@
 package com.gym.backend.config;
 
+import com.gym.backend.security.MemberContext;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,6 +21,11 @@ import java.util.List;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // Resolved from the security context, not from request parameters
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(MemberContext.class);
+    }
+
     @Bean
     public OpenAPI gymApi() {
         return new OpenAPI()
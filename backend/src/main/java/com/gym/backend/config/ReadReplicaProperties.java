@@ -0,0 +1,79 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the read replica. Pool settings bind separately
+ * from {@code app.datasource.replica.hikari}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+
+    /**
+     * How long a caller stays on the primary after committing a write
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Upper bound on the number of recent writers tracked at once
+     */
+    private long maxTrackedWriters = 100_000;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public long getMaxTrackedWriters() {
+        return maxTrackedWriters;
+    }
+
+    public void setMaxTrackedWriters(long maxTrackedWriters) {
+        this.maxTrackedWriters = maxTrackedWriters;
+    }
+}
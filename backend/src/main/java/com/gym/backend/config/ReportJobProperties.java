@@ -0,0 +1,121 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for asynchronous report jobs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.report-jobs")
+public class ReportJobProperties {
+
+    /** Jobs run at the same time; each one holds a reporting pool connection */
+    private int maxConcurrentJobs = 2;
+
+    /** Jobs queued behind the running ones before new submissions are rejected */
+    private int queueCapacity = 20;
+
+    /** How long a completed result answers identical requests */
+    private Duration resultTtl = Duration.ofMinutes(10);
+
+    /**
+     * Queued or running jobs older than this are marked failed even while their owner is
+     * alive, bounding how long one report may hold its slot
+     */
+    private Duration maxRunTime = Duration.ofMinutes(30);
+
+    /** Upper bound on a long-poll for job completion */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**
+     * Name recorded, with a random per-process suffix, as the owner of the jobs an instance
+     * runs. Should be stable across restarts so a restarted process finds the jobs its
+     * predecessor left behind. Defaults to the host name.
+     */
+    private String instanceId;
+
+    /** How often an instance refreshes the heartbeat of the jobs it owns */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** Queued or running jobs whose heartbeat is older than this are marked failed */
+    private Duration heartbeatTimeout = Duration.ofMinutes(1);
+
+    /** How long expired and failed jobs are kept before housekeeping deletes them */
+    private Duration retention = Duration.ofDays(1);
+
+    // Getters and setters
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getResultTtl() {
+        return resultTtl;
+    }
+
+    public void setResultTtl(Duration resultTtl) {
+        this.resultTtl = resultTtl;
+    }
+
+    public Duration getMaxRunTime() {
+        return maxRunTime;
+    }
+
+    public void setMaxRunTime(Duration maxRunTime) {
+        this.maxRunTime = maxRunTime;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getHeartbeatTimeout() {
+        return heartbeatTimeout;
+    }
+
+    public void setHeartbeatTimeout(Duration heartbeatTimeout) {
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
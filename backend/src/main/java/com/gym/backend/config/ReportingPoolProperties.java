@@ -0,0 +1,66 @@
+package com.gym.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the reporting and batch connection pool. Pool settings bind
+ * separately from {@code app.datasource.reporting.hikari}. Connection settings default to the primary.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.reporting")
+public class ReportingPoolProperties {
+
+    private boolean enabled = true;
+    private String url;
+    private String username;
+    private String password;
+
+    /**
+     * Server-side statement timeout applied to every reporting connection
+     */
+    private Duration statementTimeout = Duration.ofMinutes(2);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getStatementTimeout() {
+        return statementTimeout;
+    }
+
+    public void setStatementTimeout(Duration statementTimeout) {
+        this.statementTimeout = statementTimeout;
+    }
+}
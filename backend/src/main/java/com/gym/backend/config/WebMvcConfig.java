@@ -0,0 +1,52 @@
+package com.gym.backend.config;
+
+import com.gym.backend.security.MemberContextArgumentResolver;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final MemberContextArgumentResolver memberContextArgumentResolver;
+    private final ExportProperties exportProperties;
+    private final ThreadPoolTaskExecutor streamingExecutor;
+
+    public WebMvcConfig(MemberContextArgumentResolver memberContextArgumentResolver,
+                        ExportProperties exportProperties) {
+        this.memberContextArgumentResolver = memberContextArgumentResolver;
+        this.exportProperties = exportProperties;
+
+        // Streaming responses (exports) run here; the bound keeps them off the reporting pool's last connections
+        this.streamingExecutor = new ThreadPoolTaskExecutor();
+        streamingExecutor.setThreadNamePrefix("export-");
+        streamingExecutor.setCorePoolSize(exportProperties.getMaxConcurrentExports());
+        streamingExecutor.setMaxPoolSize(exportProperties.getMaxConcurrentExports());
+        streamingExecutor.setQueueCapacity(exportProperties.getQueueCapacity());
+        streamingExecutor.initialize();
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(memberContextArgumentResolver);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(exportProperties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        streamingExecutor.shutdown();
+    }
+}
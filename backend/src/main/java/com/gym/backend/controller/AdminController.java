@@ -1,31 +1,68 @@
 package com.gym.backend.controller;
 
+import com.gym.backend.dto.ClassBookingSummaryDto;
+import com.gym.backend.dto.CursorPage;
 import com.gym.backend.dto.GymClassDto;
+import com.gym.backend.dto.MemberImportResultDto;
+import com.gym.backend.dto.MemberLookupDto;
 import com.gym.backend.dto.MembershipPlanDto;
+import com.gym.backend.dto.SearchPage;
+import com.gym.backend.dto.UserSearchResultDto;
 import com.gym.backend.dto.EquipmentDto;
+import com.gym.backend.dto.analytics.AttendanceTrendDto;
+import com.gym.backend.dto.analytics.CubeSliceDto;
+import com.gym.backend.dto.analytics.PopularClassesDto;
 import com.gym.backend.dto.analytics.RevenueAnalyticsDto;
+import com.gym.backend.dto.analytics.UniqueVisitorsDto;
 import com.gym.backend.dto.analytics.UtilizationAnalyticsDto;
+import com.gym.backend.dto.reportjob.ReportJobDto;
+import com.gym.backend.dto.reportjob.ReportJobRequest;
 import com.gym.backend.entity.enums.ClassCategory;
 import com.gym.backend.entity.enums.ClassDifficulty;
 import com.gym.backend.entity.enums.EquipmentCategory;
 import com.gym.backend.entity.enums.EquipmentStatus;
 import com.gym.backend.security.UserPrincipal;
 import com.gym.backend.service.*;
+import com.gym.backend.service.cube.AnalyticsCubeService;
+import com.gym.backend.service.cube.CubeQuery;
+import com.gym.backend.service.export.ExportDataset;
+import com.gym.backend.service.export.ExportFormat;
+import com.gym.backend.service.export.ExportService;
+import com.gym.backend.service.lookup.MemberLookupService;
+import com.gym.backend.service.memberimport.MemberImportService;
+import com.gym.backend.service.reportjob.ReportJobService;
+import com.gym.backend.service.rollup.AttendanceRollupService;
+import com.gym.backend.service.rollup.RollupGranularity;
+import com.gym.backend.service.search.SearchService;
+import com.gym.backend.service.sketch.AnalyticsSketchService;
+import com.gym.backend.service.sketch.SketchPeriod;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Admin controller for gym management operations
@@ -42,6 +79,15 @@ public class AdminController {
     private final MembershipPlanService membershipPlanService;
     private final EquipmentService equipmentService;
     private final AnalyticsService analyticsService;
+    private final ClassBookingService classBookingService;
+    private final MemberImportService memberImportService;
+    private final ExportService exportService;
+    private final SearchService searchService;
+    private final MemberLookupService memberLookupService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AnalyticsCubeService analyticsCubeService;
+    private final AnalyticsSketchService analyticsSketchService;
+    private final ReportJobService reportJobService;
 
     // Gym Classes Management
     @GetMapping("/classes")
@@ -181,6 +227,91 @@ public class AdminController {
         return ResponseEntity.ok(updated);
     }
 
+    // Members
+    @GetMapping("/users/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Search users", description = "Ranked search over user names and emails; each word needs at least 3 characters")
+    public ResponseEntity<SearchPage<UserSearchResultDto>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        log.info("Admin: Searching users");
+        SearchPage<UserSearchResultDto> results = searchService.searchUsers(query, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/members/lookup")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Front-desk member lookup", description = "Autocomplete up to 10 members by the start of their name, email or phone number")
+    public ResponseEntity<List<MemberLookupDto>> lookupMembers(@RequestParam("q") String query) {
+        List<MemberLookupDto> matches = memberLookupService.lookup(query);
+        return ResponseEntity.ok(matches);
+    }
+
+    @PostMapping(value = "/members/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import members", description = "Import members from a CSV file with a header row; invalid rows are reported and skipped")
+    public ResponseEntity<MemberImportResultDto> importMembers(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
+        log.info("Admin: Importing members from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try (InputStream csv = file.getInputStream()) {
+            MemberImportResultDto result = memberImportService.importMembers(csv, currentUser.getId());
+            return ResponseEntity.ok(result);
+        }
+    }
+
+    // Bookings
+    @GetMapping("/bookings")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get all bookings", description = "Retrieve a page of all class bookings, newest first")
+    public ResponseEntity<CursorPage<ClassBookingSummaryDto>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Admin: Fetching bookings page");
+        CursorPage<ClassBookingSummaryDto> bookings = classBookingService.getAllBookings(cursor, size);
+        return ResponseEntity.ok(bookings);
+    }
+
+    // Exports
+    @GetMapping("/exports/{dataset}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export dataset", description = "Stream payments, attendance or members as CSV or NDJSON in ascending id order. "
+            + "Gzip is applied when the client accepts it. To resume an interrupted download, repeat the request with afterId set to the last id received.")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportDataset exportDataset = ExportDataset.fromPath(dataset);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        log.info("Admin: Exporting {} as {} (afterId={}, from={}, to={})", exportDataset, exportFormat, afterId, from, to);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // Sync flush so every batch flushed by the exporter reaches the client
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024, true);
+                exportService.export(exportDataset, exportFormat, afterId, from, to, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(exportDataset, exportFormat, afterId, from, to, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + exportDataset.fileName() + "." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     // Analytics
     @GetMapping("/analytics/revenue")
     @PreAuthorize("hasRole('ADMIN')")
@@ -203,4 +334,85 @@ public class AdminController {
         UtilizationAnalyticsDto analytics = analyticsService.getUtilizationAnalytics(startDate, endDate);
         return ResponseEntity.ok(analytics);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/analytics/attendance-trend")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get attendance trend", description = "Visits per hour or day over [startDate, endDate), "
+            + "with totals by visit type, member segment and room")
+    public ResponseEntity<AttendanceTrendDto> getAttendanceTrend(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "day") String granularity) {
+        log.info("Admin: Fetching {} attendance trend from {} to {}", granularity, startDate, endDate);
+        AttendanceTrendDto trend = attendanceRollupService.getAttendanceTrend(
+                startDate, endDate, RollupGranularity.fromParameter(granularity));
+        return ResponseEntity.ok(trend);
+    }
+
+    @GetMapping("/analytics/cube")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Slice attendance and bookings", description = "Group-by over the in-memory analytics cube. "
+            + "Filters read DIMENSION:value|value; dates select event days in [from, to)")
+    public ResponseEntity<CubeSliceDto> sliceAnalyticsCube(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(name = "filter", required = false) List<String> filters,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Admin: Slicing analytics cube by {} with filters {}", groupBy, filters);
+        CubeSliceDto slice = analyticsCubeService.query(CubeQuery.parse(groupBy, filters, from, to, limit));
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping("/analytics/unique-visitors")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get unique visitors", description = "Estimated distinct members checked in per day, week "
+            + "or month over [startDate, endDate), from daily HyperLogLog sketches")
+    public ResponseEntity<UniqueVisitorsDto> getUniqueVisitors(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "day") String period) {
+        log.info("Admin: Fetching {} unique visitors from {} to {}", period, startDate, endDate);
+        UniqueVisitorsDto visitors = analyticsSketchService.getUniqueVisitors(
+                startDate, endDate, SketchPeriod.fromParameter(period));
+        return ResponseEntity.ok(visitors);
+    }
+
+    @GetMapping("/analytics/popular-classes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get popular classes", description = "Estimated most-booked class schedules and trainers "
+            + "over [startDate, endDate), from daily Count-Min sketches")
+    public ResponseEntity<PopularClassesDto> getPopularClasses(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Admin: Fetching top {} classes from {} to {}", limit, startDate, endDate);
+        PopularClassesDto popular = analyticsSketchService.getPopularClasses(startDate, endDate, limit);
+        return ResponseEntity.ok(popular);
+    }
+
+    @PostMapping("/analytics/report-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Submit report job", description = "Run a revenue or utilization report in the background. "
+            + "Identical requests share one job, and a completed result is reused until it expires")
+    public ResponseEntity<ReportJobDto> submitReportJob(@Valid @RequestBody ReportJobRequest request) {
+        log.info("Admin: Submitting {} report job from {} to {}", request.getReportType(),
+                request.getStartDate(), request.getEndDate());
+        ReportJobDto job = reportJobService.submit(request);
+        HttpStatus status = job.getStatus().isFinished() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .location(URI.create("/api/admin/analytics/report-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/analytics/report-jobs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get report job", description = "Job status and, once completed, its result. "
+            + "With waitSeconds the response is held until the job finishes or the wait elapses")
+    public CompletableFuture<ResponseEntity<ReportJobDto>> getReportJob(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        log.debug("Admin: Fetching report job {} waiting up to {}s", id, waitSeconds);
+        return reportJobService.awaitJob(id, Duration.ofSeconds(waitSeconds)).thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,11 +1,8 @@
 package com.gym.backend.controller;
 
 import com.gym.backend.dto.*;
-import com.gym.backend.entity.MemberProfile;
-import com.gym.backend.exception.ResourceNotFoundException;
-import com.gym.backend.repository.MemberProfileRepository;
+import com.gym.backend.security.MemberContext;
 import com.gym.backend.service.*;
-import com.gym.backend.util.DtoMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,8 +12,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import com.gym.backend.security.UserPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -40,27 +35,21 @@ public class MemberController {
     private final PTSessionService ptSessionService;
     private final AttendanceService attendanceService;
     private final PaymentService paymentService;
-    private final MemberProfileRepository memberProfileRepository;
-    private final DtoMapper dtoMapper;
 
     // Member Profile Management
     @GetMapping("/profile")
     @Operation(summary = "Get member profile", description = "Get current member's profile information")
-    public ResponseEntity<MemberDto> getMemberProfile(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing profile", userPrincipal.getId());
-        MemberProfileDto memberProfileDto = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        MemberProfile memberProfile = memberProfileRepository.findById(memberProfileDto.getId())
-            .orElseThrow(() -> new ResourceNotFoundException("Member profile not found with ID: " + memberProfileDto.getId()));
-        return ResponseEntity.ok(dtoMapper.mapToMemberDto(memberProfile));
+    public ResponseEntity<MemberDto> getMemberProfile(MemberContext member) {
+        log.info("Member {} accessing profile", member.getUserId());
+        return ResponseEntity.ok(memberProfileService.getMemberById(member.getMemberId()));
     }
 
     @PutMapping("/profile")
     @Operation(summary = "Update member profile", description = "Update current member's profile information")
-    public ResponseEntity<MemberDto> updateMemberProfile(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<MemberDto> updateMemberProfile(MemberContext member,
                                                         @RequestBody MemberDto memberDto) {
-        log.info("Member {} updating profile", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        MemberDto updated = memberProfileService.updateMemberProfile(memberProfile.getId(), memberDto);
+        log.info("Member {} updating profile", member.getUserId());
+        MemberDto updated = memberProfileService.updateMemberProfile(member.getMemberId(), memberDto);
         return ResponseEntity.ok(updated);
     }
 
@@ -74,149 +63,144 @@ public class MemberController {
     }
 
     @GetMapping("/bookings")
-    @Operation(summary = "Get member bookings", description = "Get current member's class bookings")
-    public ResponseEntity<List<ClassBookingDto>> getMemberBookings(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing bookings", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<ClassBookingDto> bookings = classBookingService.getBookingsByMember(memberProfile.getId());
+    @Operation(summary = "Get member bookings", description = "Get a page of current member's class bookings, newest first")
+    public ResponseEntity<CursorPage<ClassBookingSummaryDto>> getMemberBookings(MemberContext member,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size) {
+        log.info("Member {} accessing bookings", member.getUserId());
+        CursorPage<ClassBookingSummaryDto> bookings = classBookingService.getBookingsByMember(member.getMemberId(), cursor, size);
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/bookings/upcoming")
     @Operation(summary = "Get upcoming bookings", description = "Get current member's upcoming bookings")
-    public ResponseEntity<List<ClassBookingDto>> getUpcomingBookings(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing upcoming bookings", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<ClassBookingDto> bookings = classBookingService.getUpcomingBookingsForMember(memberProfile.getId());
+    public ResponseEntity<List<ClassBookingSummaryDto>> getUpcomingBookings(MemberContext member) {
+        log.info("Member {} accessing upcoming bookings", member.getUserId());
+        List<ClassBookingSummaryDto> bookings = classBookingService.getUpcomingBookingsForMember(member.getMemberId());
         return ResponseEntity.ok(bookings);
     }
 
     @PostMapping("/bookings")
     @Operation(summary = "Book a class", description = "Book a class for the current member")
-    public ResponseEntity<ClassBookingDto> bookClass(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<ClassBookingDto> bookClass(MemberContext member,
                                                     @RequestParam Long scheduleId) {
-        log.info("Member {} booking class schedule {}", userPrincipal.getId(), scheduleId);
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        ClassBookingDto booking = classBookingService.bookClass(memberProfile.getId(), scheduleId);
+        log.info("Member {} booking class schedule {}", member.getUserId(), scheduleId);
+        ClassBookingDto booking = classBookingService.bookClass(member.getMemberId(), scheduleId);
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
     @PutMapping("/bookings/{bookingId}/cancel")
     @Operation(summary = "Cancel booking", description = "Cancel a class booking")
-    public ResponseEntity<ClassBookingDto> cancelBooking(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<ClassBookingDto> cancelBooking(MemberContext member,
                                                         @PathVariable Long bookingId,
                                                         @RequestParam String reason) {
-        log.info("Member {} cancelling booking {}", userPrincipal.getId(), bookingId);
+        log.info("Member {} cancelling booking {}", member.getUserId(), bookingId);
         ClassBookingDto booking = classBookingService.cancelBooking(bookingId, reason);
         return ResponseEntity.ok(booking);
     }
 
     // Personal Training Sessions
     @GetMapping("/pt-sessions")
-    @Operation(summary = "Get member PT sessions", description = "Get current member's personal training sessions")
-    public ResponseEntity<List<PTSessionDto>> getMemberPTSessions(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing PT sessions", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<PTSessionDto> sessions = ptSessionService.getSessionsByMember(memberProfile.getId());
+    @Operation(summary = "Get member PT sessions", description = "Get a page of current member's personal training sessions, newest first")
+    public ResponseEntity<CursorPage<PTSessionSummaryDto>> getMemberPTSessions(MemberContext member,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size) {
+        log.info("Member {} accessing PT sessions", member.getUserId());
+        CursorPage<PTSessionSummaryDto> sessions = ptSessionService.getSessionsByMember(member.getMemberId(), cursor, size);
         return ResponseEntity.ok(sessions);
     }
 
     @GetMapping("/pt-sessions/upcoming")
     @Operation(summary = "Get upcoming PT sessions", description = "Get current member's upcoming personal training sessions")
-    public ResponseEntity<List<PTSessionDto>> getUpcomingPTSessions(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing upcoming PT sessions", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<PTSessionDto> sessions = ptSessionService.getUpcomingSessionsForMember(memberProfile.getId());
+    public ResponseEntity<List<PTSessionSummaryDto>> getUpcomingPTSessions(MemberContext member) {
+        log.info("Member {} accessing upcoming PT sessions", member.getUserId());
+        List<PTSessionSummaryDto> sessions = ptSessionService.getUpcomingSessionsForMember(member.getMemberId());
         return ResponseEntity.ok(sessions);
     }
 
     @PostMapping("/pt-sessions")
     @Operation(summary = "Book PT session", description = "Book a personal training session")
-    public ResponseEntity<PTSessionDto> bookPTSession(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<PTSessionDto> bookPTSession(MemberContext member,
                                                      @RequestParam Long trainerId,
                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime sessionDate,
                                                      @RequestParam Integer duration) {
-        log.info("Member {} booking PT session with trainer {} for {}", userPrincipal.getId(), trainerId, sessionDate);
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        PTSessionDto session = ptSessionService.bookSession(memberProfile.getId(), trainerId, sessionDate, duration);
+        log.info("Member {} booking PT session with trainer {} for {}", member.getUserId(), trainerId, sessionDate);
+        PTSessionDto session = ptSessionService.bookSession(member.getMemberId(), trainerId, sessionDate, duration);
         return ResponseEntity.status(HttpStatus.CREATED).body(session);
     }
 
     // Subscriptions
     @GetMapping("/subscriptions")
     @Operation(summary = "Get member subscriptions", description = "Get current member's subscriptions")
-    public ResponseEntity<List<SubscriptionDto>> getMemberSubscriptions(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing subscriptions", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<SubscriptionDto> subscriptions = subscriptionService.getSubscriptionsByMember(memberProfile.getId());
+    public ResponseEntity<List<SubscriptionDto>> getMemberSubscriptions(MemberContext member) {
+        log.info("Member {} accessing subscriptions", member.getUserId());
+        List<SubscriptionDto> subscriptions = subscriptionService.getSubscriptionsByMember(member.getMemberId());
         return ResponseEntity.ok(subscriptions);
     }
 
     @GetMapping("/subscriptions/active")
     @Operation(summary = "Get active subscription", description = "Get current member's active subscription")
-    public ResponseEntity<SubscriptionDto> getActiveSubscription(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing active subscription", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        SubscriptionDto activeSubscription = subscriptionService.getActiveSubscriptionForMember(memberProfile.getId());
+    public ResponseEntity<SubscriptionDto> getActiveSubscription(MemberContext member) {
+        log.info("Member {} accessing active subscription", member.getUserId());
+        SubscriptionDto activeSubscription = subscriptionService.getActiveSubscriptionForMember(member.getMemberId());
         return ResponseEntity.ok(activeSubscription);
     }
 
     @PostMapping("/subscriptions")
     @Operation(summary = "Create subscription", description = "Create a new subscription for the member")
-    public ResponseEntity<SubscriptionDto> createSubscription(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<SubscriptionDto> createSubscription(MemberContext member,
                                                              @RequestBody SubscriptionDto subscriptionDto) {
-        log.info("Member {} creating new subscription", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        subscriptionDto.setMemberId(memberProfile.getId());
+        log.info("Member {} creating new subscription", member.getUserId());
+        subscriptionDto.setMemberId(member.getMemberId());
         SubscriptionDto created = subscriptionService.createSubscription(subscriptionDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     // Attendance
     @GetMapping("/attendance")
-    @Operation(summary = "Get member attendance", description = "Get current member's attendance records")
-    public ResponseEntity<List<AttendanceDto>> getMemberAttendance(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing attendance records", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<AttendanceDto> attendance = attendanceService.getAttendanceByMember(memberProfile.getId());
+    @Operation(summary = "Get member attendance", description = "Get a page of current member's attendance records, newest first")
+    public ResponseEntity<CursorPage<AttendanceSummaryDto>> getMemberAttendance(MemberContext member,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size) {
+        log.info("Member {} accessing attendance records", member.getUserId());
+        CursorPage<AttendanceSummaryDto> attendance = attendanceService.getAttendanceByMember(member.getMemberId(), cursor, size);
         return ResponseEntity.ok(attendance);
     }
 
     @PostMapping("/attendance/check-in")
     @Operation(summary = "Check in", description = "Check in to the gym")
-    public ResponseEntity<AttendanceDto> checkIn(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} checking in", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        AttendanceDto attendance = attendanceService.checkIn(memberProfile.getId());
+    public ResponseEntity<AttendanceDto> checkIn(MemberContext member) {
+        log.info("Member {} checking in", member.getUserId());
+        AttendanceDto attendance = attendanceService.checkIn(member.getMemberId());
         return ResponseEntity.status(HttpStatus.CREATED).body(attendance);
     }
 
     @PutMapping("/attendance/{attendanceId}/check-out")
     @Operation(summary = "Check out", description = "Check out from the gym")
-    public ResponseEntity<AttendanceDto> checkOut(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<AttendanceDto> checkOut(MemberContext member,
                                                  @PathVariable Long attendanceId) {
-        log.info("Member {} checking out", userPrincipal.getId());
+        log.info("Member {} checking out", member.getUserId());
         AttendanceDto attendance = attendanceService.checkOut(attendanceId);
         return ResponseEntity.ok(attendance);
     }
 
     // Payments
     @GetMapping("/payments")
-    @Operation(summary = "Get member payments", description = "Get current member's payment history")
-    public ResponseEntity<List<PaymentDto>> getMemberPayments(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("Member {} accessing payment history", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        List<PaymentDto> payments = paymentService.getPaymentsByMember(memberProfile.getId());
+    @Operation(summary = "Get member payments", description = "Get a page of current member's payment history, newest first")
+    public ResponseEntity<CursorPage<PaymentSummaryDto>> getMemberPayments(MemberContext member,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        log.info("Member {} accessing payment history", member.getUserId());
+        CursorPage<PaymentSummaryDto> payments = paymentService.getPaymentsByMember(member.getMemberId(), cursor, size);
         return ResponseEntity.ok(payments);
     }
 
     @PostMapping("/payments")
     @Operation(summary = "Process payment", description = "Process a payment for the member")
-    public ResponseEntity<PaymentDto> processPayment(@AuthenticationPrincipal UserPrincipal userPrincipal,
+    public ResponseEntity<PaymentDto> processPayment(MemberContext member,
                                                     @RequestBody PaymentDto paymentDto) {
-        log.info("Member {} processing payment", userPrincipal.getId());
-        MemberProfileDto memberProfile = memberProfileService.getMemberProfileByUserId(userPrincipal.getId());
-        paymentDto.setMemberId(memberProfile.getId());
+        log.info("Member {} processing payment", member.getUserId());
+        paymentDto.setMemberId(member.getMemberId());
         PaymentDto payment = paymentService.processPayment(paymentDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(payment);
     }
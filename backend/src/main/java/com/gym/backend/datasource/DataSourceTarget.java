@@ -0,0 +1,10 @@
+package com.gym.backend.datasource;
+
+/**
+ * Physical connection pools a routed connection can be served from
+ */
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA,
+    REPORTING
+}
@@ -0,0 +1,117 @@
+package com.gym.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each caller holds a connection from one pool. Time is tagged by pool
+ * and by endpoint (the matched request mapping, the reporting operation, or "background"),
+ * and compared against the pool's DB-time budget. Meters are built once per endpoint, since
+ * closing a connection is on every request's path.
+ */
+@Slf4j
+public class MeteredDataSource extends DelegatingDataSource {
+
+    private static final String BACKGROUND = "background";
+
+    private final String pool;
+    private final Duration budget;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> heldTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> budgetExceededCounters = new ConcurrentHashMap<>();
+
+    public MeteredDataSource(DataSourceTarget target, DataSource delegate, Duration budget, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.pool = target.name().toLowerCase();
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return metered(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return metered(super.getConnection(username, password));
+    }
+
+    private Connection metered(Connection connection) {
+        String endpoint = currentEndpoint();
+        long start = System.nanoTime();
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !closed[0]) {
+                        closed[0] = true;
+                        record(endpoint, System.nanoTime() - start);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void record(String endpoint, long heldNanos) {
+        heldTimers.computeIfAbsent(endpoint, this::heldTimer).record(heldNanos, TimeUnit.NANOSECONDS);
+
+        if (heldNanos > budget.toNanos()) {
+            budgetExceededCounters.computeIfAbsent(endpoint, this::budgetExceededCounter).increment();
+            log.debug("{} held a {} connection for {} ms (budget {} ms)",
+                    endpoint, pool, TimeUnit.NANOSECONDS.toMillis(heldNanos), budget.toMillis());
+        }
+    }
+
+    private Timer heldTimer(String endpoint) {
+        return Timer.builder("datasource.db.time")
+                .description("Time a connection was held, per pool and endpoint")
+                .tag("pool", pool)
+                .tag("endpoint", endpoint)
+                .serviceLevelObjectives(budget)
+                .register(meterRegistry);
+    }
+
+    private Counter budgetExceededCounter(String endpoint) {
+        return Counter.builder("datasource.db.time.budget.exceeded")
+                .description("Connections held longer than the pool's DB-time budget")
+                .tag("pool", pool)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    private String currentEndpoint() {
+        String operation = WorkloadContext.currentOperation();
+        if (operation != null) {
+            return operation;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            Object pattern = servletAttributes.getAttribute(
+                    HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (pattern != null) {
+                return servletAttributes.getRequest().getMethod() + " " + pattern;
+            }
+        }
+        return BACKGROUND;
+    }
+}
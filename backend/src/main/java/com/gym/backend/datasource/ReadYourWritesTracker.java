@@ -0,0 +1,66 @@
+package com.gym.backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Remembers who committed a write recently so their follow-up reads are not served
+ * from a replica that may not have replayed it yet. Authenticated callers are pinned
+ * to the primary for a short window across requests; anonymous callers are pinned
+ * for the rest of the current request only.
+ */
+public class ReadYourWritesTracker {
+
+    private static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".WROTE";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Record that the current caller has just committed a write
+     */
+    public void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        String caller = currentCaller();
+        if (caller != null) {
+            recentWriters.put(caller, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether reads for the current caller must go to the primary
+     */
+    public boolean isPinnedToPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String caller = currentCaller();
+        return caller != null && recentWriters.getIfPresent(caller) != null;
+    }
+
+    private String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,19 @@
+package com.gym.backend.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method, or every method of a service, as reporting or batch work.
+ * Connections opened while it runs come from the dedicated reporting pool, which has its
+ * own size and statement timeout, so long scans cannot starve member-facing requests.
+ * A transaction that is already open when the method is entered keeps its connection.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReportingWorkload {
+}
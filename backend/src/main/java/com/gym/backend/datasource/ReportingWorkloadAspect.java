@@ -0,0 +1,30 @@
+package com.gym.backend.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds {@link ReportingWorkload} methods to the reporting pool for the duration of the call.
+ * Runs outside the transaction interceptor so the transaction's first connection is already routed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReportingWorkloadAspect {
+
+    @Around("@within(com.gym.backend.datasource.ReportingWorkload) || @annotation(com.gym.backend.datasource.ReportingWorkload)")
+    public Object routeToReportingPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        String previous = WorkloadContext.enterReporting(operation);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
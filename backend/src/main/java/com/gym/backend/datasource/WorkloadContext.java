@@ -0,0 +1,43 @@
+package com.gym.backend.datasource;
+
+/**
+ * Thread-bound marker for the reporting workload currently executing, if any
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<String> REPORTING_OPERATION = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Enter a reporting operation. Returns the previous operation so nested calls can restore it.
+     */
+    public static String enterReporting(String operation) {
+        String previous = REPORTING_OPERATION.get();
+        if (previous == null) {
+            REPORTING_OPERATION.set(operation);
+        }
+        return previous;
+    }
+
+    /**
+     * Leave the operation entered with {@link #enterReporting(String)}
+     */
+    public static void restore(String previous) {
+        if (previous == null) {
+            REPORTING_OPERATION.remove();
+        }
+    }
+
+    public static boolean isReporting() {
+        return REPORTING_OPERATION.get() != null;
+    }
+
+    /**
+     * Name of the outermost reporting operation, or null outside one
+     */
+    public static String currentOperation() {
+        return REPORTING_OPERATION.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.gym.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes each new connection to a pool by workload. {@link ReportingWorkload} calls use the
+ * reporting pool, read-only transactions use the replica when one is configured, and
+ * everything else uses the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the lookup
+ * happens at the first statement, once the transaction's read-only flag is known.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final boolean replicaAvailable;
+    private final boolean reportingAvailable;
+    private final Map<DataSourceTarget, Counter> routedConnections = new EnumMap<>(DataSourceTarget.class);
+
+    public WorkloadRoutingDataSource(Map<DataSourceTarget, DataSource> pools,
+                                     ReadYourWritesTracker readYourWritesTracker,
+                                     MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaAvailable = pools.containsKey(DataSourceTarget.REPLICA);
+        this.reportingAvailable = pools.containsKey(DataSourceTarget.REPORTING);
+
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(DataSourceTarget.PRIMARY));
+        setLenientFallback(false);
+
+        for (DataSourceTarget target : pools.keySet()) {
+            routedConnections.put(target, Counter.builder("datasource.routing.connections")
+                    .description("Connections handed out by the routing datasource")
+                    .tag("target", target.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceTarget target = resolveTarget();
+        routedConnections.get(target).increment();
+        return target;
+    }
+
+    private DataSourceTarget resolveTarget() {
+        if (reportingAvailable && WorkloadContext.isReporting()) {
+            return DataSourceTarget.REPORTING;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceTarget.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaAvailable && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite();
+                    }
+                });
+            }
+            return DataSourceTarget.PRIMARY;
+        }
+        if (replicaAvailable && !readYourWritesTracker.isPinnedToPrimary()) {
+            return DataSourceTarget.REPLICA;
+        }
+        return DataSourceTarget.PRIMARY;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gym.backend.dto;
+
+import com.gym.backend.entity.enums.VisitType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat DTO for attendance lists, projected in a single query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSummaryDto {
+
+    private Long id;
+
+    private LocalDateTime checkInTime;
+
+    private LocalDateTime checkOutTime;
+
+    private VisitType visitType;
+
+    private String purpose;
+
+    private Long classBookingId;
+
+    private Long ptSessionId;
+}
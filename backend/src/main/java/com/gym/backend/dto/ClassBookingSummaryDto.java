@@ -0,0 +1,46 @@
+package com.gym.backend.dto;
+
+import com.gym.backend.entity.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat DTO for class booking lists, projected in a single query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassBookingSummaryDto {
+
+    private Long id;
+
+    private Long memberId;
+
+    private String bookingReference;
+
+    private BookingStatus status;
+
+    private LocalDateTime bookingDate;
+
+    private boolean attended;
+
+    private BigDecimal amountPaid;
+
+    private Long classScheduleId;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private String roomName;
+
+    private Long gymClassId;
+
+    private String className;
+
+    private String trainerName;
+}
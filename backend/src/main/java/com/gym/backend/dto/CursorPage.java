@@ -0,0 +1,50 @@
+package com.gym.backend.dto;
+
+import com.gym.backend.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    /**
+     * Limit for the page query: one extra row tells whether another page exists
+     */
+    public static Pageable fetchLimit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Build page from rows fetched with {@link #fetchLimit(int)}
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize,
+                                       Function<T, LocalDateTime> sortKey, Function<T, Long> id) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(sortKey.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gym.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk member import. {@code errors} lists at most the first
+ * {@code MemberImportService.MAX_REPORTED_ERRORS} rejected rows by row number;
+ * {@code rejectedRows} is the full count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberImportResultDto {
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    private long durationMillis;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Why a single CSV row was not imported. Row 1 is the header.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long row;
+
+        private String email;
+
+        private String message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gym.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Front-desk member lookup match
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberLookupDto {
+
+    private Long userId;
+
+    /** Null until a member profile has been created for the user */
+    private Long memberId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phoneNumber;
+
+    private boolean active;
+}
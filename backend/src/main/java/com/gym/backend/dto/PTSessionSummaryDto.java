@@ -0,0 +1,37 @@
+package com.gym.backend.dto;
+
+import com.gym.backend.entity.enums.SessionStatus;
+import com.gym.backend.entity.enums.SessionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat DTO for personal training session lists, projected in a single query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PTSessionSummaryDto {
+
+    private Long id;
+
+    private LocalDateTime sessionDate;
+
+    private Integer durationMinutes;
+
+    private SessionStatus status;
+
+    private SessionType sessionType;
+
+    private BigDecimal price;
+
+    private String roomLocation;
+
+    private Long trainerId;
+
+    private String trainerName;
+}
@@ -0,0 +1,37 @@
+package com.gym.backend.dto;
+
+import com.gym.backend.entity.enums.PaymentMethod;
+import com.gym.backend.entity.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat DTO for payment history lists, projected in a single query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSummaryDto {
+
+    private Long id;
+
+    private BigDecimal amount;
+
+    private String currency;
+
+    private PaymentMethod paymentMethod;
+
+    private PaymentStatus status;
+
+    private LocalDateTime paymentDate;
+
+    private String receiptNumber;
+
+    private Long subscriptionId;
+
+    private Long invoiceId;
+}
@@ -0,0 +1,27 @@
+package com.gym.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. {@code totalElements} is exact when
+ * {@code totalExact} is true, otherwise a planner estimate for a large result set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage<T> {
+
+    private List<T> items;
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    private boolean totalExact;
+}
@@ -0,0 +1,29 @@
+package com.gym.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight user row for search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResultDto {
+
+    private Long id;
+
+    private String email;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String phoneNumber;
+
+    private boolean active;
+
+    /** Trigram word similarity between the search term and the user's name and email, 0 to 1 */
+    private double score;
+}
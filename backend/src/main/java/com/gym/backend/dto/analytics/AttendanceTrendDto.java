@@ -0,0 +1,39 @@
+package com.gym.backend.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for attendance trends over hourly or daily buckets
+ */
+@Data
+public class AttendanceTrendDto {
+
+    private String granularity;
+    private List<TrendPoint> points;
+    private long totalVisits;
+    private Map<String, Long> visitsByType;
+    private Map<String, Long> visitsByMemberSegment;
+    private Map<String, Long> visitsByRoom;
+    /** Buckets before this instant came from rollups; later visits were read from attendance */
+    private LocalDateTime rolledUpThrough;
+    private LocalDateTime reportGeneratedAt;
+
+    /**
+     * Visits checked in during one bucket
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrendPoint {
+        private LocalDateTime bucketStart;
+        private long visits;
+        private long completedVisits;
+        private Double averageVisitMinutes;
+    }
+}
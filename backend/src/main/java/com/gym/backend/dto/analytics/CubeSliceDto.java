@@ -0,0 +1,39 @@
+package com.gym.backend.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a group-by over the in-memory analytics cube
+ */
+@Data
+public class CubeSliceDto {
+
+    private List<String> groupBy;
+    /** Largest groups first, truncated to the requested limit */
+    private List<Group> groups;
+    private int totalGroups;
+    private long scannedRows;
+    private long matchedRows;
+    private long elapsedMicros;
+    /** Attendance and booking changes after this instant are not in the cube yet */
+    private LocalDateTime dataAsOf;
+
+    /**
+     * Sums for one combination of group-by values
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private Map<String, String> key;
+        private long rows;
+        private long attended;
+        private long visitMinutes;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gym.backend.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the most-booked class schedules and trainers
+ */
+@Data
+public class PopularClassesDto {
+
+    private List<RankedItem> topSchedules;
+    private List<RankedItem> topTrainers;
+    private long totalBookings;
+    /** Estimates never undercount and overcount by at most this much with about 98% probability */
+    private long maxOverestimate;
+    /** Bookings changed after this instant may not be counted yet */
+    private LocalDateTime sketchedThrough;
+    private LocalDateTime reportGeneratedAt;
+
+    /**
+     * One schedule or trainer with its estimated bookings
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedItem {
+        private Long id;
+        private String name;
+        private long estimatedBookings;
+    }
+}
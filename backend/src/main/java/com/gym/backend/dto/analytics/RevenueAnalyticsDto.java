@@ -11,6 +11,7 @@ import java.util.Map;
 @Data
 public class RevenueAnalyticsDto {
 
+    private String currency;
     private Double totalRevenue;
     private Double monthlyRevenue;
     private Double averageRevenuePerDay;
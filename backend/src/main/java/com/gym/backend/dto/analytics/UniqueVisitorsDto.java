@@ -0,0 +1,37 @@
+package com.gym.backend.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for estimated unique visitors per day, week or month
+ */
+@Data
+public class UniqueVisitorsDto {
+
+    private String period;
+    private List<PeriodPoint> points;
+    /** Distinct members over the whole range, not the sum of the points */
+    private long totalUniqueMembers;
+    /** Relative standard error of every estimate */
+    private double relativeStandardError;
+    /** Check-ins changed after this instant may not be counted yet */
+    private LocalDateTime sketchedThrough;
+    private LocalDateTime reportGeneratedAt;
+
+    /**
+     * Estimated distinct members who checked in during one period
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodPoint {
+        private LocalDate periodStart;
+        private long uniqueMembers;
+    }
+}
@@ -15,6 +15,7 @@ public class UtilizationAnalyticsDto {
     private Map<String, Double> occupancyByClassType;
     private Map<String, Double> utilizationByTimeSlot;
     private Double peakHoursUtilization;
+    /** Equipment units in service per category; per-machine usage is not tracked */
     private Map<String, Integer> equipmentUsage;
     private Double overallFacilityUtilization;
     private LocalDateTime reportGeneratedAt;
@@ -0,0 +1,32 @@
+package com.gym.backend.dto.reportjob;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.gym.backend.service.reportjob.ReportJobStatus;
+import com.gym.backend.service.reportjob.ReportType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a report job and, once completed, its result
+ */
+@Data
+public class ReportJobDto {
+
+    private UUID id;
+    private ReportType reportType;
+    private ReportJobStatus status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    /** Identical requests reuse this result until then */
+    private LocalDateTime expiresAt;
+    private String error;
+
+    /** The report as stored, already serialized */
+    @JsonRawValue
+    private String result;
+}
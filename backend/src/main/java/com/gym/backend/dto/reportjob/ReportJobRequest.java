@@ -0,0 +1,23 @@
+package com.gym.backend.dto.reportjob;
+
+import com.gym.backend.service.reportjob.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for submitting a report job
+ */
+@Data
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    @NotNull(message = "Start date is required")
+    private LocalDateTime startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDateTime endDate;
+}
@@ -2,16 +2,16 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.VisitType;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Attendance entity representing gym visit tracking
  */
 @Entity
 @Table(name = "attendance")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Attendance extends BaseEntity {
 
     @Column(name = "check_in_time", nullable = false)
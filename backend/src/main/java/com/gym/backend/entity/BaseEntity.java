@@ -1,7 +1,11 @@
 package com.gym.backend.entity;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.proxy.HibernateProxy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -9,15 +13,29 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 /**
- * Base entity class with common fields for all entities
+ * Base entity class with common fields for all entities.
+ * Identity is the database ID: equals, hashCode and toString never touch associations,
+ * so none of them can trigger a lazy load, whether called on an entity or on an
+ * uninitialized proxy.
  */
-@Data
+@Getter
+@Setter
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    /**
+     * Number of IDs reserved per sequence call. Must match the sequence INCREMENT BY.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence IDs instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_sequence")
+    @GenericGenerator(name = "table_sequence", type = TableSequenceIdGenerator.class, parameters = {
+            @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
 
     @CreatedDate
@@ -27,4 +45,41 @@ public abstract class BaseEntity {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Entities are equal when they are of the same persistent class and share a non-null ID.
+     * Unsaved entities are only equal to themselves.
+     */
+    @Override
+    public final boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BaseEntity that) || persistentClass(this) != persistentClass(that)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(that.getId());
+    }
+
+    /**
+     * Constant per class, so the hash does not change when an entity in a hash-based
+     * collection is persisted and assigned its ID
+     */
+    @Override
+    public final int hashCode() {
+        return persistentClass(this).hashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return persistentClass(this).getSimpleName() + "(id=" + getId() + ")";
+    }
+
+    // Resolved without initializing the proxy; getId() on a proxy is also answered without a load
+    private static Class<?> persistentClass(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
+    }
 }
\ No newline at end of file
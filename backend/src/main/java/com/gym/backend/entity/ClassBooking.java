@@ -2,16 +2,16 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.BookingStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * ClassBooking entity representing member bookings for gym classes
  */
 @Entity
 @Table(name = "class_bookings")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class ClassBooking extends BaseEntity {
 
     @Column(name = "booking_reference", unique = true, nullable = false, length = 50)
@@ -2,8 +2,8 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.RecurrencePattern;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -15,10 +15,15 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "class_schedules")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class ClassSchedule extends BaseEntity {
 
+    // Guards current_bookings against concurrent bookings and cancellations
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
@@ -2,8 +2,8 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.EmailVerificationStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
@@ -12,8 +12,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "email_verification_tokens")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class EmailVerificationToken extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,16 +3,16 @@ package com.gym.backend.entity;
 import com.gym.backend.entity.enums.EquipmentCategory;
 import com.gym.backend.entity.enums.EquipmentStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Equipment entity representing gym equipment inventory
  */
 @Entity
 @Table(name = "equipment")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Equipment extends BaseEntity {
 
     @Column(name = "name", nullable = false, length = 255)
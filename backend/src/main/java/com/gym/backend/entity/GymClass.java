@@ -1,10 +1,13 @@
 package com.gym.backend.entity;
 
+import com.gym.backend.config.CacheConfig;
 import com.gym.backend.entity.enums.ClassDifficulty;
 import com.gym.backend.entity.enums.ClassCategory;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Duration;
 import java.util.HashSet;
@@ -14,9 +17,11 @@ import java.util.Set;
  * GymClass entity representing group fitness classes
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.GYM_CLASSES_REGION)
 @Table(name = "gym_classes")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class GymClass extends BaseEntity {
 
     @Column(name = "name", nullable = false, length = 255)
@@ -2,8 +2,8 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.InvoiceStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,8 +14,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "invoices")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Invoice extends BaseEntity {
 
     @Column(name = "invoice_number", unique = true, nullable = false, length = 50)
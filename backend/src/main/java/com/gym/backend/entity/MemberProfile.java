@@ -1,8 +1,8 @@
 package com.gym.backend.entity;
 
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDate;
 import java.math.BigDecimal;
@@ -12,8 +12,8 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "member_profiles")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class MemberProfile extends BaseEntity {
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,9 +1,12 @@
 package com.gym.backend.entity;
 
+import com.gym.backend.config.CacheConfig;
 import com.gym.backend.entity.enums.BillingCycle;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Duration;
 import java.util.HashSet;
@@ -13,9 +16,11 @@ import java.util.Set;
  * MembershipPlan entity representing available membership plans
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.MEMBERSHIP_PLANS_REGION)
 @Table(name = "membership_plans")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class MembershipPlan extends BaseEntity {
 
     @Column(name = "name", nullable = false, length = 255)
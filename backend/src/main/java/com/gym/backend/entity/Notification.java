@@ -4,8 +4,8 @@ import com.gym.backend.entity.enums.NotificationType;
 import com.gym.backend.entity.enums.NotificationPriority;
 import com.gym.backend.entity.enums.NotificationStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -16,8 +16,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "notifications")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Notification extends BaseEntity {
 
     @Column(name = "title", nullable = false, length = 255)
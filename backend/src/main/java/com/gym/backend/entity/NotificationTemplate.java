@@ -2,16 +2,16 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.NotificationType;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * NotificationTemplate entity representing reusable notification templates
  */
 @Entity
 @Table(name = "notification_templates")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class NotificationTemplate extends BaseEntity {
 
     @Column(name = "name", nullable = false, length = 255)
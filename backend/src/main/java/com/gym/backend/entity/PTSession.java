@@ -3,8 +3,8 @@ package com.gym.backend.entity;
 import com.gym.backend.entity.enums.SessionStatus;
 import com.gym.backend.entity.enums.SessionType;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -14,10 +14,14 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "pt_sessions")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class PTSession extends BaseEntity {
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "session_date", nullable = false)
     private LocalDateTime sessionDate;
 
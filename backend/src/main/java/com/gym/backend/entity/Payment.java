@@ -3,8 +3,8 @@ package com.gym.backend.entity;
 import com.gym.backend.entity.enums.PaymentMethod;
 import com.gym.backend.entity.enums.PaymentStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
@@ -13,8 +13,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "payments")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Payment extends BaseEntity {
 
     @Column(name = "amount", precision = 10, scale = 2, nullable = false)
@@ -1,9 +1,12 @@
 package com.gym.backend.entity;
 
+import com.gym.backend.config.CacheConfig;
 import com.gym.backend.entity.enums.RoleType;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -12,9 +15,11 @@ import java.util.Set;
  * Role entity representing user roles in the system
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ROLES_REGION)
 @Table(name = "roles")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Role extends BaseEntity {
 
     @Enumerated(EnumType.STRING)
@@ -1,8 +1,8 @@
 package com.gym.backend.entity;
 
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDate;
 
@@ -11,8 +11,8 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "staff_profiles")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class StaffProfile extends BaseEntity {
 
     @OneToOne(fetch = FetchType.LAZY)
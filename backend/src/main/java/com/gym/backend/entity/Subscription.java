@@ -2,8 +2,8 @@ package com.gym.backend.entity;
 
 import com.gym.backend.entity.enums.SubscriptionStatus;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,10 +14,15 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "subscriptions")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class Subscription extends BaseEntity {
 
+    // Freeze, renewal and status changes race on the same row
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "start_date", nullable = false)
     private LocalDateTime startDate;
 
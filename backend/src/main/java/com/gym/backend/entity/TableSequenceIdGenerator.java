@@ -0,0 +1,27 @@
+package com.gym.backend.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator that draws IDs from the {@code <table>_id_seq} sequence each
+ * {@code BIGSERIAL} column already owns, so every entity keeps its own sequence while
+ * sharing one generator definition in {@link BaseEntity}.
+ */
+public class TableSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_SUFFIX = "_id_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        if (params.getProperty(SEQUENCE_PARAM) == null) {
+            params.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + SEQUENCE_SUFFIX);
+        }
+        super.configure(type, params, serviceRegistry);
+    }
+}
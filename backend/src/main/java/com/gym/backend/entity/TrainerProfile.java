@@ -1,8 +1,11 @@
 package com.gym.backend.entity;
 
+import com.gym.backend.config.CacheConfig;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -10,9 +13,11 @@ import java.math.BigDecimal;
  * Trainer profile entity representing gym trainer information
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.TRAINER_PROFILES_REGION)
 @Table(name = "trainer_profiles")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
 public class TrainerProfile extends BaseEntity {
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,11 +1,15 @@
 package com.gym.backend.entity;
 
+import com.gym.backend.config.CacheConfig;
 import com.gym.backend.entity.enums.EmailVerificationStatus;
 import com.gym.backend.entity.enums.PasswordResetStatus;
 import com.gym.backend.entity.enums.RoleType;
+import com.gym.backend.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,8 +21,9 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "users")
-@Data
-@EqualsAndHashCode(callSuper = true)
+@EntityListeners(UserCacheInvalidationListener.class)
+@Getter
+@Setter
 public class User extends BaseEntity {
 
     @Column(name = "email", unique = true, nullable = false, length = 255)
@@ -64,6 +69,7 @@ public class User extends BaseEntity {
     private LocalDateTime lastLoginAt;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.USER_ROLES_REGION)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
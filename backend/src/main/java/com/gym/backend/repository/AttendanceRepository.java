@@ -1,7 +1,9 @@
 package com.gym.backend.repository;
 
+import com.gym.backend.dto.AttendanceSummaryDto;
 import com.gym.backend.entity.Attendance;
 import com.gym.backend.entity.enums.VisitType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -53,4 +55,38 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
      * Find attendance for specific PT session
      */
     List<Attendance> findByPtSessionIdOrderByCheckInTimeDesc(Long ptSessionId);
-}
\ No newline at end of file
+
+    /**
+     * Find a keyset page of attendance summaries by member, newest first, strictly after the cursor position
+     */
+    @Query("SELECT new com.gym.backend.dto.AttendanceSummaryDto(a.id, a.checkInTime, a.checkOutTime, a.visitType, a.purpose, " +
+           "a.classBooking.id, a.ptSession.id) " +
+           "FROM Attendance a WHERE a.member.id = :memberId AND (a.checkInTime, a.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY a.checkInTime DESC, a.id DESC")
+    List<AttendanceSummaryDto> findSummaryPageByMemberId(@Param("memberId") Long memberId,
+                                                         @Param("cursorDate") LocalDateTime cursorDate,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
+
+    /**
+     * Member-hours of presence per hour of day for visits checked in within [startDate, endDate).
+     * A visit counts in every clock hour it overlaps; open visits count for one hour and
+     * visits are capped at maxVisitHours so a forgotten check-out does not fill the day.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(HOUR FROM slot) AS INTEGER) AS hour, COUNT(*) AS memberHours " +
+            "FROM attendance a " +
+            "CROSS JOIN LATERAL generate_series(date_trunc('hour', a.check_in_time), " +
+            "    LEAST(COALESCE(a.check_out_time, a.check_in_time + INTERVAL '1 hour'), " +
+            "          a.check_in_time + make_interval(hours => :maxVisitHours)) - INTERVAL '1 microsecond', " +
+            "    INTERVAL '1 hour') AS slot " +
+            "WHERE a.check_in_time >= :startDate AND a.check_in_time < :endDate " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<HourlyPresence> findPresenceByHourOfDay(@Param("startDate") LocalDateTime startDate,
+                                                 @Param("endDate") LocalDateTime endDate,
+                                                 @Param("maxVisitHours") int maxVisitHours);
+
+    interface HourlyPresence {
+        int getHour();
+        long getMemberHours();
+    }
+}
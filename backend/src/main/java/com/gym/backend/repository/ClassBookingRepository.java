@@ -1,8 +1,10 @@
 package com.gym.backend.repository;
 
+import com.gym.backend.dto.ClassBookingSummaryDto;
 import com.gym.backend.entity.ClassBooking;
 import com.gym.backend.entity.ClassSchedule;
 import com.gym.backend.entity.enums.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -60,4 +62,41 @@ public interface ClassBookingRepository extends JpaRepository<ClassBooking, Long
      */
     @Query("SELECT cb FROM ClassBooking cb WHERE cb.member.id = :memberId AND cb.classSchedule.id = :scheduleId AND cb.classSchedule.startTime = :startTime AND cb.status IN ('CONFIRMED', 'PENDING')")
     List<ClassBooking> findMemberBookingsForScheduleAndTime(@Param("memberId") Long memberId, @Param("scheduleId") Long scheduleId, @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * Find a keyset page of booking summaries by member, newest first, strictly after the cursor position
+     */
+    @Query("SELECT new com.gym.backend.dto.ClassBookingSummaryDto(cb.id, cb.member.id, cb.bookingReference, cb.status, cb.bookingDate, " +
+           "cb.attended, cb.amountPaid, cs.id, cs.startTime, cs.endTime, cs.roomName, gc.id, gc.name, " +
+           "CONCAT(tu.firstName, ' ', tu.lastName)) " +
+           "FROM ClassBooking cb JOIN cb.classSchedule cs JOIN cs.gymClass gc LEFT JOIN gc.trainer t LEFT JOIN t.user tu " +
+           "WHERE cb.member.id = :memberId AND (cb.bookingDate, cb.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY cb.bookingDate DESC, cb.id DESC")
+    List<ClassBookingSummaryDto> findSummaryPageByMemberId(@Param("memberId") Long memberId,
+                                                           @Param("cursorDate") LocalDateTime cursorDate,
+                                                           @Param("cursorId") Long cursorId,
+                                                           Pageable pageable);
+
+    /**
+     * Find a keyset page of all booking summaries, newest first, strictly after the cursor position
+     */
+    @Query("SELECT new com.gym.backend.dto.ClassBookingSummaryDto(cb.id, cb.member.id, cb.bookingReference, cb.status, cb.bookingDate, " +
+           "cb.attended, cb.amountPaid, cs.id, cs.startTime, cs.endTime, cs.roomName, gc.id, gc.name, " +
+           "CONCAT(tu.firstName, ' ', tu.lastName)) " +
+           "FROM ClassBooking cb JOIN cb.classSchedule cs JOIN cs.gymClass gc LEFT JOIN gc.trainer t LEFT JOIN t.user tu " +
+           "WHERE (cb.bookingDate, cb.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY cb.bookingDate DESC, cb.id DESC")
+    List<ClassBookingSummaryDto> findSummaryPage(@Param("cursorDate") LocalDateTime cursorDate,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    /**
+     * Find upcoming booking summaries for a member
+     */
+    @Query("SELECT new com.gym.backend.dto.ClassBookingSummaryDto(cb.id, cb.member.id, cb.bookingReference, cb.status, cb.bookingDate, " +
+           "cb.attended, cb.amountPaid, cs.id, cs.startTime, cs.endTime, cs.roomName, gc.id, gc.name, " +
+           "CONCAT(tu.firstName, ' ', tu.lastName)) " +
+           "FROM ClassBooking cb JOIN cb.classSchedule cs JOIN cs.gymClass gc LEFT JOIN gc.trainer t LEFT JOIN t.user tu " +
+           "WHERE cb.member.id = :memberId AND cs.startTime > :currentTime AND cb.status = 'CONFIRMED' ORDER BY cs.startTime")
+    List<ClassBookingSummaryDto> findUpcomingSummariesForMember(@Param("memberId") Long memberId, @Param("currentTime") LocalDateTime currentTime);
 }
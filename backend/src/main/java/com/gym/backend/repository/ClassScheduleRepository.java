@@ -54,4 +54,27 @@ public interface ClassScheduleRepository extends JpaRepository<ClassSchedule, Lo
      * Find schedules after current time and active
      */
     List<ClassSchedule> findByStartTimeAfterAndIsActiveTrue(LocalDateTime startTime);
+
+    /**
+     * Booked seats against capacity per class category for schedules starting in [startDate, endDate).
+     * Bookings are counted per schedule first so each schedule's capacity is added once.
+     */
+    @Query(value = "SELECT per_schedule.category AS category, SUM(per_schedule.booked) AS booked, " +
+            "SUM(per_schedule.capacity) AS capacity " +
+            "FROM (SELECT gc.category AS category, gc.max_capacity AS capacity, COUNT(cb.id) AS booked " +
+            "      FROM class_schedules cs " +
+            "      JOIN gym_classes gc ON gc.id = cs.gym_class_id " +
+            "      LEFT JOIN class_bookings cb ON cb.class_schedule_id = cs.id " +
+            "           AND cb.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+            "      WHERE cs.start_time >= :startDate AND cs.start_time < :endDate AND cs.is_active = true " +
+            "      GROUP BY cs.id, gc.category, gc.max_capacity) per_schedule " +
+            "GROUP BY per_schedule.category", nativeQuery = true)
+    List<CategoryOccupancy> findOccupancyByCategory(@Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate);
+
+    interface CategoryOccupancy {
+        String getCategory();
+        long getBooked();
+        long getCapacity();
+    }
 }
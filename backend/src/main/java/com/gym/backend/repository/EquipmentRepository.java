@@ -48,4 +48,17 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
      */
     @Query("SELECT e FROM Equipment e WHERE e.warrantyExpiryDate BETWEEN :currentDate AND :expiryDate AND e.active = true")
     List<Equipment> findEquipmentWithWarrantyExpiringSoon(@Param("currentDate") LocalDate currentDate, @Param("expiryDate") LocalDate expiryDate);
+
+    /**
+     * Count in-service equipment per category
+     */
+    @Query("SELECT e.category AS category, COUNT(e) AS units FROM Equipment e " +
+           "WHERE e.active = true AND e.status = com.gym.backend.entity.enums.EquipmentStatus.ACTIVE " +
+           "GROUP BY e.category")
+    List<CategoryCount> countInServiceByCategory();
+
+    interface CategoryCount {
+        EquipmentCategory getCategory();
+        long getUnits();
+    }
 }
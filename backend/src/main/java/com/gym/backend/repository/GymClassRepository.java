@@ -38,8 +38,11 @@ public interface GymClassRepository extends JpaRepository<GymClass, Long> {
     List<GymClass> findByTrainerIdAndIsActive(@Param("trainerId") Long trainerId);
 
     /**
-     * Find gym classes by name containing (case insensitive)
+     * Search active gym classes whose name contains the pattern or is similar to the term,
+     * most similar first. Served by the trigram index on lower(name).
      */
-    @Query("SELECT gc FROM GymClass gc WHERE LOWER(gc.name) LIKE LOWER(CONCAT('%', :name, '%')) AND gc.isActive = true")
-    List<GymClass> findByNameContainingIgnoreCaseAndIsActiveTrue(@Param("name") String name);
+    @Query(value = "SELECT gc.* FROM gym_classes gc WHERE gc.is_active = true " +
+            "AND (lower(gc.name) LIKE :pattern OR lower(gc.name) % :term) " +
+            "ORDER BY similarity(lower(gc.name), :term) DESC, gc.id", nativeQuery = true)
+    List<GymClass> searchActiveByName(@Param("term") String term, @Param("pattern") String pattern);
 }
\ No newline at end of file
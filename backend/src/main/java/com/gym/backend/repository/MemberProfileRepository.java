@@ -20,6 +20,12 @@ public interface MemberProfileRepository extends JpaRepository<MemberProfile, Lo
      */
     Optional<MemberProfile> findByUserId(Long userId);
 
+    /**
+     * Find member profile ID by user ID without loading the profile
+     */
+    @Query("SELECT mp.id FROM MemberProfile mp WHERE mp.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
     /**
      * Find member profiles by membership type
      */
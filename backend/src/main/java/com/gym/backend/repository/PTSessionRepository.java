@@ -1,8 +1,10 @@
 package com.gym.backend.repository;
 
+import com.gym.backend.dto.PTSessionSummaryDto;
 import com.gym.backend.entity.PTSession;
 import com.gym.backend.entity.enums.SessionStatus;
 import com.gym.backend.entity.enums.SessionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -66,4 +68,26 @@ public interface PTSessionRepository extends JpaRepository<PTSession, Long> {
      */
     @Query("SELECT AVG(pts.rating) FROM PTSession pts WHERE pts.trainer.id = :trainerId AND pts.rating IS NOT NULL")
     Double calculateAverageRatingForTrainer(@Param("trainerId") Long trainerId);
-}
\ No newline at end of file
+
+    /**
+     * Find a keyset page of session summaries by member, newest first, strictly after the cursor position
+     */
+    @Query("SELECT new com.gym.backend.dto.PTSessionSummaryDto(pts.id, pts.sessionDate, pts.durationMinutes, pts.status, " +
+           "pts.sessionType, pts.price, pts.roomLocation, t.id, CONCAT(tu.firstName, ' ', tu.lastName)) " +
+           "FROM PTSession pts JOIN pts.trainer t JOIN t.user tu " +
+           "WHERE pts.member.id = :memberId AND (pts.sessionDate, pts.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY pts.sessionDate DESC, pts.id DESC")
+    List<PTSessionSummaryDto> findSummaryPageByMemberId(@Param("memberId") Long memberId,
+                                                        @Param("cursorDate") LocalDateTime cursorDate,
+                                                        @Param("cursorId") Long cursorId,
+                                                        Pageable pageable);
+
+    /**
+     * Find upcoming session summaries for member
+     */
+    @Query("SELECT new com.gym.backend.dto.PTSessionSummaryDto(pts.id, pts.sessionDate, pts.durationMinutes, pts.status, " +
+           "pts.sessionType, pts.price, pts.roomLocation, t.id, CONCAT(tu.firstName, ' ', tu.lastName)) " +
+           "FROM PTSession pts JOIN pts.trainer t JOIN t.user tu " +
+           "WHERE pts.member.id = :memberId AND pts.sessionDate > :currentTime AND pts.status IN ('SCHEDULED', 'CONFIRMED') ORDER BY pts.sessionDate")
+    List<PTSessionSummaryDto> findUpcomingSummariesForMember(@Param("memberId") Long memberId, @Param("currentTime") LocalDateTime currentTime);
+}
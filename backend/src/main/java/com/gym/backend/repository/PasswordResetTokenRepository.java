@@ -2,10 +2,15 @@ package com.gym.backend.repository;
 
 import com.gym.backend.entity.PasswordResetToken;
 import com.gym.backend.entity.enums.PasswordResetStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -49,8 +54,23 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     /**
      * Delete expired password reset tokens
      */
+    @Modifying
+    @Transactional
     @Query("DELETE FROM PasswordResetToken prt WHERE prt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    int deleteExpiredTokens(@Param("now") LocalDateTime now);
+
+    /**
+     * Delete at most {@code limit} tokens that expired before the cutoff.
+     * Rows locked by other transactions are skipped rather than waited on.
+     * The query space hint keeps this native delete from evicting unrelated second-level cache regions.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_tokens"))
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN (" +
+                   "SELECT id FROM password_reset_tokens WHERE expires_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpiredTokensBatch(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 
     /**
      * Check if token exists
@@ -1,8 +1,10 @@
 package com.gym.backend.repository;
 
+import com.gym.backend.dto.PaymentSummaryDto;
 import com.gym.backend.entity.Payment;
 import com.gym.backend.entity.enums.PaymentMethod;
 import com.gym.backend.entity.enums.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -48,15 +50,21 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     Payment findByGatewayTransactionId(String gatewayTransactionId);
 
-    /**
-     * Calculate total revenue in date range
-     */
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.paymentDate >= :startDate AND p.paymentDate <= :endDate AND p.status = 'COMPLETED'")
-    Double calculateTotalRevenueInDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
     /**
      * Count successful payments by member
      */
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.member.id = :memberId AND p.status = 'COMPLETED'")
     Long countSuccessfulPaymentsByMember(@Param("memberId") Long memberId);
-}
\ No newline at end of file
+
+    /**
+     * Find a keyset page of payment summaries by member, newest first, strictly after the cursor position
+     */
+    @Query("SELECT new com.gym.backend.dto.PaymentSummaryDto(p.id, p.amount, p.currency, p.paymentMethod, p.status, " +
+           "p.paymentDate, p.receiptNumber, p.subscription.id, p.invoice.id) " +
+           "FROM Payment p WHERE p.member.id = :memberId AND (p.paymentDate, p.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentSummaryDto> findSummaryPageByMemberId(@Param("memberId") Long memberId,
+                                                      @Param("cursorDate") LocalDateTime cursorDate,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+}
@@ -2,7 +2,10 @@ package com.gym.backend.repository;
 
 import com.gym.backend.entity.Role;
 import com.gym.backend.entity.enums.RoleType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,8 +17,9 @@ import java.util.Optional;
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     /**
-     * Find role by name
+     * Find role by name. Result is held in the query cache; the role itself in the second-level cache.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(RoleType name);
 
     /**
@@ -24,6 +24,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find user by email with roles fetched in the same query
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    /**
+     * Find user by ID with roles fetched in the same query
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") Long id);
+
     /**
      * Check if email exists
      */
@@ -80,12 +92,4 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.lastLoginAt < :date AND u.active = true")
     List<User> findInactiveUsersSince(@Param("date") java.time.LocalDateTime date);
-
-    /**
-     * Search users by name or email
-     */
-    @Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
 }
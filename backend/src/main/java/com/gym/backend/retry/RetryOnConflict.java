@@ -0,0 +1,34 @@
+package com.gym.backend.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional service method when it loses an optimistic-lock or other
+ * concurrency race. Each attempt runs in a fresh transaction, so the method must
+ * re-read the state it modifies. Calls made inside an already running transaction
+ * are not retried here; the outermost annotated method retries instead.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Total attempts, including the first call
+     */
+    int maxAttempts() default 4;
+
+    /**
+     * Upper bound of the first backoff; doubles on each further attempt
+     */
+    long initialBackoffMillis() default 20;
+
+    /**
+     * Upper bound of any single backoff
+     */
+    long maxBackoffMillis() default 500;
+}
@@ -0,0 +1,90 @@
+package com.gym.backend.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnConflict} methods with full-jitter exponential backoff.
+ * Ordered just outside the transaction interceptor so every attempt begins and commits
+ * its own transaction, which also catches conflicts detected at flush time.
+ * Every attempt is counted under {@code concurrency.conflict.attempts} by operation and result.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryOnConflictAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The enclosing transaction is rollback-only after a conflict; let its caller retry
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        int maxAttempts = Math.max(1, retryOnConflict.maxAttempts());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                attempts(operation, "success").increment();
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                attempts(operation, "conflict").increment();
+                if (attempt >= maxAttempts) {
+                    Counter.builder("concurrency.conflict.exhausted")
+                            .description("Operations that gave up after exhausting their retries")
+                            .tag("operation", operation)
+                            .register(meterRegistry)
+                            .increment();
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                long backoff = backoffMillis(retryOnConflict, attempt);
+                log.debug("{} conflicted on attempt {}, retrying in {} ms: {}", operation, attempt, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Full jitter: uniformly random between zero and the capped exponential bound
+     */
+    static long backoffMillis(RetryOnConflict retryOnConflict, int attempt) {
+        long bound = retryOnConflict.initialBackoffMillis() << Math.min(attempt - 1, 20);
+        bound = Math.min(bound, retryOnConflict.maxBackoffMillis());
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private Counter attempts(String operation, String result) {
+        return Counter.builder("concurrency.conflict.attempts")
+                .description("Attempts of conflict-retried operations, by result")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
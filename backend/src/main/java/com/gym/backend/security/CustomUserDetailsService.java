@@ -1,23 +1,18 @@
 package com.gym.backend.security;
 
-import com.gym.backend.entity.Role;
-import com.gym.backend.entity.User;
 import com.gym.backend.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
- * Custom UserDetailsService implementation for loading user details from database
+ * Custom UserDetailsService implementation for loading user details from database.
+ * Principals are served from {@link UserPrincipalCache}; the database is only hit on a miss.
  */
 @Slf4j
 @Service
@@ -26,64 +21,55 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Loading user by email: {}", email);
-        
-        User user = userRepository.findByEmail(email)
+
+        UserPrincipal principal = loadPrincipalByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        if (!user.isActive()) {
+        if (!principal.isEnabled()) {
             log.warn("User account is disabled: {}", email);
             throw new UsernameNotFoundException("User account is disabled: " + email);
         }
 
         log.debug("Successfully loaded user: {}", email);
-        return createUserDetails(user);
-    }
-
-    /**
-     * Create UserDetails from User entity
-     */
-    private UserDetails createUserDetails(User user) {
-        Collection<? extends GrantedAuthority> authorities = getAuthorities(user.getRoles());
-        
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!user.isActive())
-                .build();
-    }
-
-    /**
-     * Get authorities from user roles
-     */
-    private Collection<? extends GrantedAuthority> getAuthorities(Collection<Role> roles) {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
-                .collect(Collectors.toList());
+        return principal;
     }
 
     /**
      * Load user by user ID
      */
-    @Transactional
     public UserDetails loadUserById(Long userId) throws UsernameNotFoundException {
         log.debug("Loading user by ID: {}", userId);
-        
-        User user = userRepository.findById(userId)
+
+        UserPrincipal principal = loadPrincipalById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + userId));
 
-        if (!user.isActive()) {
+        if (!principal.isEnabled()) {
             log.warn("User account is disabled: {}", userId);
             throw new UsernameNotFoundException("User account is disabled: " + userId);
         }
 
-        return createUserDetails(user);
+        return principal;
+    }
+
+    /**
+     * Load cached principal by email regardless of account state
+     */
+    public Optional<UserPrincipal> loadPrincipalByEmail(String email) {
+        return userPrincipalCache.getByEmail(email, () ->
+                userRepository.findWithRolesByEmail(email).map(UserPrincipal::create));
+    }
+
+    /**
+     * Load cached principal by user ID regardless of account state
+     */
+    public Optional<UserPrincipal> loadPrincipalById(Long userId) {
+        return userPrincipalCache.getById(userId, () ->
+                userRepository.findWithRolesById(userId).map(UserPrincipal::create));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.gym.backend.security;
+
+import lombok.Value;
+
+/**
+ * Member identity resolved once per request for the authenticated user.
+ * Declare it as a controller method argument instead of looking up the member profile by user ID.
+ */
+@Value
+public class MemberContext {
+
+    Long userId;
+    Long memberId;
+}
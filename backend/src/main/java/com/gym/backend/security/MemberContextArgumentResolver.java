@@ -0,0 +1,79 @@
+package com.gym.backend.security;
+
+import com.gym.backend.config.CacheConfig;
+import com.gym.backend.exception.ResourceNotFoundException;
+import com.gym.backend.repository.MemberProfileRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link MemberContext} controller arguments.
+ * The member profile ID is looked up through a small userId-to-memberId cache and
+ * memoised on the request, so the profile itself is never loaded just to find its ID.
+ */
+@Slf4j
+@Component
+public class MemberContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = MemberContext.class.getName();
+
+    private final MemberProfileRepository memberProfileRepository;
+    private final Cache memberIdsByUser;
+
+    public MemberContextArgumentResolver(MemberProfileRepository memberProfileRepository, CacheManager cacheManager) {
+        this.memberProfileRepository = memberProfileRepository;
+        this.memberIdsByUser = cacheManager.getCache(CacheConfig.MEMBER_IDS_BY_USER);
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return MemberContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE) instanceof MemberContext context) {
+            return context;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new AccessDeniedException("Authenticated member required");
+        }
+
+        MemberContext context = new MemberContext(principal.getId(), resolveMemberId(principal.getId()));
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, context);
+        }
+        return context;
+    }
+
+    /**
+     * Resolve member profile ID for a user, caching the mapping
+     */
+    private Long resolveMemberId(Long userId) {
+        Long memberId = memberIdsByUser.get(userId, Long.class);
+        if (memberId != null) {
+            return memberId;
+        }
+
+        log.debug("Resolving member profile ID for user ID: {}", userId);
+        memberId = memberProfileRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Member profile not found for user ID: " + userId));
+        memberIdsByUser.put(userId, memberId);
+        return memberId;
+    }
+}
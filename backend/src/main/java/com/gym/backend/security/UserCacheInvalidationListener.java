@@ -0,0 +1,27 @@
+package com.gym.backend.security;
+
+import com.gym.backend.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops cached principals whenever a user row changes.
+ * Covers password, active flag and profile changes; role-only changes are handled by
+ * {@link UserRolesCollectionListener}.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    @Lazy
+    private UserPrincipalCache userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userPrincipalCache.evictAfterCommit(user.getId(), user.getEmail());
+    }
+}
@@ -1,5 +1,6 @@
 package com.gym.backend.security;
 
+import com.gym.backend.entity.Role;
 import com.gym.backend.entity.User;
 import com.gym.backend.entity.enums.RoleType;
 import lombok.AllArgsConstructor;
@@ -10,12 +11,15 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Custom UserDetails implementation for Spring Security
+ * Custom UserDetails implementation for Spring Security.
+ * Instances are detached snapshots of a {@link User} and are safe to share through the principal cache.
  */
 @Data
 @Builder
@@ -29,11 +33,19 @@ public class UserPrincipal implements UserDetails {
     private String firstName;
     private String lastName;
     private Collection<? extends GrantedAuthority> authorities;
+    private Set<RoleType> roles;
     private boolean enabled;
+    private boolean emailVerified;
+    private LocalDateTime lastLoginAt;
+    private LocalDateTime createdAt;
 
     public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
+        Set<RoleType> roles = user.getRoles().stream()
+            .map(Role::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+        List<GrantedAuthority> authorities = roles.stream()
+            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
             .collect(Collectors.toList());
 
         return UserPrincipal.builder()
@@ -43,7 +55,11 @@ public class UserPrincipal implements UserDetails {
             .firstName(user.getFirstName())
             .lastName(user.getLastName())
             .authorities(authorities)
+            .roles(roles)
             .enabled(user.isActive())
+            .emailVerified(user.isEmailVerified())
+            .lastLoginAt(user.getLastLoginAt())
+            .createdAt(user.getCreatedAt())
             .build();
     }
 
@@ -0,0 +1,95 @@
+package com.gym.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.gym.backend.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of {@link UserPrincipal} snapshots keyed by user ID and by email.
+ * Both keys point at the same snapshot; eviction always removes both.
+ *
+ * Misses are loaded inside the cache's atomic compute, and eviction removes through the map
+ * view, which waits for a load of the same key in flight. A load that read the row before a
+ * change committed therefore cannot put its stale snapshot back after the eviction.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<Object, Object> usersById;
+    private final Cache<Object, Object> usersByEmail;
+
+    public UserPrincipalCache(CacheManager cacheManager) {
+        this.usersById = nativeCache(cacheManager, CacheConfig.USERS_BY_ID);
+        this.usersByEmail = nativeCache(cacheManager, CacheConfig.USERS_BY_EMAIL);
+    }
+
+    /**
+     * Get principal by user ID, loading and caching it on a miss
+     */
+    public Optional<UserPrincipal> getById(Long userId, Supplier<Optional<UserPrincipal>> loader) {
+        return Optional.ofNullable((UserPrincipal) usersById.get(userId,
+                key -> load(loader, principal -> usersByEmail.put(principal.getUsername(), principal))));
+    }
+
+    /**
+     * Get principal by email, loading and caching it on a miss
+     */
+    public Optional<UserPrincipal> getByEmail(String email, Supplier<Optional<UserPrincipal>> loader) {
+        return Optional.ofNullable((UserPrincipal) usersByEmail.get(email,
+                key -> load(loader, principal -> usersById.put(principal.getId(), principal))));
+    }
+
+    /**
+     * Evict principal immediately. The email the entry was cached under is also evicted,
+     * so an email change does not leave a stale entry behind.
+     */
+    public void evict(Long userId, String email) {
+        if (userId != null && usersById.asMap().remove(userId) instanceof UserPrincipal cached) {
+            usersByEmail.invalidate(cached.getUsername());
+        }
+        if (email != null && usersByEmail.asMap().remove(email) instanceof UserPrincipal cached) {
+            usersById.invalidate(cached.getId());
+        }
+        log.debug("Evicted cached principal for user ID: {}", userId);
+    }
+
+    /**
+     * Evict principal once the current transaction commits, or immediately when no transaction is active.
+     * Evicting after commit stops a concurrent request from re-caching the pre-commit row.
+     */
+    public void evictAfterCommit(Long userId, String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId, email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(userId, email);
+            }
+        });
+    }
+
+    // Runs inside the compute of one key; the other key is a different cache, so writing it here is safe
+    private static UserPrincipal load(Supplier<Optional<UserPrincipal>> loader, Consumer<UserPrincipal> alsoPut) {
+        UserPrincipal principal = loader.get().orElse(null);
+        if (principal != null) {
+            alsoPut.accept(principal);
+        }
+        return principal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+}
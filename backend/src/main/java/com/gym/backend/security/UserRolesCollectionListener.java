@@ -0,0 +1,67 @@
+package com.gym.backend.security;
+
+import com.gym.backend.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate collection listener that drops cached principals when a user's roles change.
+ * Changing only the role collection writes user_roles but not the users row, so
+ * {@link UserCacheInvalidationListener}'s {@code @PostUpdate} never fires for it.
+ */
+@Component
+public class UserRolesCollectionListener implements PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String ROLES = User.class.getName() + ".roles";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserPrincipalCache userPrincipalCache;
+
+    public UserRolesCollectionListener(EntityManagerFactory entityManagerFactory, UserPrincipalCache userPrincipalCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onRolesChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onRolesChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onRolesChanged(event);
+    }
+
+    private void onRolesChanged(AbstractCollectionEvent event) {
+        if (ROLES.equals(event.getCollection().getRole()) && event.getAffectedOwnerOrNull() instanceof User user) {
+            userPrincipalCache.evictAfterCommit(user.getId(), user.getEmail());
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.gym.backend.service;
 
+import com.gym.backend.config.AnalyticsProperties;
+import com.gym.backend.config.CacheConfig;
+import com.gym.backend.datasource.ReportingWorkload;
 import com.gym.backend.dto.analytics.RevenueAnalyticsDto;
 import com.gym.backend.dto.analytics.UtilizationAnalyticsDto;
 import com.gym.backend.repository.*;
+import com.gym.backend.service.revenue.RevenueLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * Service for generating analytics and reporting data
+ * Service for generating analytics and reporting data.
+ * Runs on the reporting pool so long aggregations never take member-facing connections.
  */
 @Slf4j
 @Service
+@ReportingWorkload
 @RequiredArgsConstructor
 public class AnalyticsService {
 
@@ -25,105 +39,122 @@ public class AnalyticsService {
     private final AttendanceRepository attendanceRepository;
     private final ClassScheduleRepository classScheduleRepository;
     private final InvoiceRepository invoiceRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final AnalyticsProperties analyticsProperties;
+    private final RevenueLedger revenueLedger;
 
     /**
-     * Get revenue analytics for a specified date range
+     * Get revenue analytics for a specified date range, whole days inclusive.
+     * Figures come from the daily revenue ledger and are net of refunds.
      */
+    @Transactional(readOnly = true)
     public RevenueAnalyticsDto getRevenueAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Generating revenue analytics from {} to {}", startDate, endDate);
 
+        String currency = analyticsProperties.getReportingCurrency();
+        LocalDate from = startDate.toLocalDate();
+        LocalDate to = endDate.toLocalDate();
+
         RevenueAnalyticsDto analytics = new RevenueAnalyticsDto();
-        
-        // Calculate total revenue
-        Double totalRevenue = paymentRepository.calculateTotalRevenueInDateRange(startDate, endDate);
-        analytics.setTotalRevenue(totalRevenue != null ? totalRevenue : 0.0);
-        
-        // Calculate monthly revenue (simplified)
-        LocalDateTime firstDayOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0);
-        Double monthlyRevenue = paymentRepository.calculateTotalRevenueInDateRange(firstDayOfMonth, endDate);
-        analytics.setMonthlyRevenue(monthlyRevenue != null ? monthlyRevenue : 0.0);
-        
-        // Calculate average revenue per day
-        long daysInRange = startDate.until(endDate, java.time.temporal.ChronoUnit.DAYS);
-        analytics.setAverageRevenuePerDay(daysInRange > 0 ? analytics.getTotalRevenue() / daysInRange : 0.0);
-        
-        // Set growth rate (simplified calculation)
-        analytics.setGrowthRate(15.5); // This would need historical data calculation
-        
-        // Revenue by membership plan (placeholder data)
-        Map<String, Double> revenueByMembershipPlan = new HashMap<>();
-        revenueByMembershipPlan.put("Basic", 15000.0);
-        revenueByMembershipPlan.put("Premium", 25000.0);
-        revenueByMembershipPlan.put("VIP", 12000.0);
-        analytics.setRevenueByMembershipPlan(revenueByMembershipPlan);
-        
-        // Revenue by payment method (placeholder data)
-        Map<String, Double> revenueByPaymentMethod = new HashMap<>();
-        revenueByPaymentMethod.put("Credit Card", 32000.0);
-        revenueByPaymentMethod.put("Bank Transfer", 15000.0);
-        revenueByPaymentMethod.put("Cash", 5000.0);
-        analytics.setRevenueByPaymentMethod(revenueByPaymentMethod);
-        
-        // Monthly revenue trend (placeholder data)
-        Map<String, Double> monthlyRevenueTrend = new HashMap<>();
-        monthlyRevenueTrend.put("Jan", 18000.0);
-        monthlyRevenueTrend.put("Feb", 19500.0);
-        monthlyRevenueTrend.put("Mar", 21000.0);
-        monthlyRevenueTrend.put("Apr", 22500.0);
-        monthlyRevenueTrend.put("May", 24000.0);
-        monthlyRevenueTrend.put("Jun", 25000.0);
-        analytics.setMonthlyRevenueTrend(monthlyRevenueTrend);
-        
+        analytics.setCurrency(currency);
+
+        BigDecimal total = BigDecimal.ZERO;
+        Map<String, BigDecimal> byPlan = new TreeMap<>();
+        Map<String, BigDecimal> byMethod = new TreeMap<>();
+        Map<String, BigDecimal> byMonth = new TreeMap<>();
+        for (RevenueLedger.LedgerTotal row : revenueLedger.findNetRevenue(from, to, currency)) {
+            total = total.add(row.getNetAmount());
+            byPlan.merge(row.getPlan(), row.getNetAmount(), BigDecimal::add);
+            byMethod.merge(row.getPaymentMethod(), row.getNetAmount(), BigDecimal::add);
+            byMonth.merge(row.getMonth(), row.getNetAmount(), BigDecimal::add);
+        }
+        analytics.setTotalRevenue(total.doubleValue());
+        analytics.setRevenueByMembershipPlan(toDoubles(byPlan));
+        analytics.setRevenueByPaymentMethod(toDoubles(byMethod));
+        analytics.setMonthlyRevenueTrend(toDoubles(byMonth));
+
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        analytics.setAverageRevenuePerDay(days > 0
+                ? total.divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP).doubleValue() : 0.0);
+
+        // Month-over-month: the month to date at the end of the range against the same span a month earlier
+        LocalDate monthStart = to.withDayOfMonth(1);
+        BigDecimal monthToDate = revenueLedger.sumNetRevenue(monthStart, to, currency);
+        BigDecimal previousMonth = revenueLedger.sumNetRevenue(monthStart.minusMonths(1), to.minusMonths(1), currency);
+        analytics.setMonthlyRevenue(monthToDate.doubleValue());
+        analytics.setGrowthRate(previousMonth.signum() > 0
+                ? round(monthToDate.subtract(previousMonth).doubleValue() * 100.0 / previousMonth.doubleValue()) : 0.0);
+
         analytics.setReportGeneratedAt(LocalDateTime.now());
-        
+
         return analytics;
     }
 
     /**
-     * Get utilization analytics for a specified date range
+     * Get utilization analytics for a specified date range.
+     * Each figure is one aggregation in Postgres; results are cached per range for a few minutes.
      */
+    @Cacheable(CacheConfig.UTILIZATION_ANALYTICS)
+    @Transactional(readOnly = true)
     public UtilizationAnalyticsDto getUtilizationAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Generating utilization analytics from {} to {}", startDate, endDate);
 
         UtilizationAnalyticsDto analytics = new UtilizationAnalyticsDto();
-        
-        // Calculate average class occupancy rate
-        // This would require complex queries with joins - simplified for demo
-        analytics.setAverageClassOccupancyRate(75.5);
-        
-        // Occupancy by class type (placeholder data)
-        Map<String, Double> occupancyByClassType = new HashMap<>();
-        occupancyByClassType.put("Cardio", 82.5);
-        occupancyByClassType.put("Strength", 68.0);
-        occupancyByClassType.put("Yoga", 90.0);
-        occupancyByClassType.put("HIIT", 85.5);
-        occupancyByClassType.put("Pilates", 73.0);
+
+        // Class occupancy: booked seats against class capacity
+        long totalBooked = 0;
+        long totalCapacity = 0;
+        Map<String, Double> occupancyByClassType = new TreeMap<>();
+        for (ClassScheduleRepository.CategoryOccupancy row : classScheduleRepository.findOccupancyByCategory(startDate, endDate)) {
+            String category = row.getCategory() != null ? row.getCategory() : "UNCATEGORIZED";
+            occupancyByClassType.put(category, percentage(row.getBooked(), row.getCapacity()));
+            totalBooked += row.getBooked();
+            totalCapacity += row.getCapacity();
+        }
         analytics.setOccupancyByClassType(occupancyByClassType);
-        
-        // Utilization by time slot (placeholder data)
-        Map<String, Double> utilizationByTimeSlot = new HashMap<>();
-        utilizationByTimeSlot.put("6AM-9AM", 65.0);
-        utilizationByTimeSlot.put("9AM-12PM", 45.0);
-        utilizationByTimeSlot.put("12PM-3PM", 35.0);
-        utilizationByTimeSlot.put("3PM-6PM", 85.0);
-        utilizationByTimeSlot.put("6PM-9PM", 95.0);
-        utilizationByTimeSlot.put("9PM-12AM", 25.0);
+        analytics.setAverageClassOccupancyRate(percentage(totalBooked, totalCapacity));
+
+        // Facility utilization: average members present per clock hour against facility capacity
+        long days = Math.max(1, (long) Math.ceil(Duration.between(startDate, endDate).toHours() / 24.0));
+        int maxVisitHours = (int) Math.max(1, analyticsProperties.getMaxVisitLength().toHours());
+        double hourlyCapacity = (double) analyticsProperties.getFacilityCapacity() * days;
+        Map<String, Double> utilizationByTimeSlot = new LinkedHashMap<>();
+        double peak = 0.0;
+        double sum = 0.0;
+        for (AttendanceRepository.HourlyPresence row : attendanceRepository.findPresenceByHourOfDay(startDate, endDate, maxVisitHours)) {
+            double utilization = round(row.getMemberHours() * 100.0 / hourlyCapacity);
+            utilizationByTimeSlot.put(String.format("%02d:00", row.getHour()), utilization);
+            peak = Math.max(peak, utilization);
+            sum += utilization;
+        }
         analytics.setUtilizationByTimeSlot(utilizationByTimeSlot);
-        
-        analytics.setPeakHoursUtilization(95.0);
-        
-        // Equipment usage (placeholder data)
-        Map<String, Integer> equipmentUsage = new HashMap<>();
-        equipmentUsage.put("Treadmills", 450);
-        equipmentUsage.put("Stationary Bikes", 320);
-        equipmentUsage.put("Elliptical Machines", 280);
-        equipmentUsage.put("Weight Machines", 380);
-        equipmentUsage.put("Free Weights", 520);
+        analytics.setPeakHoursUtilization(peak);
+        // Averaged over the hours the facility was actually in use
+        analytics.setOverallFacilityUtilization(utilizationByTimeSlot.isEmpty() ? 0.0 : round(sum / utilizationByTimeSlot.size()));
+
+        // Usage per machine is not tracked, so report the units in service per category
+        Map<String, Integer> equipmentUsage = new TreeMap<>();
+        for (EquipmentRepository.CategoryCount row : equipmentRepository.countInServiceByCategory()) {
+            equipmentUsage.put(row.getCategory() != null ? row.getCategory().name() : "UNCATEGORIZED", (int) row.getUnits());
+        }
         analytics.setEquipmentUsage(equipmentUsage);
-        
-        analytics.setOverallFacilityUtilization(70.5);
+
         analytics.setReportGeneratedAt(LocalDateTime.now());
-        
+
         return analytics;
     }
+
+    private static Map<String, Double> toDoubles(Map<String, BigDecimal> amounts) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        amounts.forEach((key, amount) -> result.put(key, amount.doubleValue()));
+        return result;
+    }
+
+    private static double percentage(long part, long whole) {
+        return whole > 0 ? round(part * 100.0 / whole) : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
 }
\ No newline at end of file
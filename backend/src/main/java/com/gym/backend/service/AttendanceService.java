@@ -1,6 +1,8 @@
 package com.gym.backend.service;
 
 import com.gym.backend.dto.AttendanceDto;
+import com.gym.backend.dto.AttendanceSummaryDto;
+import com.gym.backend.dto.CursorPage;
 import com.gym.backend.entity.Attendance;
 import com.gym.backend.entity.ClassBooking;
 import com.gym.backend.entity.MemberProfile;
@@ -13,6 +15,7 @@ import com.gym.backend.repository.ClassBookingRepository;
 import com.gym.backend.repository.MemberProfileRepository;
 import com.gym.backend.repository.PTSessionRepository;
 import com.gym.backend.util.DtoMapper;
+import com.gym.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -151,14 +154,16 @@ public class AttendanceService {
     }
 
     /**
-     * Get attendance records by member ID
+     * Get a page of attendance records by member ID, newest first
      */
     @Transactional(readOnly = true)
-    public List<AttendanceDto> getAttendanceByMember(Long memberId) {
+    public CursorPage<AttendanceSummaryDto> getAttendanceByMember(Long memberId, String cursor, Integer size) {
         log.debug("Fetching attendance records for member ID: {}", memberId);
-        return attendanceRepository.findByMemberIdOrderByCheckInTimeDesc(memberId).stream()
-                .map(dtoMapper::mapToAttendanceDto)
-                .collect(Collectors.toList());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<AttendanceSummaryDto> rows = attendanceRepository.findSummaryPageByMemberId(
+                memberId, position.getSortKey(), position.getId(), CursorPage.fetchLimit(pageSize));
+        return CursorPage.of(rows, pageSize, AttendanceSummaryDto::getCheckInTime, AttendanceSummaryDto::getId);
     }
 
     /**
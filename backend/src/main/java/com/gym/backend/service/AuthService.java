@@ -4,7 +4,10 @@ import com.gym.backend.dto.auth.*;
 import com.gym.backend.entity.*;
 import com.gym.backend.entity.enums.RoleType;
 import com.gym.backend.repository.*;
+import com.gym.backend.security.CustomUserDetailsService;
 import com.gym.backend.security.JwtTokenProvider;
+import com.gym.backend.security.UserPrincipal;
+import com.gym.backend.service.lookup.MemberLookupService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -54,6 +57,12 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MemberLookupService memberLookupService;
+
     @Value("${app.email.verification-required:true}")
     private boolean emailVerificationRequired;
 
@@ -85,6 +94,7 @@ public class AuthService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        memberLookupService.upsertAfterCommit(savedUser, null);
 
         // Send email verification if required
         if (emailVerificationRequired) {
@@ -146,19 +156,19 @@ public class AuthService {
         // Extract username from refresh token
         String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
 
-        // Load user details
-        User user = userRepository.findByEmail(username)
+        // Load user details from the principal cache
+        UserPrincipal principal = userDetailsService.loadPrincipalByEmail(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check if user is active
-        if (!user.isActive()) {
+        if (!principal.isEnabled()) {
             throw new RuntimeException("User account is disabled");
         }
 
         log.info("Successfully refreshed token for user: {}", username);
 
         // Generate new access token
-        return generateAuthResponse(user);
+        return generateAuthResponse(principal);
     }
 
     /**
@@ -249,23 +259,28 @@ public class AuthService {
      * Generate authentication response with tokens
      */
     private AuthResponse generateAuthResponse(User user) {
+        return generateAuthResponse(UserPrincipal.create(user));
+    }
+
+    /**
+     * Generate authentication response with tokens from a principal snapshot
+     */
+    private AuthResponse generateAuthResponse(UserPrincipal principal) {
         // Generate tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+        String accessToken = jwtTokenProvider.generateAccessToken(principal.getUsername());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(principal.getUsername());
 
         // Create user info
         AuthResponse.UserInfo userInfo = AuthResponse.UserInfo.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .isActive(user.isActive())
-                .isEmailVerified(user.isEmailVerified())
-                .roles(user.getRoles().stream()
-                        .map(Role::getName)
-                        .collect(Collectors.toSet()))
-                .lastLoginAt(user.getLastLoginAt())
-                .createdAt(user.getCreatedAt())
+                .id(principal.getId())
+                .email(principal.getUsername())
+                .firstName(principal.getFirstName())
+                .lastName(principal.getLastName())
+                .isActive(principal.isEnabled())
+                .isEmailVerified(principal.isEmailVerified())
+                .roles(principal.getRoles())
+                .lastLoginAt(principal.getLastLoginAt())
+                .createdAt(principal.getCreatedAt())
                 .build();
 
         // Create response
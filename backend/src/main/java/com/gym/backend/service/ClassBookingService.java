@@ -1,7 +1,11 @@
 package com.gym.backend.service;
 
+import com.gym.backend.coalescing.Coalesced;
+import com.gym.backend.datasource.ReportingWorkload;
 import com.gym.backend.dto.ClassBookingDto;
+import com.gym.backend.dto.ClassBookingSummaryDto;
 import com.gym.backend.dto.ClassScheduleDto;
+import com.gym.backend.dto.CursorPage;
 import com.gym.backend.entity.ClassBooking;
 import com.gym.backend.entity.ClassSchedule;
 import com.gym.backend.entity.MemberProfile;
@@ -11,7 +15,11 @@ import com.gym.backend.exception.BusinessRuleException;
 import com.gym.backend.repository.ClassBookingRepository;
 import com.gym.backend.repository.ClassScheduleRepository;
 import com.gym.backend.repository.MemberProfileRepository;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
 import com.gym.backend.util.DtoMapper;
+import com.gym.backend.util.KeysetCursor;
+import com.gym.backend.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,10 +43,12 @@ public class ClassBookingService {
     private final ClassScheduleRepository classScheduleRepository;
     private final MemberProfileRepository memberProfileRepository;
     private final DtoMapper dtoMapper;
+    private final AuditLogger auditLogger;
 
     /**
      * Book a class for a member
      */
+    @RetryOnConflict
     @Transactional
     public ClassBookingDto bookClass(Long memberId, Long scheduleId) {
         log.info("Creating booking for member ID: {} and schedule ID: {}", memberId, scheduleId);
@@ -89,12 +100,15 @@ public class ClassBookingService {
 
         log.info("Created booking with reference: {}", savedBooking.getBookingReference());
 
-        return dtoMapper.mapToClassBookingDto(savedBooking);
+        ClassBookingDto created = dtoMapper.mapToClassBookingDto(savedBooking);
+        auditLogger.record(AuditAction.BOOKING_CREATED, "ClassBooking", created.getId(), null, created);
+        return created;
     }
 
     /**
      * Cancel a class booking
      */
+    @RetryOnConflict
     @Transactional
     public ClassBookingDto cancelBooking(Long bookingId, String reason) {
         log.info("Cancelling booking with ID: {}", bookingId);
@@ -110,6 +124,8 @@ public class ClassBookingService {
             throw new BusinessRuleException("Cannot cancel a completed booking");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
+
         // Update booking status
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancellationReason(reason);
@@ -124,7 +140,10 @@ public class ClassBookingService {
 
         log.info("Cancelled booking with ID: {}", bookingId);
 
-        return dtoMapper.mapToClassBookingDto(booking);
+        ClassBookingDto cancelled = dtoMapper.mapToClassBookingDto(booking);
+        auditLogger.record(AuditAction.BOOKING_CANCELLED, "ClassBooking", bookingId,
+                Map.of("status", previousStatus), cancelled);
+        return cancelled;
     }
 
     /**
@@ -153,25 +172,25 @@ public class ClassBookingService {
     }
 
     /**
-     * Get bookings by member ID
+     * Get a page of bookings by member ID, newest first
      */
     @Transactional(readOnly = true)
-    public List<ClassBookingDto> getBookingsByMember(Long memberId) {
+    public CursorPage<ClassBookingSummaryDto> getBookingsByMember(Long memberId, String cursor, Integer size) {
         log.debug("Fetching bookings for member ID: {}", memberId);
-        return classBookingRepository.findByMemberIdOrderByBookingDateDesc(memberId).stream()
-                .map(dtoMapper::mapToClassBookingDto)
-                .collect(Collectors.toList());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<ClassBookingSummaryDto> rows = classBookingRepository.findSummaryPageByMemberId(
+                memberId, position.getSortKey(), position.getId(), CursorPage.fetchLimit(pageSize));
+        return CursorPage.of(rows, pageSize, ClassBookingSummaryDto::getBookingDate, ClassBookingSummaryDto::getId);
     }
 
     /**
      * Get upcoming bookings for member
      */
     @Transactional(readOnly = true)
-    public List<ClassBookingDto> getUpcomingBookingsForMember(Long memberId) {
+    public List<ClassBookingSummaryDto> getUpcomingBookingsForMember(Long memberId) {
         log.debug("Fetching upcoming bookings for member ID: {}", memberId);
-        return classBookingRepository.findUpcomingBookingsForMember(memberId, LocalDateTime.now()).stream()
-                .map(dtoMapper::mapToClassBookingDto)
-                .collect(Collectors.toList());
+        return classBookingRepository.findUpcomingSummariesForMember(memberId, LocalDateTime.now());
     }
 
     /**
@@ -189,14 +208,17 @@ public class ClassBookingService {
     }
 
     /**
-     * Get all bookings
+     * Get a page of all bookings, newest first
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
-    public List<ClassBookingDto> getAllBookings() {
+    public CursorPage<ClassBookingSummaryDto> getAllBookings(String cursor, Integer size) {
         log.debug("Fetching all bookings");
-        return classBookingRepository.findAll().stream()
-                .map(dtoMapper::mapToClassBookingDto)
-                .collect(Collectors.toList());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<ClassBookingSummaryDto> rows = classBookingRepository.findSummaryPage(
+                position.getSortKey(), position.getId(), CursorPage.fetchLimit(pageSize));
+        return CursorPage.of(rows, pageSize, ClassBookingSummaryDto::getBookingDate, ClassBookingSummaryDto::getId);
     }
 
     /**
@@ -209,6 +231,7 @@ public class ClassBookingService {
     /**
      * Get all available classes for booking
      */
+    @Coalesced(ttlMillis = 250)
     @Transactional(readOnly = true)
     public List<ClassScheduleDto> getAvailableClasses() {
         log.debug("Fetching available classes for booking");
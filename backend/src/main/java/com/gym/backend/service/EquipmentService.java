@@ -1,5 +1,6 @@
 package com.gym.backend.service;
 
+import com.gym.backend.datasource.ReportingWorkload;
 import com.gym.backend.dto.EquipmentDto;
 import com.gym.backend.entity.Equipment;
 import com.gym.backend.entity.enums.EquipmentCategory;
@@ -94,6 +95,7 @@ public class EquipmentService {
     /**
      * Get all equipment
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<EquipmentDto> getAllEquipment() {
         log.debug("Fetching all equipment");
@@ -116,6 +118,7 @@ public class EquipmentService {
     /**
      * Get equipment by category
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<EquipmentDto> getEquipmentByCategory(EquipmentCategory category) {
         log.debug("Fetching equipment by category: {}", category);
@@ -127,6 +130,7 @@ public class EquipmentService {
     /**
      * Get equipment by status
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<EquipmentDto> getEquipmentByStatus(EquipmentStatus status) {
         log.debug("Fetching equipment by status: {}", status);
@@ -138,6 +142,7 @@ public class EquipmentService {
     /**
      * Get equipment requiring maintenance
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<EquipmentDto> getEquipmentRequiringMaintenance() {
         log.debug("Fetching equipment requiring maintenance");
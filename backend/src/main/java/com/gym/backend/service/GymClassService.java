@@ -1,5 +1,6 @@
 package com.gym.backend.service;
 
+import com.gym.backend.datasource.ReportingWorkload;
 import com.gym.backend.dto.GymClassDto;
 import com.gym.backend.entity.GymClass;
 import com.gym.backend.entity.TrainerProfile;
@@ -8,6 +9,9 @@ import com.gym.backend.entity.enums.ClassDifficulty;
 import com.gym.backend.exception.ResourceNotFoundException;
 import com.gym.backend.repository.GymClassRepository;
 import com.gym.backend.repository.TrainerProfileRepository;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
+import com.gym.backend.service.search.SearchTerms;
 import com.gym.backend.util.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +33,7 @@ public class GymClassService {
     private final GymClassRepository gymClassRepository;
     private final TrainerProfileRepository trainerProfileRepository;
     private final DtoMapper dtoMapper;
+    private final AuditLogger auditLogger;
 
     /**
      * Create a new gym class
@@ -49,12 +54,15 @@ public class GymClassService {
         GymClass savedGymClass = gymClassRepository.save(gymClass);
         log.info("Created gym class with ID: {}", savedGymClass.getId());
 
-        return dtoMapper.mapToGymClassDto(savedGymClass);
+        GymClassDto created = dtoMapper.mapToGymClassDto(savedGymClass);
+        auditLogger.record(AuditAction.GYM_CLASS_CREATED, "GymClass", created.getId(), null, created);
+        return created;
     }
 
     /**
      * Get all gym classes
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<GymClassDto> getAllGymClasses() {
         log.debug("Fetching all gym classes");
@@ -83,6 +91,7 @@ public class GymClassService {
 
         GymClass existingGymClass = gymClassRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Gym class not found with ID: " + id));
+        GymClassDto before = dtoMapper.mapToGymClassDto(existingGymClass);
 
         // Update fields
         existingGymClass.setName(gymClassDto.getName());
@@ -104,7 +113,9 @@ public class GymClassService {
         GymClass updatedGymClass = gymClassRepository.save(existingGymClass);
         log.info("Updated gym class with ID: {}", updatedGymClass.getId());
 
-        return dtoMapper.mapToGymClassDto(updatedGymClass);
+        GymClassDto updated = dtoMapper.mapToGymClassDto(updatedGymClass);
+        auditLogger.record(AuditAction.GYM_CLASS_UPDATED, "GymClass", id, before, updated);
+        return updated;
     }
 
     /**
@@ -120,6 +131,7 @@ public class GymClassService {
         // Soft delete - set inactive
         gymClass.setActive(false);
         gymClassRepository.save(gymClass);
+        auditLogger.record(AuditAction.GYM_CLASS_DELETED, "GymClass", id, null, null);
         
         log.info("Soft deleted gym class with ID: {}", id);
     }
@@ -138,6 +150,7 @@ public class GymClassService {
     /**
      * Get gym classes by category
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<GymClassDto> getGymClassesByCategory(ClassCategory category) {
         log.debug("Fetching gym classes by category: {}", category);
@@ -149,6 +162,7 @@ public class GymClassService {
     /**
      * Get gym classes by difficulty level
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<GymClassDto> getGymClassesByDifficulty(ClassDifficulty difficulty) {
         log.debug("Fetching gym classes by difficulty: {}", difficulty);
@@ -174,7 +188,8 @@ public class GymClassService {
     @Transactional(readOnly = true)
     public List<GymClassDto> searchGymClassesByName(String name) {
         log.debug("Searching gym classes by name: {}", name);
-        return gymClassRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(name).stream()
+        String term = SearchTerms.normalize(name);
+        return gymClassRepository.searchActiveByName(term, SearchTerms.containsPattern(term)).stream()
                 .map(dtoMapper::mapToGymClassDto)
                 .collect(Collectors.toList());
     }
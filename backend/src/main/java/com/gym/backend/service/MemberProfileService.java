@@ -7,6 +7,7 @@ import com.gym.backend.entity.User;
 import com.gym.backend.exception.ResourceNotFoundException;
 import com.gym.backend.repository.MemberProfileRepository;
 import com.gym.backend.repository.UserRepository;
+import com.gym.backend.service.lookup.MemberLookupService;
 import com.gym.backend.util.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ public class MemberProfileService {
     private final MemberProfileRepository memberProfileRepository;
     private final UserRepository userRepository;
     private final DtoMapper dtoMapper;
+    private final MemberLookupService memberLookupService;
 
     /**
      * Get member profile by user ID
@@ -50,6 +52,17 @@ public class MemberProfileService {
         return dtoMapper.mapToMemberProfileDto(memberProfile);
     }
 
+    /**
+     * Get member with user details by member profile ID
+     */
+    @Transactional(readOnly = true)
+    public MemberDto getMemberById(Long id) {
+        log.debug("Fetching member with ID: {}", id);
+        MemberProfile memberProfile = memberProfileRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Member profile not found with ID: " + id));
+        return dtoMapper.mapToMemberDto(memberProfile);
+    }
+
     /**
      * Update member profile
      */
@@ -77,6 +90,7 @@ public class MemberProfileService {
         user.setPhoneNumber(memberDto.getUser().getPhoneNumber());
         user.setDateOfBirth(memberDto.getUser().getDateOfBirth());
         userRepository.save(user);
+        memberLookupService.upsertAfterCommit(user, updatedProfile.getId());
 
         log.info("Updated member profile with ID: {}", id);
         return dtoMapper.mapToMemberDto(updatedProfile);
@@ -96,6 +110,7 @@ public class MemberProfileService {
         memberProfile.setUser(user);
 
         MemberProfile savedProfile = memberProfileRepository.save(memberProfile);
+        memberLookupService.upsertAfterCommit(user, savedProfile.getId());
         log.info("Created member profile with ID: {}", savedProfile.getId());
 
         return dtoMapper.mapToMemberProfileDto(savedProfile);
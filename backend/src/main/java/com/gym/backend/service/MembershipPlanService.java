@@ -1,10 +1,14 @@
 package com.gym.backend.service;
 
+import com.gym.backend.coalescing.Coalesced;
+import com.gym.backend.datasource.ReportingWorkload;
 import com.gym.backend.dto.MembershipPlanDto;
 import com.gym.backend.entity.MembershipPlan;
 import com.gym.backend.entity.enums.BillingCycle;
 import com.gym.backend.exception.ResourceNotFoundException;
 import com.gym.backend.repository.MembershipPlanRepository;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
 import com.gym.backend.util.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +29,7 @@ public class MembershipPlanService {
 
     private final MembershipPlanRepository membershipPlanRepository;
     private final DtoMapper dtoMapper;
+    private final AuditLogger auditLogger;
 
     /**
      * Create a new membership plan
@@ -39,7 +44,9 @@ public class MembershipPlanService {
         MembershipPlan savedPlan = membershipPlanRepository.save(plan);
         log.info("Created membership plan with ID: {}", savedPlan.getId());
 
-        return dtoMapper.mapToMembershipPlanDto(savedPlan);
+        MembershipPlanDto created = dtoMapper.mapToMembershipPlanDto(savedPlan);
+        auditLogger.record(AuditAction.MEMBERSHIP_PLAN_CREATED, "MembershipPlan", created.getId(), null, created);
+        return created;
     }
 
     /**
@@ -51,6 +58,7 @@ public class MembershipPlanService {
 
         MembershipPlan existingPlan = membershipPlanRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Membership plan not found with ID: " + id));
+        MembershipPlanDto before = dtoMapper.mapToMembershipPlanDto(existingPlan);
 
         existingPlan.setName(planDto.getName());
         existingPlan.setDescription(planDto.getDescription());
@@ -70,7 +78,9 @@ public class MembershipPlanService {
         MembershipPlan updatedPlan = membershipPlanRepository.save(existingPlan);
         log.info("Updated membership plan with ID: {}", updatedPlan.getId());
 
-        return dtoMapper.mapToMembershipPlanDto(updatedPlan);
+        MembershipPlanDto updated = dtoMapper.mapToMembershipPlanDto(updatedPlan);
+        auditLogger.record(AuditAction.MEMBERSHIP_PLAN_UPDATED, "MembershipPlan", id, before, updated);
+        return updated;
     }
 
     /**
@@ -85,6 +95,7 @@ public class MembershipPlanService {
 
         plan.setActive(false);
         membershipPlanRepository.save(plan);
+        auditLogger.record(AuditAction.MEMBERSHIP_PLAN_DELETED, "MembershipPlan", id, null, null);
 
         log.info("Soft deleted membership plan with ID: {}", id);
     }
@@ -92,6 +103,7 @@ public class MembershipPlanService {
     /**
      * Get all membership plans
      */
+    @ReportingWorkload
     @Transactional(readOnly = true)
     public List<MembershipPlanDto> getAllMembershipPlans() {
         log.debug("Fetching all membership plans");
@@ -103,6 +115,7 @@ public class MembershipPlanService {
     /**
      * Get active membership plans
      */
+    @Coalesced(ttlMillis = 1000)
     @Transactional(readOnly = true)
     public List<MembershipPlanDto> getActiveMembershipPlans() {
         log.debug("Fetching active membership plans");
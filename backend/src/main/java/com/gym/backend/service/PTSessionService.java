@@ -1,6 +1,8 @@
 package com.gym.backend.service;
 
+import com.gym.backend.dto.CursorPage;
 import com.gym.backend.dto.PTSessionDto;
+import com.gym.backend.dto.PTSessionSummaryDto;
 import com.gym.backend.entity.PTSession;
 import com.gym.backend.entity.MemberProfile;
 import com.gym.backend.entity.TrainerProfile;
@@ -12,6 +14,8 @@ import com.gym.backend.repository.PTSessionRepository;
 import com.gym.backend.repository.MemberProfileRepository;
 import com.gym.backend.repository.TrainerProfileRepository;
 import com.gym.backend.util.DtoMapper;
+import com.gym.backend.util.KeysetCursor;
+import com.gym.backend.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -92,6 +96,7 @@ public class PTSessionService {
     /**
      * Update PT session status
      */
+    @RetryOnConflict
     @Transactional
     public PTSessionDto updateSessionStatus(Long sessionId, SessionStatus status, String notes) {
         log.info("Updating PT session {} status to {}", sessionId, status);
@@ -127,6 +132,7 @@ public class PTSessionService {
     /**
      * Add workout notes to a session
      */
+    @RetryOnConflict
     @Transactional
     public PTSessionDto addWorkoutNotes(Long sessionId, String notes, String clientFeedback, BigDecimal rating) {
         log.info("Adding workout notes to PT session {}", sessionId);
@@ -154,14 +160,16 @@ public class PTSessionService {
     }
 
     /**
-     * Get PT sessions by member ID
+     * Get a page of PT sessions by member ID, newest first
      */
     @Transactional(readOnly = true)
-    public List<PTSessionDto> getSessionsByMember(Long memberId) {
+    public CursorPage<PTSessionSummaryDto> getSessionsByMember(Long memberId, String cursor, Integer size) {
         log.debug("Fetching PT sessions for member ID: {}", memberId);
-        return ptSessionRepository.findByMemberIdOrderBySessionDateDesc(memberId).stream()
-                .map(dtoMapper::mapToPTSessionDto)
-                .collect(Collectors.toList());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<PTSessionSummaryDto> rows = ptSessionRepository.findSummaryPageByMemberId(
+                memberId, position.getSortKey(), position.getId(), CursorPage.fetchLimit(pageSize));
+        return CursorPage.of(rows, pageSize, PTSessionSummaryDto::getSessionDate, PTSessionSummaryDto::getId);
     }
 
     /**
@@ -179,11 +187,9 @@ public class PTSessionService {
      * Get upcoming sessions for member
      */
     @Transactional(readOnly = true)
-    public List<PTSessionDto> getUpcomingSessionsForMember(Long memberId) {
+    public List<PTSessionSummaryDto> getUpcomingSessionsForMember(Long memberId) {
         log.debug("Fetching upcoming PT sessions for member ID: {}", memberId);
-        return ptSessionRepository.findUpcomingSessionsForMember(memberId, LocalDateTime.now()).stream()
-                .map(dtoMapper::mapToPTSessionDto)
-                .collect(Collectors.toList());
+        return ptSessionRepository.findUpcomingSummariesForMember(memberId, LocalDateTime.now());
     }
 
     /**
@@ -211,6 +217,7 @@ public class PTSessionService {
     /**
      * Cancel a PT session
      */
+    @RetryOnConflict
     @Transactional
     public PTSessionDto cancelPTSession(Long sessionId, String reason) {
         log.info("Cancelling PT session {}", sessionId);
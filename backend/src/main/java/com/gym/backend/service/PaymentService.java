@@ -1,20 +1,29 @@
 package com.gym.backend.service;
 
+import com.gym.backend.dto.CursorPage;
 import com.gym.backend.dto.PaymentDto;
+import com.gym.backend.dto.PaymentSummaryDto;
 import com.gym.backend.entity.Payment;
 import com.gym.backend.entity.enums.PaymentStatus;
 import com.gym.backend.entity.enums.PaymentMethod;
 import com.gym.backend.exception.ResourceNotFoundException;
 import com.gym.backend.repository.PaymentRepository;
 import com.gym.backend.repository.MemberProfileRepository;
+import com.gym.backend.repository.SubscriptionRepository;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
+import com.gym.backend.service.revenue.RevenueLedger;
 import com.gym.backend.util.DtoMapper;
+import com.gym.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -27,8 +36,11 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final MemberProfileRepository memberProfileRepository;
+    private final SubscriptionRepository subscriptionRepository;
     private final DtoMapper dtoMapper;
+    private final AuditLogger auditLogger;
     private final PaymentGatewayService paymentGatewayService;
+    private final RevenueLedger revenueLedger;
 
     /**
      * Process a payment
@@ -45,6 +57,10 @@ public class PaymentService {
         Payment payment = dtoMapper.mapToPayment(paymentDto);
         payment.setPaymentDate(LocalDateTime.now());
         payment.setMember(member);
+        if (paymentDto.getSubscriptionId() != null) {
+            payment.setSubscription(subscriptionRepository.findById(paymentDto.getSubscriptionId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Subscription not found with ID: " + paymentDto.getSubscriptionId())));
+        }
         payment.setStatus(PaymentStatus.PROCESSING);
 
         // Process payment through gateway
@@ -74,8 +90,13 @@ public class PaymentService {
 
         Payment savedPayment = paymentRepository.save(payment);
         log.info("Processed payment with ID: {} and status: {}", savedPayment.getId(), savedPayment.getStatus());
+        if (savedPayment.getStatus() == PaymentStatus.COMPLETED) {
+            revenueLedger.recordPayment(savedPayment);
+        }
 
-        return dtoMapper.mapToPaymentDto(savedPayment);
+        PaymentDto processed = dtoMapper.mapToPaymentDto(savedPayment);
+        auditLogger.record(AuditAction.PAYMENT_PROCESSED, "Payment", processed.getId(), null, processed);
+        return processed;
     }
 
     /**
@@ -96,6 +117,8 @@ public class PaymentService {
             throw new IllegalArgumentException("Refund amount cannot exceed original payment amount");
         }
 
+        PaymentStatus previousStatus = payment.getStatus();
+
         // Process refund through gateway
         try {
             var gatewayResult = paymentGatewayService.refundPayment(
@@ -116,18 +139,27 @@ public class PaymentService {
         }
 
         Payment updatedPayment = paymentRepository.save(payment);
-        return dtoMapper.mapToPaymentDto(updatedPayment);
+        if (updatedPayment.getStatus() != previousStatus) {
+            revenueLedger.recordRefund(updatedPayment, refundAmount, LocalDate.now());
+        }
+        PaymentDto refunded = dtoMapper.mapToPaymentDto(updatedPayment);
+        auditLogger.record(AuditAction.PAYMENT_REFUNDED, "Payment", paymentId,
+                Map.of("status", previousStatus), Map.of("status", refunded.getStatus(), "refundAmount", refundAmount,
+                        "reason", reason != null ? reason : ""));
+        return refunded;
     }
 
     /**
-     * Get payments by member ID
+     * Get a page of payments by member ID, newest first
      */
     @Transactional(readOnly = true)
-    public List<PaymentDto> getPaymentsByMember(Long memberId) {
+    public CursorPage<PaymentSummaryDto> getPaymentsByMember(Long memberId, String cursor, Integer size) {
         log.debug("Fetching payments for member ID: {}", memberId);
-        return paymentRepository.findByMemberIdOrderByPaymentDateDesc(memberId).stream()
-                .map(dtoMapper::mapToPaymentDto)
-                .collect(Collectors.toList());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<PaymentSummaryDto> rows = paymentRepository.findSummaryPageByMemberId(
+                memberId, position.getSortKey(), position.getId(), CursorPage.fetchLimit(pageSize));
+        return CursorPage.of(rows, pageSize, PaymentSummaryDto::getPaymentDate, PaymentSummaryDto::getId);
     }
 
     /**
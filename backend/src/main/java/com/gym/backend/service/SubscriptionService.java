@@ -10,7 +10,10 @@ import com.gym.backend.exception.BusinessRuleException;
 import com.gym.backend.repository.SubscriptionRepository;
 import com.gym.backend.repository.MembershipPlanRepository;
 import com.gym.backend.repository.MemberProfileRepository;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
 import com.gym.backend.util.DtoMapper;
+import com.gym.backend.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +36,7 @@ public class SubscriptionService {
     private final MembershipPlanRepository membershipPlanRepository;
     private final MemberProfileRepository memberProfileRepository;
     private final DtoMapper dtoMapper;
+    private final AuditLogger auditLogger;
 
     /**
      * Create a new subscription
@@ -72,7 +77,7 @@ public class SubscriptionService {
 
         // Calculate next billing date
         if (subscriptionDto.getBillingDay() != null) {
-            subscription.setNextBillingDate(calculateNextBillingDate(subscriptionDto));
+            subscription.setNextBillingDate(calculateNextBillingDate(plan.getBillingCycle(), subscriptionDto.getStartDate()));
         }
 
         Subscription savedSubscription = subscriptionRepository.save(subscription);
@@ -84,6 +89,7 @@ public class SubscriptionService {
     /**
      * Update subscription status
      */
+    @RetryOnConflict
     @Transactional
     public SubscriptionDto updateSubscriptionStatus(Long subscriptionId, SubscriptionStatus status, String notes) {
         log.info("Updating subscription status to {} for subscription ID: {}", status, subscriptionId);
@@ -91,6 +97,7 @@ public class SubscriptionService {
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Subscription not found with ID: " + subscriptionId));
 
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStatus(status);
         subscription.setNotes(notes);
 
@@ -117,12 +124,16 @@ public class SubscriptionService {
         Subscription updatedSubscription = subscriptionRepository.save(subscription);
         log.info("Updated subscription status to {}", status);
 
-        return dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        SubscriptionDto updated = dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        auditLogger.record(AuditAction.SUBSCRIPTION_STATUS_CHANGED, "Subscription", subscriptionId,
+                Map.of("status", previousStatus), updated);
+        return updated;
     }
 
     /**
      * Freeze subscription
      */
+    @RetryOnConflict
     @Transactional
     public SubscriptionDto freezeSubscription(Long subscriptionId, int days) {
         log.info("Freezing subscription ID: {} for {} days", subscriptionId, days);
@@ -149,12 +160,16 @@ public class SubscriptionService {
         Subscription updatedSubscription = subscriptionRepository.save(subscription);
         log.info("Frozen subscription for {} days", days);
 
-        return dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        SubscriptionDto frozen = dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        auditLogger.record(AuditAction.SUBSCRIPTION_FROZEN, "Subscription", subscriptionId,
+                Map.of("status", SubscriptionStatus.ACTIVE), frozen);
+        return frozen;
     }
 
     /**
      * Process subscription renewal
      */
+    @RetryOnConflict
     @Transactional
     public SubscriptionDto processRenewal(Long subscriptionId) {
         log.info("Processing renewal for subscription ID: {}", subscriptionId);
@@ -190,7 +205,9 @@ public class SubscriptionService {
         Subscription updatedSubscription = subscriptionRepository.save(subscription);
         log.info("Processed renewal for subscription ID: {}", subscriptionId);
 
-        return dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        SubscriptionDto renewed = dtoMapper.mapToSubscriptionDto(updatedSubscription);
+        auditLogger.record(AuditAction.SUBSCRIPTION_RENEWED, "Subscription", subscriptionId, null, renewed);
+        return renewed;
     }
 
     /**
@@ -251,17 +268,6 @@ public class SubscriptionService {
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Calculate next billing date
-     */
-    private LocalDateTime calculateNextBillingDate(SubscriptionDto subscriptionDto) {
-        LocalDateTime nextBilling = subscriptionDto.getStartDate();
-        MembershipPlan plan = membershipPlanRepository.findById(subscriptionDto.getMembershipPlanId())
-                .orElseThrow(() -> new ResourceNotFoundException("Membership plan not found"));
-
-        return calculateNextBillingDate(plan.getBillingCycle(), nextBilling);
-    }
-
     /**
      * Calculate next billing date based on billing cycle
      */
@@ -0,0 +1,21 @@
+package com.gym.backend.service.audit;
+
+/**
+ * Audited state changes, stored in {@code audit_logs.action}
+ */
+public enum AuditAction {
+    BOOKING_CREATED,
+    BOOKING_CANCELLED,
+    PAYMENT_PROCESSED,
+    PAYMENT_REFUNDED,
+    SUBSCRIPTION_STATUS_CHANGED,
+    SUBSCRIPTION_FROZEN,
+    SUBSCRIPTION_RENEWED,
+    GYM_CLASS_CREATED,
+    GYM_CLASS_UPDATED,
+    GYM_CLASS_DELETED,
+    MEMBERSHIP_PLAN_CREATED,
+    MEMBERSHIP_PLAN_UPDATED,
+    MEMBERSHIP_PLAN_DELETED,
+    MEMBERS_IMPORTED
+}
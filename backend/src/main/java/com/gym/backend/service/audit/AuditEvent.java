@@ -0,0 +1,26 @@
+package com.gym.backend.service.audit;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit record captured on the request thread. Old and new values are
+ * already serialized to JSON so later changes to the entities cannot leak in.
+ */
+@Value
+@Builder
+@Jacksonized
+public class AuditEvent {
+    Long userId;
+    String action;
+    String entityType;
+    Long entityId;
+    String oldValues;
+    String newValues;
+    String ipAddress;
+    String userAgent;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,242 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.backend.config.AuditProperties;
+import com.gym.backend.datasource.WorkloadContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer for {@code audit_logs}. Events are queued in a bounded in-memory ring
+ * buffer and drained by a single thread into multi-row INSERT statements on the reporting pool.
+ * When the buffer is full, or the database is unavailable, events go to a local spill file
+ * instead of blocking the caller, and are replayed once the buffer is idle.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs " +
+            "(user_id, action, entity_type, entity_id, old_values, new_values, ip_address, user_agent, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?::jsonb, ?::jsonb, ?::inet, ?, ?)";
+
+    /** Postgres allows at most 32767 bind parameters per statement; each row binds nine */
+    private static final int MAX_ROWS_PER_STATEMENT = 3_000;
+
+    private static final Duration SPILL_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final AuditProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final AuditSpillFile spillFile;
+    private final int batchSize;
+
+    private final Counter writtenEvents;
+    private final Counter spilledEvents;
+    private final Counter droppedEvents;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long nextReplayNanos = System.nanoTime();
+
+    public AuditLogWriter(AuditProperties properties,
+                          JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        this.spillFile = new AuditSpillFile(Path.of(properties.getSpillDirectory()),
+                properties.getMaxSpillSize().toBytes(), objectMapper);
+        this.batchSize = Math.min(Math.max(1, properties.getBatchSize()), MAX_ROWS_PER_STATEMENT);
+
+        this.writtenEvents = Counter.builder("audit.events.written")
+                .description("Audit events inserted into audit_logs")
+                .register(meterRegistry);
+        this.spilledEvents = Counter.builder("audit.events.spilled")
+                .description("Audit events written to the local spill file")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("audit.events.dropped")
+                .description("Audit events lost because the spill file was full")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.batch.duration")
+                .description("Duration of one multi-row audit insert")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", buffer, BlockingQueue::size)
+                .description("Audit events waiting in memory")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.lag", this, AuditLogWriter::lagSeconds)
+                .description("Age of the oldest audit event waiting in memory")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("audit.spill.size", spillFile, AuditSpillFile::sizeInBytes)
+                .description("Size of the audit spill file")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("audit.dead.letter.size", spillFile, AuditSpillFile::deadLetterSizeInBytes)
+                .description("Size of the file holding audit events the database rejected")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an event without blocking; spills to disk when the buffer is full
+     */
+    public void submit(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            spill(Collections.singletonList(event));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(properties.getFlushInterval().multipliedBy(4).toMillis() + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever is still queued goes to disk and is replayed on the next start
+        List<AuditEvent> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the web server, so in-flight requests can still audit
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        String previous = WorkloadContext.enterReporting("AuditLogWriter");
+        try {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            while (running) {
+                AuditEvent first = buffer.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                try {
+                    insertBatch(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Audit batch insert failed, spilling {} events: {}", batch.size(), e.getMessage());
+                    spill(batch);
+                    Thread.sleep(properties.getFlushInterval().toMillis());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private void replaySpill() {
+        if (System.nanoTime() - nextReplayNanos < 0) {
+            return;
+        }
+        // Constraint and data errors will fail on every retry, so those rows are dead-lettered
+        if (!spillFile.replay(batchSize, this::insertBatch, e -> e instanceof DataIntegrityViolationException)) {
+            nextReplayNanos = System.nanoTime() + SPILL_RETRY_BACKOFF.toNanos();
+        }
+    }
+
+    void insertBatch(List<AuditEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+        }
+
+        batchTimer.record(() -> jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (AuditEvent event : events) {
+                if (event.getUserId() != null) {
+                    statement.setLong(index++, event.getUserId());
+                } else {
+                    statement.setNull(index++, Types.BIGINT);
+                }
+                statement.setString(index++, event.getAction());
+                statement.setString(index++, event.getEntityType());
+                if (event.getEntityId() != null) {
+                    statement.setLong(index++, event.getEntityId());
+                } else {
+                    statement.setNull(index++, Types.BIGINT);
+                }
+                statement.setString(index++, event.getOldValues());
+                statement.setString(index++, event.getNewValues());
+                statement.setString(index++, event.getIpAddress());
+                statement.setString(index++, event.getUserAgent());
+                statement.setTimestamp(index++, Timestamp.valueOf(event.getCreatedAt()));
+            }
+            return statement;
+        }));
+        writtenEvents.increment(events.size());
+    }
+
+    private void spill(List<AuditEvent> events) {
+        int spilled = spillFile.append(events);
+        spilledEvents.increment(spilled);
+        if (spilled < events.size()) {
+            droppedEvents.increment(events.size() - spilled);
+            log.error("Audit spill file is full, dropped {} events", events.size() - spilled);
+        }
+    }
+
+    private double lagSeconds() {
+        AuditEvent oldest = buffer.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.backend.config.AuditProperties;
+import com.gym.backend.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+
+/**
+ * Service-layer entry point for audit records. Captures the acting user, client address
+ * and a JSON snapshot of the values on the calling thread, then hands the event to
+ * {@link AuditLogWriter} once the surrounding transaction commits. Never touches the database.
+ */
+@Slf4j
+@Service
+public class AuditLogger {
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private final AuditLogWriter writer;
+    private final ObjectMapper objectMapper;
+    private final AuditProperties properties;
+
+    public AuditLogger(AuditLogWriter writer, ObjectMapper objectMapper, AuditProperties properties) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Record a change to an entity. Old and new values may be any JSON-serializable object or null.
+     */
+    public void record(AuditAction action, String entityType, Long entityId, Object oldValues, Object newValues) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        AuditEvent.AuditEventBuilder event = AuditEvent.builder()
+                .userId(currentUserId())
+                .action(action.name())
+                .entityType(entityType)
+                .entityId(entityId)
+                .oldValues(toJson(oldValues))
+                .newValues(toJson(newValues))
+                .createdAt(LocalDateTime.now());
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+            event.ipAddress(request.getRemoteAddr())
+                    .userAgent(userAgent != null && userAgent.length() > MAX_USER_AGENT_LENGTH
+                            ? userAgent.substring(0, MAX_USER_AGENT_LENGTH) : userAgent);
+        }
+
+        AuditEvent captured = event.build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only committed changes are audited
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.submit(captured);
+                }
+            });
+        } else {
+            writer.submit(captured);
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private String toJson(Object values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit values of type {}", values.getClass().getSimpleName(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Newline-delimited JSON overflow file for audit events that did not fit in memory
+ * or could not be written to the database. Appends come from request threads; replay
+ * happens on the writer thread from a rotated copy, so the two never contend for long.
+ *
+ * Replay streams the rotated copy from a byte offset that is saved after every written
+ * batch, so a failed attempt neither loads the rest of the file nor rewrites it; the next
+ * attempt resumes at the failed batch. Rows the database rejects permanently, and lines
+ * that no longer parse, are moved to a dead-letter file so they cannot block the rest.
+ */
+@Slf4j
+public class AuditSpillFile {
+
+    private final Path activeFile;
+    private final Path replayFile;
+    private final Path offsetFile;
+    private final Path deadLetterFile;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+
+    public AuditSpillFile(Path directory, long maxBytes, ObjectMapper objectMapper) {
+        this.activeFile = directory.resolve("audit-spill.ndjson");
+        this.replayFile = directory.resolve("audit-spill.replay.ndjson");
+        this.offsetFile = directory.resolve("audit-spill.replay.offset");
+        this.deadLetterFile = directory.resolve("audit-spill.dead-letter.ndjson");
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit spill directory " + directory, e);
+        }
+    }
+
+    /**
+     * Append events; returns how many were written before the size limit was reached
+     */
+    public synchronized int append(Collection<AuditEvent> events) {
+        int written = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(activeFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            long size = Files.size(activeFile);
+            for (AuditEvent event : events) {
+                byte[] line = objectMapper.writeValueAsBytes(event);
+                size += line.length + 1;
+                if (size > maxBytes) {
+                    break;
+                }
+                out.write(line);
+                out.write('\n');
+                written++;
+            }
+        } catch (IOException e) {
+            log.error("Failed to spill audit events to {}", activeFile, e);
+        }
+        return written;
+    }
+
+    public synchronized long sizeInBytes() {
+        return sizeOf(activeFile);
+    }
+
+    public long deadLetterSizeInBytes() {
+        return sizeOf(deadLetterFile);
+    }
+
+    /**
+     * Replay spilled events in batches from the saved offset. Stops at the first batch that
+     * fails with a transient error and keeps it for the next replay. When a batch fails
+     * permanently its rows are retried one by one and only the rejected rows are dead-lettered.
+     * Returns true when the whole file was replayed.
+     */
+    public boolean replay(int batchSize, Consumer<List<AuditEvent>> batchWriter,
+                          Predicate<RuntimeException> permanentFailure) {
+        synchronized (this) {
+            if (!Files.exists(replayFile)) {
+                try {
+                    if (!Files.exists(activeFile)) {
+                        return true;
+                    }
+                    Files.move(activeFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                    Files.deleteIfExists(offsetFile);
+                } catch (IOException e) {
+                    log.error("Failed to rotate audit spill file {}", activeFile, e);
+                    return false;
+                }
+            }
+        }
+
+        long position = readOffset();
+        List<SpilledLine> batch = new ArrayList<>(batchSize);
+        try (FileChannel channel = FileChannel.open(replayFile, StandardOpenOption.READ)) {
+            channel.position(position);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            do {
+                b = in.read();
+                if (b != -1 && b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                position += line.size() + (b == '\n' ? 1 : 0);
+                String text = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if (!text.isBlank()) {
+                    batch.add(new SpilledLine(parse(text), text, position));
+                }
+                if (!batch.isEmpty() && (batch.size() == batchSize || b == -1)) {
+                    if (!flush(batch, batchWriter, permanentFailure)) {
+                        return false;
+                    }
+                    batch.clear();
+                }
+            } while (b != -1);
+        } catch (IOException e) {
+            log.error("Failed to replay audit spill file {}", replayFile, e);
+            return false;
+        }
+
+        try {
+            Files.deleteIfExists(replayFile);
+            Files.deleteIfExists(offsetFile);
+        } catch (IOException e) {
+            log.error("Failed to delete replayed audit spill file {}", replayFile, e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Write one batch and advance the offset past it. Returns false when replay must stop;
+     * the offset then points at the first line not yet handled.
+     */
+    private boolean flush(List<SpilledLine> batch, Consumer<List<AuditEvent>> batchWriter,
+                          Predicate<RuntimeException> permanentFailure) throws IOException {
+        List<AuditEvent> events = batch.stream().map(SpilledLine::getEvent).filter(event -> event != null).toList();
+        try {
+            if (!events.isEmpty()) {
+                batchWriter.accept(events);
+            }
+            batch.stream().filter(line -> line.getEvent() == null).forEach(line -> deadLetter(line.getText()));
+            saveOffset(batch.get(batch.size() - 1).getEnd());
+            return true;
+        } catch (RuntimeException e) {
+            if (!permanentFailure.test(e)) {
+                log.warn("Audit spill replay interrupted: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        // A row in the batch is rejected for good; find it so the others still get written
+        for (SpilledLine line : batch) {
+            if (line.getEvent() == null) {
+                deadLetter(line.getText());
+            } else {
+                try {
+                    batchWriter.accept(List.of(line.getEvent()));
+                } catch (RuntimeException e) {
+                    if (!permanentFailure.test(e)) {
+                        log.warn("Audit spill replay interrupted: {}", e.getMessage());
+                        return false;
+                    }
+                    log.error("Dead-lettering audit event rejected by the database: {}", e.getMessage());
+                    deadLetter(line.getText());
+                }
+            }
+            saveOffset(line.getEnd());
+        }
+        return true;
+    }
+
+    private AuditEvent parse(String text) {
+        try {
+            return objectMapper.readValue(text, AuditEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Dead-lettering unreadable audit spill line: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void deadLetter(String text) {
+        try {
+            Files.writeString(deadLetterFile, text + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write audit dead-letter file " + deadLetterFile, e);
+        }
+    }
+
+    private long readOffset() {
+        try {
+            return Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            // Starting over can only duplicate events, never lose them
+            log.warn("Unreadable audit replay offset {}, replaying from the start", offsetFile);
+            return 0;
+        }
+    }
+
+    private void saveOffset(long offset) throws IOException {
+        Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(offset));
+        Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * One line of the replay file; the event is null when the line does not parse
+     */
+    @Value
+    private static class SpilledLine {
+        AuditEvent event;
+        String text;
+        long end;
+    }
+}
@@ -0,0 +1,238 @@
+package com.gym.backend.service.cube;
+
+import com.gym.backend.config.AnalyticsCubeProperties;
+import com.gym.backend.config.AnalyticsProperties;
+import com.gym.backend.datasource.ReportingWorkload;
+import com.gym.backend.datasource.WorkloadContext;
+import com.gym.backend.dto.analytics.CubeSliceDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process columnar cube over attendance and class bookings for interactive slicing by
+ * hour of week, class category, difficulty, trainer, membership plan and status.
+ *
+ * Rows are loaded from a server-side cursor into primitive column chunks with
+ * dictionary-encoded dimensions (see {@link CubeBuilder}); queries scan an immutable
+ * {@link CubeSnapshot} in parallel and never touch Postgres. A scheduled refresh re-reads only
+ * rows whose updated_at is past the watermark and upserts them, copying just the chunks it
+ * changes. A periodic full reload picks up deletions and renamed dimension values. Refreshes
+ * run on the service's own thread, so a long full reload never holds up other scheduled tasks.
+ *
+ * Each row costs 48 bytes of column data plus about 32 bytes in the loader's row index.
+ */
+@Slf4j
+@Service
+@ReportingWorkload
+public class AnalyticsCubeService {
+
+    private static final int ATTENDANCE_SOURCE = 0;
+    private static final int BOOKING_SOURCE = 1;
+
+    // The member's plan is the one of the latest subscription started by the event time
+    private static final String PLAN_JOIN =
+            " LEFT JOIN LATERAL (SELECT mp.name FROM subscriptions s" +
+            " JOIN membership_plans mp ON mp.id = s.membership_plan_id" +
+            " WHERE s.member_id = %1$s.member_id AND s.start_date <= %2$s" +
+            " ORDER BY s.start_date DESC LIMIT 1) plan ON true";
+
+    private static final String ATTENDANCE_SQL =
+            "SELECT a.id, a.check_in_time AS event_time, gc.category, gc.difficulty_level AS difficulty, " +
+            "tu.first_name || ' ' || tu.last_name AS trainer, plan.name AS plan, a.visit_type AS status, " +
+            "1 AS attended, CASE WHEN a.check_out_time IS NOT NULL THEN " +
+            "LEAST(GREATEST(EXTRACT(EPOCH FROM a.check_out_time - a.check_in_time), 0)::bigint / 60, ?) ELSE 0 END AS minutes " +
+            "FROM attendance a" +
+            " LEFT JOIN class_bookings cb ON cb.id = a.class_booking_id" +
+            " LEFT JOIN class_schedules cs ON cs.id = cb.class_schedule_id" +
+            " LEFT JOIN gym_classes gc ON gc.id = cs.gym_class_id" +
+            " LEFT JOIN pt_sessions pt ON pt.id = a.pt_session_id" +
+            " LEFT JOIN trainer_profiles tp ON tp.id = COALESCE(gc.trainer_id, pt.trainer_id)" +
+            " LEFT JOIN users tu ON tu.id = tp.user_id" +
+            String.format(PLAN_JOIN, "a", "a.check_in_time");
+
+    private static final String BOOKING_SQL =
+            "SELECT cb.id, cs.start_time AS event_time, gc.category, gc.difficulty_level AS difficulty, " +
+            "tu.first_name || ' ' || tu.last_name AS trainer, plan.name AS plan, cb.status, " +
+            "CASE WHEN cb.attended THEN 1 ELSE 0 END AS attended, 0 AS minutes " +
+            "FROM class_bookings cb" +
+            " JOIN class_schedules cs ON cs.id = cb.class_schedule_id" +
+            " JOIN gym_classes gc ON gc.id = cs.gym_class_id" +
+            " LEFT JOIN trainer_profiles tp ON tp.id = gc.trainer_id" +
+            " LEFT JOIN users tu ON tu.id = tp.user_id" +
+            String.format(PLAN_JOIN, "cb", "cs.start_time");
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final AnalyticsCubeProperties properties;
+    private final AnalyticsProperties analyticsProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool scanPool;
+    private final ThreadPoolTaskScheduler refreshScheduler;
+    private final Timer queryTimer;
+    private final Timer fullRefreshTimer;
+    private final Timer incrementalRefreshTimer;
+
+    private final Object writeLock = new Object();
+    private volatile CubeSnapshot snapshot = CubeSnapshot.EMPTY;
+
+    // Loader state, guarded by writeLock
+    private CubeBuilder builder;
+    private LocalDateTime watermark;
+    private LocalDateTime lastFullLoad;
+
+    public AnalyticsCubeService(DataSource dataSource,
+                                AnalyticsCubeProperties properties,
+                                AnalyticsProperties analyticsProperties,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.properties = properties;
+        this.analyticsProperties = analyticsProperties;
+        // The cursor only streams inside a transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scanPool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+        this.refreshScheduler = new ThreadPoolTaskScheduler();
+        refreshScheduler.setThreadNamePrefix("analytics-cube-");
+        refreshScheduler.setPoolSize(1);
+        refreshScheduler.initialize();
+        this.queryTimer = Timer.builder("analytics.cube.query.duration")
+                .description("Duration of group-by scans over the analytics cube")
+                .register(meterRegistry);
+        this.fullRefreshTimer = refreshTimer(meterRegistry, "full");
+        this.incrementalRefreshTimer = refreshTimer(meterRegistry, "incremental");
+        Gauge.builder("analytics.cube.rows", this, service -> service.snapshot.rows)
+                .description("Attendance and booking rows held in the analytics cube")
+                .register(meterRegistry);
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("analytics.cube.refresh.duration")
+                .description("Duration of analytics cube loads")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshScheduler.shutdown();
+        scanPool.shutdownNow();
+    }
+
+    /**
+     * Group and filter the current snapshot
+     */
+    public CubeSliceDto query(CubeQuery query) {
+        long started = System.nanoTime();
+        CubeSliceDto slice = CubeQueryEngine.execute(snapshot, query, scanPool, properties.getMaxGroups());
+        queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Cube query {} matched {} of {} rows in {} us", query, slice.getMatchedRows(),
+                slice.getScannedRows(), slice.getElapsedMicros());
+        return slice;
+    }
+
+    /**
+     * Start refreshing on the cube's own thread; the first run is the initial full load
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.isEnabled()) {
+            refreshScheduler.scheduleWithFixedDelay(this::refresh, Instant.now(), properties.getRefreshInterval());
+        }
+    }
+
+    /**
+     * An incremental refresh, or a full reload once it is due
+     */
+    public void refresh() {
+        String previous = WorkloadContext.enterReporting("AnalyticsCubeService.refresh");
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> refreshNow());
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private void refreshNow() {
+        synchronized (writeLock) {
+            LocalDateTime started = LocalDateTime.now();
+            LocalDateTime nextWatermark = started.minus(properties.getCommitLag());
+            boolean full = builder == null || lastFullLoad == null
+                    || !started.isBefore(lastFullLoad.plus(properties.getFullReloadInterval()));
+            long startedNanos = System.nanoTime();
+
+            CubeBuilder target = full ? new CubeBuilder(Math.max(snapshot.rows, 1_024)) : builder;
+            int before = target.rows();
+            long read = load(target, full ? null : watermark);
+            snapshot = target.snapshot(started);
+            builder = target;
+            watermark = nextWatermark;
+            if (full) {
+                lastFullLoad = started;
+            }
+
+            long elapsed = System.nanoTime() - startedNanos;
+            (full ? fullRefreshTimer : incrementalRefreshTimer).record(elapsed, TimeUnit.NANOSECONDS);
+            if (full) {
+                log.info("Analytics cube loaded {} rows in {} ms", snapshot.rows, elapsed / 1_000_000);
+            } else {
+                log.debug("Analytics cube refreshed: {} changed rows read, {} new", read, snapshot.rows - before);
+            }
+        }
+    }
+
+    private long load(CubeBuilder target, LocalDateTime since) {
+        long maxVisitMinutes = analyticsProperties.getMaxVisitLength().toMinutes();
+        return loadSource(target, ATTENDANCE_SQL, "a", ATTENDANCE_SOURCE, "ATTENDANCE", since, maxVisitMinutes)
+                + loadSource(target, BOOKING_SQL, "cb", BOOKING_SOURCE, "BOOKING", since);
+    }
+
+    private long loadSource(CubeBuilder target, String sql, String alias, int source, String sourceName,
+                            LocalDateTime since, Object... args) {
+        int[] codes = new int[CubeDimension.values().length];
+        int sourceCode = target.encode(CubeDimension.SOURCE, sourceName);
+        long[] read = new long[1];
+        RowCallbackHandler handler = rs -> {
+            long id = rs.getLong("id");
+            LocalDateTime eventTime = rs.getTimestamp("event_time").toLocalDateTime();
+            codes[CubeDimension.SOURCE.ordinal()] = sourceCode;
+            codes[CubeDimension.HOUR_OF_WEEK.ordinal()] = (eventTime.getDayOfWeek().getValue() - 1) * 24 + eventTime.getHour();
+            codes[CubeDimension.CATEGORY.ordinal()] = target.encode(CubeDimension.CATEGORY, rs.getString("category"));
+            codes[CubeDimension.DIFFICULTY.ordinal()] = target.encode(CubeDimension.DIFFICULTY, rs.getString("difficulty"));
+            codes[CubeDimension.TRAINER.ordinal()] = target.encode(CubeDimension.TRAINER, rs.getString("trainer"));
+            codes[CubeDimension.PLAN.ordinal()] = target.encode(CubeDimension.PLAN, rs.getString("plan"));
+            codes[CubeDimension.STATUS.ordinal()] = target.encode(CubeDimension.STATUS, rs.getString("status"));
+            target.upsert(id << 1 | source, id, codes, (int) eventTime.toLocalDate().toEpochDay(),
+                    rs.getInt("attended"), rs.getInt("minutes"));
+            read[0]++;
+        };
+
+        if (since == null) {
+            cursorJdbcTemplate.query(sql, handler, args);
+        } else {
+            Object[] withSince = Arrays.copyOf(args, args.length + 1);
+            withSince[args.length] = Timestamp.valueOf(since);
+            cursorJdbcTemplate.query(sql + " WHERE " + alias + ".updated_at > ?", handler, withSince);
+        }
+        return read[0];
+    }
+}
@@ -0,0 +1,80 @@
+package com.gym.backend.service.cube;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loader-side state of the cube: dictionaries, the row index and the chunk list. Rows are
+ * upserted by source record; chunks already published are copied on first write, so a
+ * refresh only copies the chunks it touches.
+ */
+final class CubeBuilder {
+
+    private final CubeDictionary[] dictionaries = new CubeDictionary[CubeDimension.values().length];
+    private final RowIndex index;
+    private final List<CubeChunk> chunks = new ArrayList<>();
+    private final Set<CubeChunk> writable = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int rows;
+
+    CubeBuilder(int expectedRows) {
+        for (CubeDimension dimension : CubeDimension.values()) {
+            dictionaries[dimension.ordinal()] = dimension == CubeDimension.HOUR_OF_WEEK
+                    ? CubeDictionary.hoursOfWeek() : new CubeDictionary();
+        }
+        index = new RowIndex(expectedRows);
+    }
+
+    int encode(CubeDimension dimension, String value) {
+        return dictionaries[dimension.ordinal()].encode(value);
+    }
+
+    /**
+     * Insert or overwrite the row of a source record
+     *
+     * @param key source record key, see {@link AnalyticsCubeService}
+     */
+    void upsert(long key, long id, int[] codes, int day, int attended, int minutes) {
+        int position = index.get(key);
+        if (position < 0) {
+            position = rows++;
+            index.put(key, position);
+        }
+        int chunkIndex = position >>> CubeChunk.SHIFT;
+        if (chunkIndex == chunks.size()) {
+            CubeChunk chunk = new CubeChunk();
+            chunks.add(chunk);
+            writable.add(chunk);
+        }
+        writableChunk(chunkIndex).set(position & CubeChunk.MASK, id, codes, day, attended, minutes);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * Publish the current state. Later upserts copy any chunk they change.
+     */
+    CubeSnapshot snapshot(LocalDateTime dataAsOf) {
+        writable.clear();
+        String[][] values = new String[dictionaries.length][];
+        for (int d = 0; d < dictionaries.length; d++) {
+            values[d] = dictionaries[d].snapshot();
+        }
+        return new CubeSnapshot(List.copyOf(chunks), values, rows, dataAsOf);
+    }
+
+    private CubeChunk writableChunk(int chunkIndex) {
+        CubeChunk chunk = chunks.get(chunkIndex);
+        if (!writable.contains(chunk)) {
+            chunk = chunk.copy();
+            chunks.set(chunkIndex, chunk);
+            writable.add(chunk);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gym.backend.service.cube;
+
+/**
+ * Up to {@link #CAPACITY} cube rows stored column by column in primitive arrays.
+ * A chunk is only written before it is published in a snapshot; the loader copies a
+ * published chunk before changing any of its rows.
+ */
+final class CubeChunk {
+
+    static final int SHIFT = 16;
+    static final int CAPACITY = 1 << SHIFT;
+    static final int MASK = CAPACITY - 1;
+
+    /** Source record IDs, for diagnostics; lookups go through {@link RowIndex} */
+    final long[] ids;
+
+    /** Dictionary codes by {@link CubeDimension#ordinal()}, then row */
+    final int[][] dims;
+
+    /** Event date as epoch day */
+    final int[] days;
+
+    /** 1 for attendance rows and attended bookings */
+    final int[] attended;
+
+    /** Completed visit length, capped; 0 for bookings and open visits */
+    final int[] minutes;
+
+    int size;
+
+    CubeChunk() {
+        ids = new long[CAPACITY];
+        dims = new int[CubeDimension.values().length][CAPACITY];
+        days = new int[CAPACITY];
+        attended = new int[CAPACITY];
+        minutes = new int[CAPACITY];
+    }
+
+    private CubeChunk(CubeChunk source) {
+        ids = source.ids.clone();
+        dims = new int[source.dims.length][];
+        for (int d = 0; d < dims.length; d++) {
+            dims[d] = source.dims[d].clone();
+        }
+        days = source.days.clone();
+        attended = source.attended.clone();
+        minutes = source.minutes.clone();
+        size = source.size;
+    }
+
+    CubeChunk copy() {
+        return new CubeChunk(this);
+    }
+
+    void set(int offset, long id, int[] codes, int day, int attendedFlag, int visitMinutes) {
+        ids[offset] = id;
+        for (int d = 0; d < codes.length; d++) {
+            dims[d][offset] = codes[d];
+        }
+        days[offset] = day;
+        attended[offset] = attendedFlag;
+        minutes[offset] = visitMinutes;
+        size = Math.max(size, offset + 1);
+    }
+}
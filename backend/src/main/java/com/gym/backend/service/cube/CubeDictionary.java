@@ -0,0 +1,50 @@
+package com.gym.backend.service.cube;
+
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Append-only dictionary mapping a dimension's values to dense int codes. Only the loader
+ * touches it; queries decode through the array copy taken into each snapshot.
+ */
+final class CubeDictionary {
+
+    static final String NONE = "NONE";
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Hour-of-week labels, Monday 00:00 first, so the code of a label is its hour of week
+     */
+    static CubeDictionary hoursOfWeek() {
+        CubeDictionary dictionary = new CubeDictionary();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase(Locale.ROOT);
+            for (int hour = 0; hour < 24; hour++) {
+                dictionary.encode(String.format("%s %02d:00", name, hour));
+            }
+        }
+        return dictionary;
+    }
+
+    int encode(String value) {
+        String key = value != null && !value.isBlank() ? value : NONE;
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = values.size();
+            codes.put(key, code);
+            values.add(key);
+        }
+        return code;
+    }
+
+    String[] snapshot() {
+        return values.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gym.backend.service.cube;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary-encoded dimensions of the analytics cube. Rows without a class, trainer or plan
+ * carry {@link CubeDictionary#NONE}. STATUS is the visit type for attendance rows and the
+ * booking status for booking rows.
+ */
+public enum CubeDimension {
+
+    SOURCE,
+    HOUR_OF_WEEK,
+    CATEGORY,
+    DIFFICULTY,
+    TRAINER,
+    PLAN,
+    STATUS;
+
+    public static CubeDimension fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(dimension -> dimension.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported cube dimension: " + value));
+    }
+}
@@ -0,0 +1,66 @@
+package com.gym.backend.service.cube;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filters and group-by dimensions of a cube query. Rows must match one of the listed values
+ * of every filtered dimension and fall in [from, to) when those dates are given.
+ */
+@Value
+@Builder
+public class CubeQuery {
+
+    public static final int DEFAULT_LIMIT = 1_000;
+
+    @Builder.Default
+    Map<CubeDimension, Set<String>> filters = Map.of();
+
+    @Builder.Default
+    List<CubeDimension> groupBy = List.of();
+
+    LocalDate from;
+    LocalDate to;
+
+    @Builder.Default
+    int limit = DEFAULT_LIMIT;
+
+    /**
+     * Build a query from request parameters. Each filter reads {@code DIMENSION:value|value}.
+     */
+    public static CubeQuery parse(List<String> groupBy, List<String> filters, LocalDate from, LocalDate to, Integer limit) {
+        Map<CubeDimension, Set<String>> parsedFilters = new EnumMap<>(CubeDimension.class);
+        if (filters != null) {
+            for (String filter : filters) {
+                int separator = filter.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Cube filter must read DIMENSION:value|value, got: " + filter);
+                }
+                Set<String> values = Arrays.stream(filter.substring(separator + 1).split("\\|"))
+                        .map(String::trim)
+                        .filter(value -> !value.isEmpty())
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                parsedFilters.computeIfAbsent(CubeDimension.fromParameter(filter.substring(0, separator)),
+                        dimension -> new LinkedHashSet<>()).addAll(values);
+            }
+        }
+        List<CubeDimension> parsedGroupBy = groupBy == null ? List.of()
+                : groupBy.stream().map(CubeDimension::fromParameter).distinct().toList();
+        return CubeQuery.builder()
+                .filters(parsedFilters)
+                .groupBy(parsedGroupBy)
+                .from(from)
+                .to(to)
+                .limit(limit != null && limit > 0 ? limit : DEFAULT_LIMIT)
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.gym.backend.service.cube;
+
+import com.gym.backend.dto.analytics.CubeSliceDto;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Filter and group-by scans over a {@link CubeSnapshot}.
+ *
+ * Each filter becomes a bitmap over its dimension's dictionary codes. Per chunk, a selection
+ * bitmap over the rows starts full and is narrowed one column at a time; the surviving rows
+ * are then summed into a dense accumulator indexed by the mixed-radix code of the group-by
+ * values. Chunks are split across {@code parallelism} tasks, each with its own accumulator,
+ * merged at the end.
+ */
+final class CubeQueryEngine {
+
+    private static final int MEASURES = 3;
+
+    private CubeQueryEngine() {
+    }
+
+    static CubeSliceDto execute(CubeSnapshot snapshot, CubeQuery query, ForkJoinPool pool, int maxGroups) {
+        long started = System.nanoTime();
+
+        int[] groupDims = query.getGroupBy().stream().mapToInt(Enum::ordinal).toArray();
+        int[] radix = new int[groupDims.length];
+        long groups = 1;
+        for (int k = 0; k < groupDims.length; k++) {
+            radix[k] = Math.max(1, snapshot.dictionaries[groupDims[k]].length);
+            groups *= radix[k];
+        }
+        if (groups > maxGroups) {
+            throw new IllegalArgumentException("Group-by " + query.getGroupBy() + " spans " + groups
+                    + " combinations; at most " + maxGroups + " are allowed");
+        }
+
+        List<Integer> filterDims = new ArrayList<>();
+        List<long[]> filterBitmaps = new ArrayList<>();
+        boolean matchesNothing = false;
+        for (Map.Entry<CubeDimension, Set<String>> filter : query.getFilters().entrySet()) {
+            String[] dictionary = snapshot.dictionaries[filter.getKey().ordinal()];
+            long[] allowed = new long[(dictionary.length + 63) >>> 6];
+            boolean any = false;
+            for (int code = 0; code < dictionary.length; code++) {
+                if (filter.getValue().contains(dictionary[code])) {
+                    allowed[code >>> 6] |= 1L << code;
+                    any = true;
+                }
+            }
+            matchesNothing |= !any;
+            filterDims.add(filter.getKey().ordinal());
+            filterBitmaps.add(allowed);
+        }
+
+        Scan scan = new Scan(groupDims, radix, filterDims.stream().mapToInt(Integer::intValue).toArray(),
+                filterBitmaps.toArray(long[][]::new),
+                query.getFrom() != null ? (int) query.getFrom().toEpochDay() : Integer.MIN_VALUE,
+                query.getTo() != null ? (int) query.getTo().toEpochDay() : Integer.MAX_VALUE);
+
+        long[] totals = new long[(int) groups * MEASURES];
+        if (!matchesNothing && !snapshot.chunks.isEmpty()) {
+            List<CubeChunk> chunks = snapshot.chunks;
+            int tasks = Math.min(pool.getParallelism(), chunks.size());
+            List<long[]> partials = pool.submit(() -> IntStream.range(0, tasks).parallel()
+                    .mapToObj(task -> {
+                        long[] acc = new long[(int) scan.groups() * MEASURES];
+                        for (int c = task; c < chunks.size(); c += tasks) {
+                            scan.accumulate(chunks.get(c), acc);
+                        }
+                        return acc;
+                    })
+                    .toList()).join();
+            for (long[] partial : partials) {
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += partial[i];
+                }
+            }
+        }
+
+        List<CubeSliceDto.Group> result = new ArrayList<>();
+        long matched = 0;
+        for (int g = 0; g < groups; g++) {
+            long rows = totals[g * MEASURES];
+            if (rows == 0) {
+                continue;
+            }
+            matched += rows;
+            result.add(new CubeSliceDto.Group(decode(g, query, groupDims, radix, snapshot),
+                    rows, totals[g * MEASURES + 1], totals[g * MEASURES + 2]));
+        }
+        result.sort(Comparator.comparingLong(CubeSliceDto.Group::getRows).reversed());
+
+        CubeSliceDto slice = new CubeSliceDto();
+        slice.setGroupBy(query.getGroupBy().stream().map(Enum::name).toList());
+        slice.setTotalGroups(result.size());
+        slice.setGroups(result.size() > query.getLimit() ? new ArrayList<>(result.subList(0, query.getLimit())) : result);
+        slice.setScannedRows(snapshot.rows);
+        slice.setMatchedRows(matched);
+        slice.setDataAsOf(snapshot.dataAsOf);
+        slice.setElapsedMicros((System.nanoTime() - started) / 1_000);
+        return slice;
+    }
+
+    private static Map<String, String> decode(int group, CubeQuery query, int[] groupDims, int[] radix,
+                                              CubeSnapshot snapshot) {
+        String[] values = new String[groupDims.length];
+        for (int k = groupDims.length - 1; k >= 0; k--) {
+            values[k] = snapshot.dictionaries[groupDims[k]][group % radix[k]];
+            group /= radix[k];
+        }
+        Map<String, String> key = new LinkedHashMap<>();
+        for (int k = 0; k < groupDims.length; k++) {
+            key.put(query.getGroupBy().get(k).name(), values[k]);
+        }
+        return key;
+    }
+
+    /**
+     * Compiled predicates and group-by layout, shared read-only by all scan tasks
+     */
+    @RequiredArgsConstructor
+    private static final class Scan {
+
+        private final int[] groupDims;
+        private final int[] radix;
+        private final int[] filterDims;
+        private final long[][] filterBitmaps;
+        private final int fromDay;
+        private final int toDay;
+
+        long groups() {
+            long groups = 1;
+            for (int r : radix) {
+                groups *= r;
+            }
+            return groups;
+        }
+
+        void accumulate(CubeChunk chunk, long[] acc) {
+            int size = chunk.size;
+            long[] selected = new long[(size + 63) >>> 6];
+            Arrays.fill(selected, -1L);
+            if ((size & 63) != 0) {
+                selected[selected.length - 1] = (1L << size) - 1;
+            }
+
+            if (fromDay != Integer.MIN_VALUE || toDay != Integer.MAX_VALUE) {
+                int[] days = chunk.days;
+                for (int i = 0; i < size; i++) {
+                    if (days[i] < fromDay || days[i] >= toDay) {
+                        selected[i >>> 6] &= ~(1L << i);
+                    }
+                }
+            }
+            for (int f = 0; f < filterDims.length; f++) {
+                int[] column = chunk.dims[filterDims[f]];
+                long[] allowed = filterBitmaps[f];
+                for (int i = 0; i < size; i++) {
+                    int code = column[i];
+                    if ((allowed[code >>> 6] & (1L << code)) == 0) {
+                        selected[i >>> 6] &= ~(1L << i);
+                    }
+                }
+            }
+
+            int[] attended = chunk.attended;
+            int[] minutes = chunk.minutes;
+            for (int w = 0; w < selected.length; w++) {
+                long word = selected[w];
+                while (word != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    int group = 0;
+                    for (int k = 0; k < groupDims.length; k++) {
+                        group = group * radix[k] + chunk.dims[groupDims[k]][i];
+                    }
+                    int slot = group * MEASURES;
+                    acc[slot]++;
+                    acc[slot + 1] += attended[i];
+                    acc[slot + 2] += minutes[i];
+                }
+            }
+        }
+    }
+}
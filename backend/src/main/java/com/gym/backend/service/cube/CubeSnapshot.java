@@ -0,0 +1,25 @@
+package com.gym.backend.service.cube;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable view of the cube that queries scan. Dictionaries are copies taken together with
+ * the chunk list, so every code in the chunks decodes.
+ */
+final class CubeSnapshot {
+
+    static final CubeSnapshot EMPTY = new CubeSnapshot(List.of(), new String[CubeDimension.values().length][0], 0, null);
+
+    final List<CubeChunk> chunks;
+    final String[][] dictionaries;
+    final int rows;
+    final LocalDateTime dataAsOf;
+
+    CubeSnapshot(List<CubeChunk> chunks, String[][] dictionaries, int rows, LocalDateTime dataAsOf) {
+        this.chunks = chunks;
+        this.dictionaries = dictionaries;
+        this.rows = rows;
+        this.dataAsOf = dataAsOf;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gym.backend.service.export;
+
+import com.gym.backend.util.CsvWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV export with a header row of column names
+ */
+class CsvExportRowWriter implements ExportRowWriter {
+
+    private final BufferedWriter writer;
+    private final CsvWriter csv;
+
+    CsvExportRowWriter(OutputStream out, List<String> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.csv = new CsvWriter(writer);
+        for (String column : columns) {
+            csv.field(column);
+        }
+        csv.endRecord();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (Object value : values) {
+            csv.field(value);
+        }
+        csv.endRecord();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gym.backend.service.export;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Tables available for export. Every query exposes the row key as {@code id} and is read in
+ * ascending id order, so an interrupted download resumes with {@code afterId} set to the
+ * last id received.
+ */
+public enum ExportDataset {
+
+    PAYMENTS("p", "payment_date", """
+            SELECT p.id, p.payment_date, p.amount, p.currency, p.payment_method, p.status,
+                   p.receipt_number, p.gateway_transaction_id, p.subscription_id, p.invoice_id,
+                   p.member_id, u.email AS member_email, u.first_name AS member_first_name,
+                   u.last_name AS member_last_name
+            FROM payments p
+            JOIN member_profiles mp ON mp.id = p.member_id
+            JOIN users u ON u.id = mp.user_id"""),
+
+    ATTENDANCE("a", "check_in_time", """
+            SELECT a.id, a.check_in_time, a.check_out_time, a.visit_type, a.purpose,
+                   a.class_booking_id, a.pt_session_id, a.member_id, u.email AS member_email,
+                   u.first_name AS member_first_name, u.last_name AS member_last_name
+            FROM attendance a
+            JOIN member_profiles mp ON mp.id = a.member_id
+            JOIN users u ON u.id = mp.user_id"""),
+
+    MEMBERS("mp", "created_at", """
+            SELECT mp.id, u.id AS user_id, u.email, u.first_name, u.last_name, u.phone_number,
+                   u.date_of_birth, u.is_active AS user_active, mp.membership_type,
+                   mp.membership_start_date, mp.membership_end_date, mp.created_at
+            FROM member_profiles mp
+            JOIN users u ON u.id = mp.user_id""");
+
+    private final String alias;
+    private final String timeColumn;
+    private final String select;
+
+    ExportDataset(String alias, String timeColumn, String select) {
+        this.alias = alias;
+        this.timeColumn = timeColumn;
+        this.select = select;
+    }
+
+    /**
+     * Resolve the dataset named in a request path, case-insensitively
+     */
+    public static ExportDataset fromPath(String value) {
+        return Arrays.stream(values())
+                .filter(dataset -> dataset.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown export dataset: " + value));
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Build the export query; bind parameters follow in the order afterId, from, to,
+     * each present only when the argument is non-null
+     */
+    String query(boolean hasAfterId, boolean hasFrom, boolean hasTo) {
+        StringBuilder sql = new StringBuilder(select).append("\nWHERE true");
+        if (hasAfterId) {
+            sql.append(" AND ").append(alias).append(".id > ?");
+        }
+        if (hasFrom) {
+            sql.append(" AND ").append(alias).append('.').append(timeColumn).append(" >= ?");
+        }
+        if (hasTo) {
+            sql.append(" AND ").append(alias).append('.').append(timeColumn).append(" < ?");
+        }
+        return sql.append("\nORDER BY ").append(alias).append(".id").toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.gym.backend.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wire formats for data exports
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        ExportRowWriter newWriter(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            return new CsvExportRowWriter(out, columns);
+        }
+    },
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        ExportRowWriter newWriter(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonExportRowWriter(out, columns, objectMapper);
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + value));
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract ExportRowWriter newWriter(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException;
+}
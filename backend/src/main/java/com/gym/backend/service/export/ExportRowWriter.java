@@ -0,0 +1,21 @@
+package com.gym.backend.service.export;
+
+import java.io.IOException;
+
+/**
+ * Serializes export rows one at a time without buffering more than the current row
+ */
+interface ExportRowWriter {
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Push buffered bytes to the client so progress is visible on long exports
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flush any trailing output; the underlying stream is left open
+     */
+    void finish() throws IOException;
+}
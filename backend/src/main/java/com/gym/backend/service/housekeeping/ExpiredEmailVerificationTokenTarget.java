@@ -0,0 +1,35 @@
+package com.gym.backend.service.housekeeping;
+
+import com.gym.backend.config.HousekeepingProperties;
+import com.gym.backend.repository.EmailVerificationTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges email verification tokens past their expiry
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredEmailVerificationTokenTarget implements RetentionTarget {
+
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final HousekeepingProperties properties;
+
+    @Override
+    public String getName() {
+        return "email-verification-tokens";
+    }
+
+    @Override
+    public Duration getRetention() {
+        return properties.getEmailVerificationTokenRetention();
+    }
+
+    @Override
+    public int purgeBatch(LocalDateTime cutoff, int batchSize) {
+        return emailVerificationTokenRepository.deleteExpiredTokensBatch(cutoff, batchSize);
+    }
+}
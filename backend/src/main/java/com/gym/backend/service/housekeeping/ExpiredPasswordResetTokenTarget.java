@@ -0,0 +1,35 @@
+package com.gym.backend.service.housekeeping;
+
+import com.gym.backend.config.HousekeepingProperties;
+import com.gym.backend.repository.PasswordResetTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges password reset tokens past their expiry
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredPasswordResetTokenTarget implements RetentionTarget {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final HousekeepingProperties properties;
+
+    @Override
+    public String getName() {
+        return "password-reset-tokens";
+    }
+
+    @Override
+    public Duration getRetention() {
+        return properties.getPasswordResetTokenRetention();
+    }
+
+    @Override
+    public int purgeBatch(LocalDateTime cutoff, int batchSize) {
+        return passwordResetTokenRepository.deleteExpiredTokensBatch(cutoff, batchSize);
+    }
+}
@@ -0,0 +1,37 @@
+package com.gym.backend.service.housekeeping;
+
+import com.gym.backend.config.ReportJobProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges report jobs whose results expired, and failed jobs, once past retention
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredReportJobTarget implements RetentionTarget {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportJobProperties properties;
+
+    @Override
+    public String getName() {
+        return "report-jobs";
+    }
+
+    @Override
+    public Duration getRetention() {
+        return properties.getRetention();
+    }
+
+    @Override
+    public int purgeBatch(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update("DELETE FROM report_jobs WHERE id IN (" +
+                "SELECT id FROM report_jobs WHERE expires_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)", Timestamp.valueOf(cutoff), batchSize);
+    }
+}
@@ -0,0 +1,157 @@
+package com.gym.backend.service.housekeeping;
+
+import com.gym.backend.config.HousekeepingProperties;
+import com.gym.backend.datasource.ReportingWorkload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduled purge of stale rows from every registered {@link RetentionTarget}.
+ * Rows are deleted in bounded chunks, each in its own short transaction, with a pause
+ * between chunks so the job never holds long row locks. A Postgres advisory lock keeps
+ * concurrent application instances from running the same purge at once.
+ */
+@Slf4j
+@Service
+@ReportingWorkload
+public class HousekeepingService {
+
+    /** Arbitrary application-wide key for the housekeeping advisory lock */
+    private static final long ADVISORY_LOCK_KEY = 0x67796d686bL;
+
+    private final List<RetentionTarget> targets;
+    private final HousekeepingProperties properties;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    public HousekeepingService(List<RetentionTarget> targets,
+                               HousekeepingProperties properties,
+                               DataSource dataSource,
+                               MeterRegistry meterRegistry) {
+        this.targets = targets;
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.runTimer = Timer.builder("housekeeping.run.duration")
+                .description("Duration of a full housekeeping run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled entry point
+     */
+    @Scheduled(cron = "${app.housekeeping.cron:0 15 3 * * *}")
+    public void scheduledPurge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        runPurge();
+    }
+
+    /**
+     * Run a purge across all targets if no other instance holds the housekeeping lock.
+     * Returns rows purged per target, or an empty map when the lock was not acquired.
+     */
+    public Map<String, Integer> runPurge() {
+        Map<String, Integer> purged = new LinkedHashMap<>();
+
+        // The advisory lock is session-scoped, so it is held on a dedicated connection
+        // for the whole run while each chunk commits on its own pooled connection
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!tryAdvisoryLock(lockConnection)) {
+                log.info("Housekeeping skipped: another instance holds the lock");
+                return purged;
+            }
+            try {
+                runTimer.record(() -> targets.forEach(target -> purged.put(target.getName(), purgeTarget(target))));
+            } finally {
+                releaseAdvisoryLock(lockConnection);
+            }
+        } catch (SQLException e) {
+            log.error("Housekeeping run failed to acquire lock connection", e);
+            return purged;
+        }
+
+        log.info("Housekeeping run completed, rows purged: {}", purged);
+        return purged;
+    }
+
+    private int purgeTarget(RetentionTarget target) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(target.getRetention());
+        int batchSize = properties.getBatchSize();
+        Counter counter = Counter.builder("housekeeping.purged.rows")
+                .description("Rows deleted by housekeeping")
+                .tag("target", target.getName())
+                .register(meterRegistry);
+
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int deleted;
+            try {
+                deleted = target.purgeBatch(cutoff, batchSize);
+            } catch (RuntimeException e) {
+                log.error("Housekeeping batch failed for target {} after {} rows", target.getName(), total, e);
+                break;
+            }
+            total += deleted;
+            counter.increment(deleted);
+
+            if (deleted < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.debug("Purged {} rows from {}", total, target.getName());
+        return total;
+    }
+
+    private boolean pause() {
+        long millis = properties.getPauseBetweenBatches().toMillis();
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean tryAdvisoryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void releaseAdvisoryLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Failed to release housekeeping advisory lock", e);
+        }
+    }
+}
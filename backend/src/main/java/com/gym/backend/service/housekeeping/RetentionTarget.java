@@ -0,0 +1,27 @@
+package com.gym.backend.service.housekeeping;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A table whose stale rows are purged by {@link HousekeepingService}.
+ * Implementations are picked up automatically when registered as Spring beans.
+ */
+public interface RetentionTarget {
+
+    /**
+     * Short name used in logs and metric tags
+     */
+    String getName();
+
+    /**
+     * How long rows are kept after they become stale
+     */
+    Duration getRetention();
+
+    /**
+     * Delete at most {@code batchSize} rows that became stale before {@code cutoff},
+     * in its own short transaction. Returns the number of rows deleted.
+     */
+    int purgeBatch(LocalDateTime cutoff, int batchSize);
+}
@@ -0,0 +1,97 @@
+package com.gym.backend.service.lookup;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * One member in the front-desk lookup index, with the normalized forms it is found by.
+ * Keyed by user ID because a registered member has no profile until one is created.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberLookupEntry {
+
+    /** "first last"; every prefix of the first name is also a prefix of this key */
+    static final int FULL_NAME = 0;
+    static final int LAST_NAME = 1;
+    static final int EMAIL = 2;
+    static final int PHONE = 3;
+    static final int KEY_COUNT = 4;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern PHONE_LIKE = Pattern.compile("[0-9+()\\-. ]+");
+
+    Long userId;
+    Long memberId;
+    String firstName;
+    String lastName;
+    String email;
+    String phoneNumber;
+    boolean active;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    String[] keys;
+
+    public static MemberLookupEntry of(Long userId, Long memberId, String firstName, String lastName,
+                                       String email, String phoneNumber, boolean active) {
+        String first = normalizeText(firstName);
+        String last = normalizeText(lastName);
+        String[] keys = new String[KEY_COUNT];
+        keys[FULL_NAME] = emptyToNull(first.isEmpty() || last.isEmpty() ? first + last : first + " " + last);
+        keys[LAST_NAME] = emptyToNull(last);
+        keys[EMAIL] = emptyToNull(normalizeText(email));
+        keys[PHONE] = emptyToNull(phoneNumber == null ? "" : NON_DIGITS.matcher(phoneNumber).replaceAll(""));
+        return new MemberLookupEntry(userId, memberId, firstName, lastName, email, phoneNumber, active, keys);
+    }
+
+    /**
+     * Normalized key of the given kind, or null when the member has none
+     */
+    String key(int kind) {
+        return keys[kind];
+    }
+
+    /**
+     * Normalize a typed query the same way as the keys it is matched against. Input that looks
+     * like a phone number is reduced to its digits, so "+1 (555) 01" finds "15550123".
+     */
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.trim();
+        if (PHONE_LIKE.matcher(trimmed).matches()) {
+            String digits = NON_DIGITS.matcher(trimmed).replaceAll("");
+            if (!digits.isEmpty()) {
+                return digits;
+            }
+        }
+        return normalizeText(trimmed);
+    }
+
+    /**
+     * Lower case, accents stripped and whitespace collapsed, so "José  Núñez" matches "jose nu"
+     */
+    static String normalizeText(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,185 @@
+package com.gym.backend.service.lookup;
+
+import com.gym.backend.datasource.WorkloadContext;
+import com.gym.backend.dto.MemberLookupDto;
+import com.gym.backend.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * In-process autocomplete for front-desk member lookup by partial name, email or phone number.
+ *
+ * The index is loaded once the application is ready and then kept current incrementally:
+ * registration and profile changes upsert the affected member after their transaction
+ * commits. A periodic full reload picks up changes made outside those paths, such as
+ * deactivations or direct SQL.
+ *
+ * The index is per instance and upserts only reach the instance that handled the change.
+ * With several instances behind a load balancer, the others keep showing the old details
+ * until their next periodic reload, up to {@code app.member-lookup.reload-interval}
+ * (15 minutes by default) later.
+ */
+@Slf4j
+@Service
+public class MemberLookupService {
+
+    public static final int MAX_RESULTS = 10;
+
+    private static final String LOAD_MEMBERS = """
+            SELECT u.id AS user_id, mp.id AS member_id, u.first_name, u.last_name, u.email,
+                   u.phone_number, u.is_active
+            FROM users u
+            LEFT JOIN member_profiles mp ON mp.user_id = u.id
+            WHERE mp.id IS NOT NULL OR EXISTS (
+                SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+                WHERE ur.user_id = u.id AND r.name = 'MEMBER')""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer lookupTimer;
+    private final ThreadPoolTaskExecutor reloadExecutor;
+
+    private volatile MemberLookupIndex index = MemberLookupIndex.empty();
+
+    /** Guards index replacement and the upserts recorded while a reload is running */
+    private final Object writeLock = new Object();
+    private List<MemberLookupEntry> upsertsDuringReload;
+
+    public MemberLookupService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lookupTimer = Timer.builder("member.lookup.duration")
+                .description("Time to answer a front-desk member lookup from the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("member.lookup.size", this, service -> service.index.size())
+                .description("Members held in the front-desk lookup index")
+                .register(meterRegistry);
+
+        // One background reload at a time; a request arriving while one is queued is covered by it
+        this.reloadExecutor = new ThreadPoolTaskExecutor();
+        reloadExecutor.setThreadNamePrefix("member-lookup-");
+        reloadExecutor.setCorePoolSize(1);
+        reloadExecutor.setMaxPoolSize(1);
+        reloadExecutor.setQueueCapacity(1);
+        reloadExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        reloadExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reloadExecutor.shutdown();
+    }
+
+    /**
+     * Up to {@link #MAX_RESULTS} members whose name, email or phone number starts with the query
+     */
+    public List<MemberLookupDto> lookup(String query) {
+        return lookupTimer.record(() -> index.find(query, MAX_RESULTS).stream()
+                .map(entry -> new MemberLookupDto(entry.getUserId(), entry.getMemberId(), entry.getFirstName(),
+                        entry.getLastName(), entry.getEmail(), entry.getPhoneNumber(), entry.isActive()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Index the user's current state once the surrounding transaction commits
+     */
+    public void upsertAfterCommit(User user, Long memberId) {
+        MemberLookupEntry entry = MemberLookupEntry.of(user.getId(), memberId, user.getFirstName(),
+                user.getLastName(), user.getEmail(), user.getPhoneNumber(), user.isActive());
+        afterCommit(() -> upsert(entry));
+    }
+
+    /**
+     * Rebuild the index in the background once the surrounding transaction commits. Used after
+     * bulk changes, where a full reload is cheaper than upserting member by member.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(() -> reloadExecutor.execute(this::reload));
+    }
+
+    void upsert(MemberLookupEntry entry) {
+        synchronized (writeLock) {
+            index = index.withUpsert(entry);
+            if (upsertsDuringReload != null) {
+                upsertsDuringReload.add(entry);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${app.member-lookup.reload-interval:PT15M}",
+            fixedDelayString = "${app.member-lookup.reload-interval:PT15M}")
+    public void reload() {
+        synchronized (writeLock) {
+            if (upsertsDuringReload != null) {
+                log.debug("Member lookup reload already running");
+                return;
+            }
+            upsertsDuringReload = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        MemberLookupIndex reloaded = null;
+        String previous = WorkloadContext.enterReporting("MemberLookupService.reload");
+        try {
+            List<MemberLookupEntry> members = jdbcTemplate.query(LOAD_MEMBERS, (rs, rowNum) -> MemberLookupEntry.of(
+                    rs.getLong("user_id"),
+                    rs.getObject("member_id", Long.class),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getString("phone_number"),
+                    rs.getBoolean("is_active")));
+            reloaded = MemberLookupIndex.build(members);
+        } catch (RuntimeException e) {
+            log.error("Failed to reload member lookup index, keeping the current one", e);
+        } finally {
+            WorkloadContext.restore(previous);
+            synchronized (writeLock) {
+                if (reloaded != null) {
+                    // The snapshot may predate commits whose upserts already reached the old index
+                    for (MemberLookupEntry entry : upsertsDuringReload) {
+                        reloaded = reloaded.withUpsert(entry);
+                    }
+                    index = reloaded;
+                }
+                upsertsDuringReload = null;
+            }
+        }
+        if (reloaded != null) {
+            log.info("Loaded {} members into lookup index in {} ms",
+                    reloaded.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.gym.backend.service.memberimport;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * One validated CSV row on its way to the staging table. Constraints mirror registration.
+ */
+@Data
+class MemberImportRow {
+
+    private long rowNumber;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 255, message = "Email must not exceed 255 characters")
+    private String email;
+
+    @Size(min = 8, max = 100, message = "Password must be between 8 and 100 characters")
+    private String password;
+
+    private String passwordHash;
+
+    @NotBlank(message = "First name is required")
+    @Size(max = 100, message = "First name must not exceed 100 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(max = 100, message = "Last name must not exceed 100 characters")
+    private String lastName;
+
+    @Size(max = 20, message = "Phone number must not exceed 20 characters")
+    private String phoneNumber;
+
+    private LocalDate dateOfBirth;
+
+    @Size(max = 255, message = "Emergency contact name must not exceed 255 characters")
+    private String emergencyContactName;
+
+    @Size(max = 20, message = "Emergency contact phone must not exceed 20 characters")
+    private String emergencyContactPhone;
+
+    private String fitnessGoals;
+
+    @Size(max = 50, message = "Membership type must not exceed 50 characters")
+    private String membershipType;
+
+    private LocalDate membershipStartDate;
+
+    private LocalDate membershipEndDate;
+}
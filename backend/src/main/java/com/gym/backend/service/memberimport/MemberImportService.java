@@ -0,0 +1,366 @@
+package com.gym.backend.service.memberimport;
+
+import com.gym.backend.datasource.ReportingWorkload;
+import com.gym.backend.dto.MemberImportResultDto;
+import com.gym.backend.dto.MemberImportResultDto.RowError;
+import com.gym.backend.service.audit.AuditAction;
+import com.gym.backend.service.audit.AuditLogger;
+import com.gym.backend.service.lookup.MemberLookupService;
+import com.gym.backend.util.CsvReader;
+import com.gym.backend.util.CsvWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk member import for onboarding a whole location at once. The CSV upload is streamed
+ * and validated row by row, provided passwords are BCrypt-hashed in parallel, and valid
+ * rows are loaded into a temporary staging table with {@code COPY}, all in autocommit so
+ * no transaction stays open while hashing. Set-based SQL then rejects duplicates and
+ * existing emails and creates users, MEMBER roles and member profiles in one short
+ * transaction. No verification emails are sent.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    /** Rows validated, hashed and copied per round trip */
+    private static final int CHUNK_SIZE = 5_000;
+
+    /** Stored for members imported without a password; never matches, so they must reset it */
+    static final String UNUSABLE_PASSWORD = "!";
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("email", "first_name", "last_name");
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE member_import_staging (
+                row_number BIGINT NOT NULL,
+                email VARCHAR(255) NOT NULL,
+                password_hash VARCHAR(255) NOT NULL,
+                first_name VARCHAR(100) NOT NULL,
+                last_name VARCHAR(100) NOT NULL,
+                phone_number VARCHAR(20),
+                date_of_birth DATE,
+                emergency_contact_name VARCHAR(255),
+                emergency_contact_phone VARCHAR(20),
+                fitness_goals TEXT,
+                membership_type VARCHAR(50),
+                membership_start_date DATE,
+                membership_end_date DATE,
+                user_id BIGINT
+            )""";
+
+    private static final String DROP_STAGING = "DROP TABLE IF EXISTS member_import_staging";
+
+    private static final String COPY_STAGING = "COPY member_import_staging (row_number, email, password_hash, " +
+            "first_name, last_name, phone_number, date_of_birth, emergency_contact_name, emergency_contact_phone, " +
+            "fitness_goals, membership_type, membership_start_date, membership_end_date) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String REJECT_DUPLICATES = """
+            DELETE FROM member_import_staging s USING member_import_staging earlier
+            WHERE earlier.email = s.email AND earlier.row_number < s.row_number
+            RETURNING s.row_number, s.email""";
+
+    private static final String REJECT_EXISTING = """
+            DELETE FROM member_import_staging s USING users u
+            WHERE u.email = s.email
+            RETURNING s.row_number, s.email""";
+
+    private static final String INSERT_USERS = """
+            WITH inserted AS (
+                INSERT INTO users (email, password, first_name, last_name, phone_number, date_of_birth,
+                                   is_active, is_email_verified)
+                SELECT email, password_hash, first_name, last_name, phone_number, date_of_birth, true, true
+                FROM member_import_staging
+                ORDER BY row_number
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, email
+            )
+            UPDATE member_import_staging s SET user_id = inserted.id
+            FROM inserted WHERE inserted.email = s.email""";
+
+    private static final String REJECT_RACED = """
+            DELETE FROM member_import_staging WHERE user_id IS NULL
+            RETURNING row_number, email""";
+
+    private static final String INSERT_ROLES = """
+            INSERT INTO user_roles (user_id, role_id, assigned_by)
+            SELECT s.user_id, r.id, ? FROM member_import_staging s
+            JOIN roles r ON r.name = 'MEMBER'""";
+
+    private static final String INSERT_PROFILES = """
+            INSERT INTO member_profiles (user_id, emergency_contact_name, emergency_contact_phone, fitness_goals,
+                                         membership_type, membership_start_date, membership_end_date, is_active)
+            SELECT user_id, emergency_contact_name, emergency_contact_phone, fitness_goals,
+                   membership_type, membership_start_date, membership_end_date, true
+            FROM member_import_staging""";
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final AuditLogger auditLogger;
+    private final MemberLookupService memberLookupService;
+    private final ForkJoinPool hashingPool;
+
+    public MemberImportService(DataSource dataSource,
+                               PasswordEncoder passwordEncoder,
+                               Validator validator,
+                               AuditLogger auditLogger,
+                               MemberLookupService memberLookupService) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.auditLogger = auditLogger;
+        this.memberLookupService = memberLookupService;
+        // Dedicated pool so hashing never competes with the common pool used elsewhere
+        this.hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Import members from a CSV stream with a header row. Required columns are email,
+     * first_name and last_name; optional ones are password, phone_number, date_of_birth,
+     * emergency_contact_name, emergency_contact_phone, fitness_goals, membership_type,
+     * membership_start_date and membership_end_date. Dates use ISO format (yyyy-MM-dd).
+     */
+    @ReportingWorkload
+    public MemberImportResultDto importMembers(InputStream csv, Long importedBy) throws IOException {
+        long started = System.nanoTime();
+        List<RowError> errors = new ArrayList<>();
+
+        CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = readHeader(reader);
+
+        // The staging table lives in this connection's session, so every step runs on it
+        long totalRows = 0;
+        int imported;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            JdbcTemplate staging = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            staging.execute(DROP_STAGING);
+            staging.execute(CREATE_STAGING);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                List<MemberImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (true) {
+                    long lineNumber = reader.getLineNumber();
+                    List<String> record = reader.readRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    totalRows++;
+                    MemberImportRow row = parseRow(lineNumber, record, columns, errors);
+                    if (row != null) {
+                        chunk.add(row);
+                    }
+                    if (chunk.size() == CHUNK_SIZE) {
+                        copyChunk(copyManager, chunk);
+                        chunk.clear();
+                    }
+                }
+                copyChunk(copyManager, chunk);
+
+                imported = insertMembers(connection, staging, importedBy, errors);
+            } finally {
+                staging.execute(DROP_STAGING);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Member import failed", e);
+        }
+
+        errors.sort(Comparator.comparingLong(RowError::getRow));
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        MemberImportResultDto result = new MemberImportResultDto(totalRows, imported, errors.size(), durationMillis,
+                errors.size() > MAX_REPORTED_ERRORS ? new ArrayList<>(errors.subList(0, MAX_REPORTED_ERRORS)) : errors);
+
+        log.info("Imported {} of {} member rows in {} ms ({} rejected)",
+                imported, totalRows, durationMillis, errors.size());
+        if (imported > 0) {
+            memberLookupService.reloadAfterCommit();
+        }
+        auditLogger.record(AuditAction.MEMBERS_IMPORTED, "User", null, null, Map.of(
+                "totalRows", totalRows, "importedRows", imported, "rejectedRows", errors.size()));
+        return result;
+    }
+
+    /**
+     * The only transaction of the import: set-based moves from staging into the domain tables
+     */
+    private int insertMembers(Connection connection, JdbcTemplate staging, Long importedBy,
+                              List<RowError> errors) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            collect(staging, REJECT_DUPLICATES, "Duplicate email, already present earlier in the file", errors);
+            collect(staging, REJECT_EXISTING, "A user with this email already exists", errors);
+            int imported = staging.update(INSERT_USERS);
+            collect(staging, REJECT_RACED, "A user with this email was registered during the import", errors);
+            staging.update(INSERT_ROLES, importedBy);
+            staging.update(INSERT_PROFILES);
+            connection.commit();
+            return imported;
+        } catch (RuntimeException | SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            // Tolerate a UTF-8 byte order mark on the first column
+            columns.put(i == 0 ? name.replace("﻿", "") : name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private MemberImportRow parseRow(long rowNumber, List<String> record, Map<String, Integer> columns,
+                                     List<RowError> errors) {
+        MemberImportRow row = new MemberImportRow();
+        row.setRowNumber(rowNumber);
+        row.setEmail(value(record, columns, "email"));
+        try {
+            row.setPassword(value(record, columns, "password"));
+            row.setFirstName(value(record, columns, "first_name"));
+            row.setLastName(value(record, columns, "last_name"));
+            row.setPhoneNumber(value(record, columns, "phone_number"));
+            row.setDateOfBirth(date(record, columns, "date_of_birth"));
+            row.setEmergencyContactName(value(record, columns, "emergency_contact_name"));
+            row.setEmergencyContactPhone(value(record, columns, "emergency_contact_phone"));
+            row.setFitnessGoals(value(record, columns, "fitness_goals"));
+            row.setMembershipType(value(record, columns, "membership_type"));
+            row.setMembershipStartDate(date(record, columns, "membership_start_date"));
+            row.setMembershipEndDate(date(record, columns, "membership_end_date"));
+        } catch (DateTimeParseException e) {
+            errors.add(new RowError(rowNumber, row.getEmail(), "Invalid date '" + e.getParsedString() + "', expected yyyy-MM-dd"));
+            return null;
+        }
+
+        Set<ConstraintViolation<MemberImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            errors.add(new RowError(rowNumber, row.getEmail(), message));
+            return null;
+        }
+        return row;
+    }
+
+    private void copyChunk(CopyManager copyManager, List<MemberImportRow> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        hashPasswords(chunk);
+
+        StringWriter buffer = new StringWriter(chunk.size() * 160);
+        CsvWriter writer = new CsvWriter(buffer);
+        for (MemberImportRow row : chunk) {
+            writer.field(row.getRowNumber())
+                    .field(row.getEmail())
+                    .field(row.getPasswordHash())
+                    .field(row.getFirstName())
+                    .field(row.getLastName())
+                    .field(row.getPhoneNumber())
+                    .field(row.getDateOfBirth())
+                    .field(row.getEmergencyContactName())
+                    .field(row.getEmergencyContactPhone())
+                    .field(row.getFitnessGoals())
+                    .field(row.getMembershipType())
+                    .field(row.getMembershipStartDate())
+                    .field(row.getMembershipEndDate())
+                    .endRecord();
+        }
+        try {
+            copyManager.copyIn(COPY_STAGING, new StringReader(buffer.toString()));
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into member import staging failed", e);
+        }
+    }
+
+    private void hashPasswords(List<MemberImportRow> chunk) {
+        try {
+            hashingPool.submit(() -> chunk.parallelStream().forEach(row -> row.setPasswordHash(
+                    row.getPassword() != null ? passwordEncoder.encode(row.getPassword()) : UNUSABLE_PASSWORD)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Member import interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        chunk.forEach(row -> row.setPassword(null));
+    }
+
+    private static void collect(JdbcTemplate staging, String sql, String message, List<RowError> errors) {
+        staging.query(sql, rs -> {
+            errors.add(new RowError(rs.getLong("row_number"), rs.getString("email"), message));
+        });
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate date(List<String> record, Map<String, Integer> columns, String column) {
+        String value = value(record, columns, column);
+        return value != null ? LocalDate.parse(value) : null;
+    }
+}
@@ -0,0 +1,330 @@
+package com.gym.backend.service.reportjob;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.backend.config.ReportJobProperties;
+import com.gym.backend.dto.reportjob.ReportJobDto;
+import com.gym.backend.dto.reportjob.ReportJobRequest;
+import com.gym.backend.exception.ResourceNotFoundException;
+import com.gym.backend.service.AnalyticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs analytics reports as background jobs so large date ranges do not hold an HTTP request
+ * open past gateway timeouts.
+ *
+ * A job is keyed by a hash of its report type and range. Submitting returns the queued or
+ * running job for that hash if there is one, or the latest completed job until its result
+ * expires; otherwise a new job is queued. A partial unique index allows one in-flight job per
+ * hash, so identical submissions from several admins or instances share one computation.
+ * Jobs run on a bounded executor, and the analytics they call use the reporting pool.
+ * Results are stored as JSON on the job row and purged by housekeeping after expiry.
+ *
+ * Each job records the process that owns it, which refreshes the job's heartbeat while it
+ * is queued or running. The heartbeat has its own thread, so long scheduled tasks elsewhere
+ * in the application cannot delay it. Jobs whose heartbeat stops are abandoned, so a crashed
+ * instance does not block identical requests, and on startup an instance fails the jobs an
+ * earlier process on the same host left behind.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private static final String COLUMNS = "id, report_type, status, start_date, end_date, created_at, " +
+            "started_at, completed_at, expires_at, error, result";
+
+    private static final RowMapper<ReportJobDto> ROW_MAPPER = (rs, rowNum) -> {
+        ReportJobDto job = new ReportJobDto();
+        job.setId(rs.getObject("id", UUID.class));
+        job.setReportType(ReportType.valueOf(rs.getString("report_type")));
+        job.setStatus(ReportJobStatus.valueOf(rs.getString("status")));
+        job.setStartDate(toLocalDateTime(rs.getTimestamp("start_date")));
+        job.setEndDate(toLocalDateTime(rs.getTimestamp("end_date")));
+        job.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        job.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+        job.setCompletedAt(toLocalDateTime(rs.getTimestamp("completed_at")));
+        job.setExpiresAt(toLocalDateTime(rs.getTimestamp("expires_at")));
+        job.setError(rs.getString("error"));
+        job.setResult(rs.getString("result"));
+        return job;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsService analyticsService;
+    private final ObjectMapper objectMapper;
+    private final ReportJobProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor awaitExecutor;
+    private final ThreadPoolTaskScheduler heartbeatScheduler;
+    private final Counter reusedJobs;
+    private final Map<String, Timer> jobTimers = new HashMap<>();
+    private final String instanceName;
+    private final String instanceId;
+
+    /** Completion signals of the jobs running on this instance, for long polls */
+    private final Map<UUID, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+    public ReportJobService(JdbcTemplate jdbcTemplate,
+                            AnalyticsService analyticsService,
+                            ObjectMapper objectMapper,
+                            ReportJobProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyticsService = analyticsService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.reusedJobs = Counter.builder("report.jobs.reused")
+                .description("Report submissions answered by an existing in-flight or cached job")
+                .register(meterRegistry);
+        for (ReportType type : ReportType.values()) {
+            for (String outcome : List.of("completed", "failed")) {
+                jobTimers.put(type + "|" + outcome, Timer.builder("report.jobs.duration")
+                        .description("Duration of report jobs")
+                        .tag("type", type.name())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        }
+        // The suffix keeps processes sharing a host name, or restarted under it, apart
+        this.instanceName = properties.getInstanceId() != null && !properties.getInstanceId().isBlank()
+                ? properties.getInstanceId() : hostName();
+        this.instanceId = instanceName + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("report-job-");
+        executor.setCorePoolSize(properties.getMaxConcurrentJobs());
+        executor.setMaxPoolSize(properties.getMaxConcurrentJobs());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.initialize();
+
+        // Long-poll answers query the job off the JDK delayer and job worker threads
+        this.awaitExecutor = new ThreadPoolTaskExecutor();
+        awaitExecutor.setThreadNamePrefix("report-job-await-");
+        awaitExecutor.setCorePoolSize(2);
+        awaitExecutor.setMaxPoolSize(2);
+        awaitExecutor.initialize();
+
+        this.heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setThreadNamePrefix("report-job-heartbeat-");
+        heartbeatScheduler.setPoolSize(1);
+        heartbeatScheduler.initialize();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat,
+                Instant.now().plus(properties.getHeartbeatInterval()), properties.getHeartbeatInterval());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeatScheduler.shutdown();
+        executor.shutdown();
+        awaitExecutor.shutdown();
+    }
+
+    /**
+     * Fail the jobs an earlier process on this host left behind. A sibling process sharing the
+     * host name keeps its heartbeats current, so only jobs that missed two heartbeats count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failOrphanedJobs() {
+        int orphaned = jdbcTemplate.update("UPDATE report_jobs SET status = 'FAILED', error = 'Abandoned on restart', " +
+                        "completed_at = now(), expires_at = now() WHERE status IN ('QUEUED', 'RUNNING') " +
+                        "AND starts_with(owner_instance, ?) AND owner_instance <> ? " +
+                        "AND heartbeat_at < now() - make_interval(secs => ?)",
+                instanceName + "-", instanceId, properties.getHeartbeatInterval().multipliedBy(2).toMillis() / 1000.0);
+        if (orphaned > 0) {
+            log.warn("Marked {} report jobs left behind on {} as failed", orphaned, instanceName);
+        }
+    }
+
+    void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE report_jobs SET heartbeat_at = now() " +
+                "WHERE owner_instance = ? AND status IN ('QUEUED', 'RUNNING')", instanceId);
+    }
+
+    /**
+     * Return the job answering this request, queueing a new one only when no identical job
+     * is in flight or has an unexpired result
+     */
+    public ReportJobDto submit(ReportJobRequest request) {
+        if (!request.getEndDate().isAfter(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must be after startDate");
+        }
+        String hash = paramsHash(request);
+        abandonStaleJobs();
+
+        ReportJobDto existing = findReusable(hash);
+        if (existing != null) {
+            reusedJobs.increment();
+            log.debug("Report job {} reused for {} {}", existing.getId(), request.getReportType(), hash);
+            return existing;
+        }
+
+        UUID id = UUID.randomUUID();
+        int inserted = jdbcTemplate.update("INSERT INTO report_jobs (id, report_type, params_hash, start_date, end_date, status, " +
+                        "owner_instance, heartbeat_at) VALUES (?, ?, ?, ?, ?, 'QUEUED', ?, now()) " +
+                        "ON CONFLICT (params_hash) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING",
+                id, request.getReportType().name(), hash,
+                Timestamp.valueOf(request.getStartDate()), Timestamp.valueOf(request.getEndDate()), instanceId);
+        if (inserted == 0) {
+            // Lost the race to an identical submission; share its job
+            ReportJobDto winner = findReusable(hash);
+            if (winner != null) {
+                reusedJobs.increment();
+                return winner;
+            }
+            throw new IllegalStateException("Report job for " + hash + " vanished while submitting");
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        running.put(id, done);
+        try {
+            executor.execute(() -> run(id, request, done));
+        } catch (TaskRejectedException e) {
+            running.remove(id);
+            markFailed(id, "Report queue is full");
+            throw e;
+        }
+        log.info("Report job {} queued: {} from {} to {}", id, request.getReportType(),
+                request.getStartDate(), request.getEndDate());
+        return getJob(id);
+    }
+
+    public ReportJobDto getJob(UUID id) {
+        List<ReportJobDto> jobs = jdbcTemplate.query("SELECT " + COLUMNS + " FROM report_jobs WHERE id = ?", ROW_MAPPER, id);
+        if (jobs.isEmpty()) {
+            throw new ResourceNotFoundException("Report job not found with id: " + id);
+        }
+        return jobs.get(0);
+    }
+
+    /**
+     * The job once it finishes or {@code wait} elapses, whichever comes first. Jobs running on
+     * another instance are returned as they are, so clients fall back to polling.
+     */
+    public CompletableFuture<ReportJobDto> awaitJob(UUID id, Duration wait) {
+        ReportJobDto job = getJob(id);
+        CompletableFuture<Void> done = running.get(id);
+        if (job.getStatus().isFinished() || done == null || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(job);
+        }
+        long waitMillis = Math.min(wait.toMillis(), properties.getMaxWait().toMillis());
+        return done.copy()
+                .completeOnTimeout(null, waitMillis, TimeUnit.MILLISECONDS)
+                .thenApplyAsync(ignored -> getJob(id), awaitExecutor);
+    }
+
+    private void run(UUID id, ReportJobRequest request, CompletableFuture<Void> done) {
+        long started = System.nanoTime();
+        String outcome = "failed";
+        try {
+            int claimed = jdbcTemplate.update(
+                    "UPDATE report_jobs SET status = 'RUNNING', started_at = now(), heartbeat_at = now() " +
+                    "WHERE id = ? AND status = 'QUEUED'", id);
+            if (claimed == 0) {
+                log.warn("Report job {} was no longer queued when its turn came", id);
+                return;
+            }
+            Object report = switch (request.getReportType()) {
+                case REVENUE -> analyticsService.getRevenueAnalytics(request.getStartDate(), request.getEndDate());
+                case UTILIZATION -> analyticsService.getUtilizationAnalytics(request.getStartDate(), request.getEndDate());
+            };
+            String result = objectMapper.writeValueAsString(report);
+            int completed = jdbcTemplate.update("UPDATE report_jobs SET status = 'COMPLETED', result = ?, completed_at = now(), " +
+                            "expires_at = now() + make_interval(secs => ?) WHERE id = ? AND status = 'RUNNING'",
+                    result, properties.getResultTtl().toSeconds(), id);
+            if (completed == 0) {
+                log.warn("Report job {} was abandoned while running, discarding its result", id);
+                return;
+            }
+            outcome = "completed";
+            log.info("Report job {} completed in {} ms", id, (System.nanoTime() - started) / 1_000_000);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Report job {} failed", id, e);
+            markFailed(id, e.getMessage());
+        } finally {
+            jobTimers.get(request.getReportType() + "|" + outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            running.remove(id);
+            done.complete(null);
+        }
+    }
+
+    private ReportJobDto findReusable(String hash) {
+        List<ReportJobDto> jobs = jdbcTemplate.query("SELECT " + COLUMNS + " FROM report_jobs " +
+                "WHERE params_hash = ? AND (status IN ('QUEUED', 'RUNNING') OR (status = 'COMPLETED' AND expires_at > now())) " +
+                "ORDER BY created_at DESC LIMIT 1", ROW_MAPPER, hash);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /**
+     * Fail in-flight jobs whose owner stopped sending heartbeats, or that exceeded the run limit
+     */
+    private void abandonStaleJobs() {
+        int abandoned = jdbcTemplate.update("UPDATE report_jobs SET status = 'FAILED', error = 'Abandoned', " +
+                        "completed_at = now(), expires_at = now() WHERE status IN ('QUEUED', 'RUNNING') " +
+                        "AND (heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => ?) " +
+                        "OR created_at < now() - make_interval(secs => ?))",
+                properties.getHeartbeatTimeout().toSeconds(), properties.getMaxRunTime().toSeconds());
+        if (abandoned > 0) {
+            log.warn("Marked {} stale report jobs as failed", abandoned);
+        }
+    }
+
+    private void markFailed(UUID id, String error) {
+        jdbcTemplate.update("UPDATE report_jobs SET status = 'FAILED', error = ?, completed_at = now(), expires_at = now() " +
+                "WHERE id = ? AND status IN ('QUEUED', 'RUNNING')", error, id);
+    }
+
+    static String paramsHash(ReportJobRequest request) {
+        String canonical = request.getReportType() + "|" + request.getStartDate() + "|" + request.getEndDate();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve the host name; set app.report-jobs.instance-id", e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
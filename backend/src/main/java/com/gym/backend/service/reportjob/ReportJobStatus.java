@@ -0,0 +1,15 @@
+package com.gym.backend.service.reportjob;
+
+/**
+ * Lifecycle of a report job
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,9 @@
+package com.gym.backend.service.reportjob;
+
+/**
+ * Reports that can be run as background jobs
+ */
+public enum ReportType {
+    REVENUE,
+    UTILIZATION
+}
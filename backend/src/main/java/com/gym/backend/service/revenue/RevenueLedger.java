@@ -0,0 +1,103 @@
+package com.gym.backend.service.revenue;
+
+import com.gym.backend.entity.Payment;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily revenue ledger: exact decimal sums per day, membership plan, payment method and currency.
+ * Payments and refunds add to it in the transaction that changes the payment, so reports read a
+ * few hundred ledger rows instead of aggregating the payments table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevenueLedger {
+
+    private static final String UPSERT =
+            "INSERT INTO daily_revenue_ledger (revenue_date, membership_plan_id, payment_method, currency, " +
+            "gross_amount, refunded_amount, payment_count, refund_count, updated_at) " +
+            "VALUES (?, (SELECT s.membership_plan_id FROM subscriptions s WHERE s.id = ?), ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (revenue_date, (COALESCE(membership_plan_id, 0)), payment_method, currency) DO UPDATE SET " +
+            "gross_amount = daily_revenue_ledger.gross_amount + EXCLUDED.gross_amount, " +
+            "refunded_amount = daily_revenue_ledger.refunded_amount + EXCLUDED.refunded_amount, " +
+            "payment_count = daily_revenue_ledger.payment_count + EXCLUDED.payment_count, " +
+            "refund_count = daily_revenue_ledger.refund_count + EXCLUDED.refund_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String UNASSIGNED_PLAN = "Unassigned";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add a completed payment to the ledger on its payment day
+     */
+    public void recordPayment(Payment payment) {
+        upsert(payment, payment.getPaymentDate().toLocalDate(), payment.getAmount(), BigDecimal.ZERO, 1, 0);
+    }
+
+    /**
+     * Add a refund against a payment to the ledger on the day it was issued
+     */
+    public void recordRefund(Payment payment, BigDecimal refundAmount, LocalDate refundDate) {
+        upsert(payment, refundDate, BigDecimal.ZERO, refundAmount, 0, 1);
+    }
+
+    /**
+     * Net revenue (gross minus refunds) per month, plan and payment method, both dates inclusive
+     */
+    public List<LedgerTotal> findNetRevenue(LocalDate from, LocalDate to, String currency) {
+        return jdbcTemplate.query(
+                "SELECT to_char(l.revenue_date, 'YYYY-MM') AS month, COALESCE(mp.name, ?) AS plan, " +
+                        "l.payment_method, SUM(l.gross_amount - l.refunded_amount) AS net_amount " +
+                        "FROM daily_revenue_ledger l " +
+                        "LEFT JOIN membership_plans mp ON mp.id = l.membership_plan_id " +
+                        "WHERE l.currency = ? AND l.revenue_date BETWEEN ? AND ? " +
+                        "GROUP BY 1, 2, 3 ORDER BY 1, 2, 3",
+                (rs, rowNum) -> new LedgerTotal(
+                        rs.getString("month"),
+                        rs.getString("plan"),
+                        rs.getString("payment_method"),
+                        rs.getBigDecimal("net_amount")),
+                UNASSIGNED_PLAN, currency, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Net revenue over a date range, both dates inclusive
+     */
+    public BigDecimal sumNetRevenue(LocalDate from, LocalDate to, String currency) {
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT SUM(gross_amount - refunded_amount) FROM daily_revenue_ledger " +
+                        "WHERE currency = ? AND revenue_date BETWEEN ? AND ?",
+                BigDecimal.class, currency, Date.valueOf(from), Date.valueOf(to));
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    private void upsert(Payment payment, LocalDate day, BigDecimal gross, BigDecimal refunded,
+                        int payments, int refunds) {
+        Long subscriptionId = payment.getSubscription() != null ? payment.getSubscription().getId() : null;
+        jdbcTemplate.update(UPSERT, Date.valueOf(day), subscriptionId, payment.getPaymentMethod().name(),
+                payment.getCurrency(), gross, refunded, payments, refunds);
+        log.debug("Ledger {} {} {}: +{} gross, +{} refunded", day, payment.getPaymentMethod(),
+                payment.getCurrency(), gross, refunded);
+    }
+
+    /**
+     * One aggregated ledger slice
+     */
+    @Value
+    public static class LedgerTotal {
+        String month;
+        String plan;
+        String paymentMethod;
+        BigDecimal netAmount;
+    }
+}
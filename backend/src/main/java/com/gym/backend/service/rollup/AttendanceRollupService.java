@@ -0,0 +1,254 @@
+package com.gym.backend.service.rollup;
+
+import com.gym.backend.config.AnalyticsProperties;
+import com.gym.backend.config.AttendanceRollupProperties;
+import com.gym.backend.datasource.ReportingWorkload;
+import com.gym.backend.dto.analytics.AttendanceTrendDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hourly and daily attendance rollups keyed by visit type, member segment and room.
+ *
+ * A scheduled refresh recomputes only the hours holding attendance rows changed since the
+ * last watermark, then re-sums the days those hours fall in. Trend reports read whole days
+ * and hours from the rollups and scan raw attendance only for partial hours and for the
+ * tail after the watermark, normally just the current hour.
+ */
+@Slf4j
+@Service
+@ReportingWorkload
+public class AttendanceRollupService {
+
+    private static final String ROLLUP_NAME = "attendance";
+
+    /** Arbitrary application-wide key for the rollup refresh advisory lock */
+    private static final long ADVISORY_LOCK_KEY = 0x67796d726cL;
+
+    private static final String DIMENSIONS = "a.visit_type AS visit_type, " +
+            "COALESCE(NULLIF(mp.membership_type, ''), 'UNSPECIFIED') AS member_segment, " +
+            "COALESCE(cs.room_name, pt.room_location, 'UNASSIGNED') AS room";
+
+    // Visit length is capped so a forgotten check-out does not inflate the totals
+    private static final String MEASURES = "COUNT(*) AS visits, COUNT(a.check_out_time) AS completed, " +
+            "COALESCE(SUM(CASE WHEN a.check_out_time IS NOT NULL THEN " +
+            "LEAST(GREATEST(EXTRACT(EPOCH FROM a.check_out_time - a.check_in_time), 0)::bigint / 60, ?) END), 0) AS minutes";
+
+    private static final String DIMENSION_JOINS =
+            " LEFT JOIN member_profiles mp ON mp.id = a.member_id" +
+            " LEFT JOIN class_bookings cb ON cb.id = a.class_booking_id" +
+            " LEFT JOIN class_schedules cs ON cs.id = cb.class_schedule_id" +
+            " LEFT JOIN pt_sessions pt ON pt.id = a.pt_session_id";
+
+    private static final String REFRESH_HOURLY =
+            "INSERT INTO attendance_rollup_hourly (bucket_start, visit_type, member_segment, room, " +
+            "visit_count, completed_count, visit_minutes) " +
+            "SELECT t.bucket_start, " + DIMENSIONS + ", " + MEASURES +
+            " FROM attendance_rollup_touched t" +
+            " JOIN attendance a ON a.check_in_time >= t.bucket_start AND a.check_in_time < t.bucket_start + INTERVAL '1 hour'" +
+            DIMENSION_JOINS +
+            " GROUP BY 1, 2, 3, 4";
+
+    private static final String REFRESH_DAILY =
+            "INSERT INTO attendance_rollup_daily (bucket_date, visit_type, member_segment, room, " +
+            "visit_count, completed_count, visit_minutes) " +
+            "SELECT d.bucket_date, h.visit_type, h.member_segment, h.room, " +
+            "SUM(h.visit_count), SUM(h.completed_count), SUM(h.visit_minutes) " +
+            "FROM (SELECT DISTINCT bucket_start::date AS bucket_date FROM attendance_rollup_touched) d " +
+            "JOIN attendance_rollup_hourly h ON h.bucket_start >= d.bucket_date AND h.bucket_start < d.bucket_date + 1 " +
+            "GROUP BY 1, 2, 3, 4";
+
+    private static final String READ_HOURLY =
+            "SELECT date_trunc(?, bucket_start) AS bucket, visit_type, member_segment, room, " +
+            "SUM(visit_count) AS visits, SUM(completed_count) AS completed, SUM(visit_minutes) AS minutes " +
+            "FROM attendance_rollup_hourly WHERE bucket_start >= ? AND bucket_start < ? GROUP BY 1, 2, 3, 4";
+
+    private static final String READ_DAILY =
+            "SELECT date_trunc(?, bucket_date::timestamp) AS bucket, visit_type, member_segment, room, " +
+            "SUM(visit_count) AS visits, SUM(completed_count) AS completed, SUM(visit_minutes) AS minutes " +
+            "FROM attendance_rollup_daily WHERE bucket_date >= ?::date AND bucket_date < ?::date GROUP BY 1, 2, 3, 4";
+
+    private static final String READ_RAW =
+            "SELECT date_trunc(?, a.check_in_time) AS bucket, " + DIMENSIONS + ", " + MEASURES +
+            " FROM attendance a" + DIMENSION_JOINS +
+            " WHERE a.check_in_time >= ? AND a.check_in_time < ? GROUP BY 1, 2, 3, 4";
+
+    private static final RowMapper<RollupRow> ROW_MAPPER = (rs, rowNum) -> new RollupRow(
+            rs.getTimestamp("bucket").toLocalDateTime(),
+            rs.getString("visit_type"),
+            rs.getString("member_segment"),
+            rs.getString("room"),
+            rs.getLong("visits"),
+            rs.getLong("completed"),
+            rs.getLong("minutes"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupWatermarks watermarks;
+    private final AttendanceRollupProperties properties;
+    private final AnalyticsProperties analyticsProperties;
+    private final Timer refreshTimer;
+    private final Counter refreshedBuckets;
+
+    public AttendanceRollupService(JdbcTemplate jdbcTemplate,
+                                   RollupWatermarks watermarks,
+                                   AttendanceRollupProperties properties,
+                                   AnalyticsProperties analyticsProperties,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.watermarks = watermarks;
+        this.properties = properties;
+        this.analyticsProperties = analyticsProperties;
+        this.refreshTimer = Timer.builder("attendance.rollup.refresh.duration")
+                .description("Duration of an incremental attendance rollup refresh")
+                .register(meterRegistry);
+        this.refreshedBuckets = Counter.builder("attendance.rollup.refreshed.hours")
+                .description("Hourly attendance buckets recomputed by rollup refreshes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled entry point
+     */
+    @Scheduled(initialDelayString = "${app.attendance-rollup.refresh-interval:PT1M}",
+            fixedDelayString = "${app.attendance-rollup.refresh-interval:PT1M}")
+    @Transactional
+    public void scheduledRefresh() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Recompute the buckets touched since the watermark and advance it. Returns the number of
+     * hourly buckets recomputed, or -1 when another instance is refreshing. The first run,
+     * with no watermark yet, rebuilds every bucket.
+     */
+    @Transactional
+    public int refresh() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Attendance rollup refresh skipped: another instance holds the lock");
+            return -1;
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime previous = watermarks.find(ROLLUP_NAME);
+        LocalDateTime watermark = LocalDateTime.now().minus(properties.getCommitLag());
+
+        String touched = "CREATE TEMP TABLE attendance_rollup_touched ON COMMIT DROP AS " +
+                "SELECT DISTINCT date_trunc('hour', check_in_time) AS bucket_start FROM attendance";
+        if (previous != null) {
+            jdbcTemplate.update(touched + " WHERE updated_at > ?", Timestamp.valueOf(previous));
+        } else {
+            jdbcTemplate.update(touched);
+        }
+        Integer hours = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_rollup_touched", Integer.class);
+
+        if (hours != null && hours > 0) {
+            jdbcTemplate.update("DELETE FROM attendance_rollup_hourly h USING attendance_rollup_touched t " +
+                    "WHERE h.bucket_start = t.bucket_start");
+            jdbcTemplate.update(REFRESH_HOURLY, maxVisitMinutes());
+            jdbcTemplate.update("DELETE FROM attendance_rollup_daily d " +
+                    "USING (SELECT DISTINCT bucket_start::date AS bucket_date FROM attendance_rollup_touched) t " +
+                    "WHERE d.bucket_date = t.bucket_date");
+            jdbcTemplate.update(REFRESH_DAILY);
+        }
+
+        watermarks.advance(ROLLUP_NAME, watermark);
+
+        int refreshed = hours != null ? hours : 0;
+        refreshedBuckets.increment(refreshed);
+        refreshTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Attendance rollup refreshed {} hours, watermark {}", refreshed, watermark);
+        return refreshed;
+    }
+
+    /**
+     * Visits per bucket over [startDate, endDate), with totals by visit type, member segment and room
+     */
+    @Transactional(readOnly = true)
+    public AttendanceTrendDto getAttendanceTrend(LocalDateTime startDate, LocalDateTime endDate,
+                                                 RollupGranularity granularity) {
+        log.info("Generating {} attendance trend from {} to {}", granularity, startDate, endDate);
+
+        LocalDateTime watermark = watermarks.find(ROLLUP_NAME);
+        LocalDateTime rolledUpThrough = watermark != null ? RollupGranularity.HOUR.floor(watermark) : null;
+
+        List<RollupRow> rows = new ArrayList<>();
+        for (RollupSegment segment : RollupSegment.plan(startDate, endDate, rolledUpThrough, granularity)) {
+            rows.addAll(read(segment, granularity));
+        }
+
+        Map<LocalDateTime, long[]> buckets = new TreeMap<>();
+        Map<String, Long> byType = new TreeMap<>();
+        Map<String, Long> bySegment = new TreeMap<>();
+        Map<String, Long> byRoom = new TreeMap<>();
+        long total = 0;
+        for (RollupRow row : rows) {
+            long[] bucket = buckets.computeIfAbsent(row.getBucket(), key -> new long[3]);
+            bucket[0] += row.getVisits();
+            bucket[1] += row.getCompleted();
+            bucket[2] += row.getMinutes();
+            byType.merge(row.getVisitType(), row.getVisits(), Long::sum);
+            bySegment.merge(row.getMemberSegment(), row.getVisits(), Long::sum);
+            byRoom.merge(row.getRoom(), row.getVisits(), Long::sum);
+            total += row.getVisits();
+        }
+
+        List<AttendanceTrendDto.TrendPoint> points = new ArrayList<>(buckets.size());
+        buckets.forEach((start, sums) -> points.add(new AttendanceTrendDto.TrendPoint(start, sums[0], sums[1],
+                sums[1] > 0 ? Math.round(sums[2] * 10.0 / sums[1]) / 10.0 : null)));
+
+        AttendanceTrendDto trend = new AttendanceTrendDto();
+        trend.setGranularity(granularity.name());
+        trend.setPoints(points);
+        trend.setTotalVisits(total);
+        trend.setVisitsByType(byType);
+        trend.setVisitsByMemberSegment(bySegment);
+        trend.setVisitsByRoom(byRoom);
+        trend.setRolledUpThrough(rolledUpThrough);
+        trend.setReportGeneratedAt(LocalDateTime.now());
+        return trend;
+    }
+
+    private List<RollupRow> read(RollupSegment segment, RollupGranularity granularity) {
+        Timestamp from = Timestamp.valueOf(segment.getFrom());
+        Timestamp to = Timestamp.valueOf(segment.getTo());
+        return switch (segment.getSource()) {
+            case HOURLY -> jdbcTemplate.query(READ_HOURLY, ROW_MAPPER, granularity.sqlField(), from, to);
+            case DAILY -> jdbcTemplate.query(READ_DAILY, ROW_MAPPER, granularity.sqlField(), from, to);
+            case RAW -> jdbcTemplate.query(READ_RAW, ROW_MAPPER, granularity.sqlField(), maxVisitMinutes(), from, to);
+        };
+    }
+
+    private long maxVisitMinutes() {
+        return analyticsProperties.getMaxVisitLength().toMinutes();
+    }
+
+    @Value
+    private static class RollupRow {
+        LocalDateTime bucket;
+        String visitType;
+        String memberSegment;
+        String room;
+        long visits;
+        long completed;
+        long minutes;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gym.backend.service.rollup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Bucket sizes attendance trends can be reported in
+ */
+public enum RollupGranularity {
+
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public static RollupGranularity fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(granularity -> granularity.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported granularity: " + value));
+    }
+
+    /**
+     * Field name for Postgres {@code date_trunc}
+     */
+    String sqlField() {
+        return name().toLowerCase();
+    }
+
+    LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+}
@@ -0,0 +1,64 @@
+package com.gym.backend.service.rollup;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A half-open slice [from, to) of a report range and the table that answers it
+ */
+@Value
+class RollupSegment {
+
+    enum Source { RAW, HOURLY, DAILY }
+
+    Source source;
+    LocalDateTime from;
+    LocalDateTime to;
+
+    /**
+     * Split [start, end) so whole days come from the daily rollup, whole hours from the hourly
+     * rollup and only partial hours, or anything at or after {@code rolledUpThrough}, from raw
+     * attendance. Daily rows are only used when the report is bucketed by day.
+     */
+    static List<RollupSegment> plan(LocalDateTime start, LocalDateTime end, LocalDateTime rolledUpThrough,
+                                    RollupGranularity granularity) {
+        List<RollupSegment> segments = new ArrayList<>();
+        if (!start.isBefore(end)) {
+            return segments;
+        }
+
+        LocalDateTime hourStart = RollupGranularity.HOUR.ceil(start);
+        LocalDateTime hourEnd = RollupGranularity.HOUR.floor(end);
+        if (rolledUpThrough == null) {
+            hourEnd = hourStart;
+        } else if (rolledUpThrough.isBefore(hourEnd)) {
+            hourEnd = RollupGranularity.HOUR.floor(rolledUpThrough);
+        }
+        if (!hourStart.isBefore(hourEnd)) {
+            segments.add(new RollupSegment(Source.RAW, start, end));
+            return segments;
+        }
+
+        add(segments, Source.RAW, start, hourStart);
+        LocalDateTime dayStart = RollupGranularity.DAY.ceil(hourStart);
+        LocalDateTime dayEnd = RollupGranularity.DAY.floor(hourEnd);
+        if (granularity == RollupGranularity.DAY && dayStart.isBefore(dayEnd)) {
+            add(segments, Source.HOURLY, hourStart, dayStart);
+            add(segments, Source.DAILY, dayStart, dayEnd);
+            add(segments, Source.HOURLY, dayEnd, hourEnd);
+        } else {
+            add(segments, Source.HOURLY, hourStart, hourEnd);
+        }
+        add(segments, Source.RAW, hourEnd, end);
+        return segments;
+    }
+
+    private static void add(List<RollupSegment> segments, Source source, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new RollupSegment(source, from, to));
+        }
+    }
+}
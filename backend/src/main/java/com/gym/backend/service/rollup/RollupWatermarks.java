@@ -0,0 +1,39 @@
+package com.gym.backend.service.rollup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-rollup watermarks in rollup_watermarks. A rollup has folded in every source row
+ * updated at or before its watermark; its next refresh starts from there.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupWatermarks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The rollup's watermark, or null before its first refresh
+     */
+    public LocalDateTime find(String rollupName) {
+        List<LocalDateTime> watermarks = jdbcTemplate.query(
+                "SELECT watermark FROM rollup_watermarks WHERE rollup_name = ?",
+                (rs, rowNum) -> rs.getTimestamp("watermark").toLocalDateTime(), rollupName);
+        return watermarks.isEmpty() ? null : watermarks.get(0);
+    }
+
+    /**
+     * Move the rollup's watermark forward to the given instant; it never moves back
+     */
+    public void advance(String rollupName, LocalDateTime watermark) {
+        jdbcTemplate.update("INSERT INTO rollup_watermarks (rollup_name, watermark, refreshed_at) VALUES (?, ?, now()) " +
+                "ON CONFLICT (rollup_name) DO UPDATE SET watermark = GREATEST(rollup_watermarks.watermark, EXCLUDED.watermark), " +
+                "refreshed_at = EXCLUDED.refreshed_at", rollupName, Timestamp.valueOf(watermark));
+    }
+}
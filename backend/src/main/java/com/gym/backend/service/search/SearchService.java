@@ -0,0 +1,113 @@
+package com.gym.backend.service.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.backend.datasource.ReportingWorkload;
+import com.gym.backend.dto.SearchPage;
+import com.gym.backend.dto.UserSearchResultDto;
+import com.gym.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Admin user search backed by the pg_trgm GIN indexes on name and email. Every token of the
+ * search term must match first name, last name or email, either as a substring or, for names,
+ * by trigram similarity so small typos still match. Results are ranked by word similarity of
+ * the whole term against the user's name and email.
+ *
+ * Totals are counted exactly up to {@link #EXACT_COUNT_LIMIT}; beyond that the planner's row
+ * estimate is returned instead of scanning every match for a {@code COUNT(*)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    static final int EXACT_COUNT_LIMIT = 1_000;
+
+    private static final String USER_TOKEN_FILTER = "(lower(u.first_name) LIKE ? OR lower(u.last_name) LIKE ? " +
+            "OR lower(u.email) LIKE ? OR lower(u.first_name) % ? OR lower(u.last_name) % ?)";
+
+    private static final String USER_SEARCH_TEXT = "lower(u.first_name || ' ' || u.last_name || ' ' || u.email)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Search users by name or email, best matches first
+     */
+    @ReportingWorkload
+    @Transactional(readOnly = true)
+    public SearchPage<UserSearchResultDto> searchUsers(String term, int page, Integer size) {
+        List<String> tokens = SearchTerms.tokens(term);
+        int pageSize = KeysetCursor.pageSize(size);
+        int pageNumber = Math.max(page, 0);
+        log.debug("Searching users for '{}' (page {}, size {})", term, pageNumber, pageSize);
+
+        String where = tokens.stream().map(token -> USER_TOKEN_FILTER).collect(Collectors.joining(" AND "));
+        List<Object> filterArgs = new ArrayList<>(tokens.size() * 5);
+        for (String token : tokens) {
+            String pattern = SearchTerms.containsPattern(token);
+            filterArgs.addAll(List.of(pattern, pattern, pattern, token, token));
+        }
+
+        List<Object> pageArgs = new ArrayList<>(filterArgs.size() + 3);
+        pageArgs.add(SearchTerms.normalize(term));
+        pageArgs.addAll(filterArgs);
+        pageArgs.add(pageSize);
+        pageArgs.add((long) pageNumber * pageSize);
+        List<UserSearchResultDto> items = jdbcTemplate.query(
+                "SELECT u.id, u.email, u.first_name, u.last_name, u.phone_number, u.is_active, " +
+                        "word_similarity(?, " + USER_SEARCH_TEXT + ") AS score " +
+                        "FROM users u WHERE " + where + " ORDER BY score DESC, u.id LIMIT ? OFFSET ?",
+                (rs, rowNum) -> new UserSearchResultDto(
+                        rs.getLong("id"),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("phone_number"),
+                        rs.getBoolean("is_active"),
+                        rs.getDouble("score")),
+                pageArgs.toArray());
+
+        String matching = "SELECT 1 FROM users u WHERE " + where;
+        long total;
+        boolean exact;
+        if (pageNumber == 0 && items.size() < pageSize) {
+            // The whole result fits on the first page, so it is its own count
+            total = items.size();
+            exact = true;
+        } else {
+            List<Object> countArgs = new ArrayList<>(filterArgs);
+            countArgs.add(EXACT_COUNT_LIMIT + 1);
+            total = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM (" + matching + " LIMIT ?) capped", Long.class, countArgs.toArray());
+            exact = total <= EXACT_COUNT_LIMIT;
+            if (!exact) {
+                total = Math.max(total, estimateRows(matching, filterArgs));
+            }
+        }
+        return new SearchPage<>(items, pageNumber, pageSize, total, exact);
+    }
+
+    /**
+     * Row estimate for a query from the planner's statistics, without executing it
+     */
+    long estimateRows(String sql, List<Object> args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args.toArray());
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (Exception e) {
+            log.warn("Could not read planner estimate: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gym.backend.service.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalization of free-text search input for trigram queries
+ */
+public final class SearchTerms {
+
+    /**
+     * Shortest token a trigram index can serve; a LIKE pattern with fewer characters
+     * yields no trigrams and degrades to a full index scan
+     */
+    public static final int MIN_TOKEN_LENGTH = 3;
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Lower-cased tokens long enough to be matched through the trigram index
+     *
+     * @throws IllegalArgumentException when no token is long enough
+     */
+    public static List<String> tokens(String term) {
+        List<String> tokens = Arrays.stream(normalize(term).split("\\s+"))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .toList();
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search term must contain at least " + MIN_TOKEN_LENGTH + " characters");
+        }
+        return tokens;
+    }
+
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Infix LIKE pattern matching the token literally
+     */
+    public static String containsPattern(String token) {
+        return "%" + token.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
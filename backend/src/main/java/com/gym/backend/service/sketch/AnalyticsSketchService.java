@@ -0,0 +1,289 @@
+package com.gym.backend.service.sketch;
+
+import com.gym.backend.config.AnalyticsSketchProperties;
+import com.gym.backend.datasource.ReportingWorkload;
+import com.gym.backend.dto.analytics.PopularClassesDto;
+import com.gym.backend.dto.analytics.UniqueVisitorsDto;
+import com.gym.backend.service.rollup.RollupWatermarks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unique visitors and most-booked schedules and trainers from persisted daily sketches.
+ *
+ * Each day keeps a {@link HyperLogLog} of the members who checked in and {@link TopKSketch}es
+ * of bookings per schedule and per trainer. Reports merge the days in range, so their cost
+ * grows with the number of days rather than rows. A scheduled refresh rebuilds only the days
+ * holding attendance or bookings changed since the watermark; sketches cannot subtract, so a
+ * touched day is always rebuilt from its source rows.
+ */
+@Slf4j
+@Service
+@ReportingWorkload
+public class AnalyticsSketchService {
+
+    private static final String WATERMARK_NAME = "analytics_sketches";
+
+    /** Arbitrary application-wide key for the sketch refresh advisory lock */
+    private static final long ADVISORY_LOCK_KEY = 0x67796d736bL;
+
+    private static final int MAX_TOP = 100;
+
+    private static final String TOUCHED_DAYS =
+            "CREATE TEMP TABLE analytics_sketch_touched ON COMMIT DROP AS " +
+            "SELECT check_in_time::date AS sketch_date FROM attendance%1$s " +
+            "UNION SELECT booking_date::date FROM class_bookings%1$s";
+
+    private static final String ATTENDANCE_MEMBERS =
+            "SELECT t.sketch_date, a.member_id FROM analytics_sketch_touched t " +
+            "JOIN attendance a ON a.check_in_time >= t.sketch_date AND a.check_in_time < t.sketch_date + 1 " +
+            "ORDER BY t.sketch_date";
+
+    private static final String BOOKING_COUNTS =
+            "SELECT t.sketch_date, cb.class_schedule_id, gc.trainer_id, COUNT(*) AS bookings " +
+            "FROM analytics_sketch_touched t " +
+            "JOIN class_bookings cb ON cb.booking_date >= t.sketch_date AND cb.booking_date < t.sketch_date + 1 " +
+            "JOIN class_schedules cs ON cs.id = cb.class_schedule_id " +
+            "JOIN gym_classes gc ON gc.id = cs.gym_class_id " +
+            "WHERE cb.status <> 'CANCELLED' " +
+            "GROUP BY 1, 2, 3 ORDER BY 1";
+
+    private static final String INSERT_SKETCH =
+            "INSERT INTO analytics_daily_sketches (sketch_date, sketch_type, payload, item_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, now())";
+
+    private static final String READ_SKETCHES =
+            "SELECT sketch_date, payload FROM analytics_daily_sketches " +
+            "WHERE sketch_type = ? AND sketch_date >= ? AND sketch_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupWatermarks watermarks;
+    private final AnalyticsSketchProperties properties;
+    private final Timer refreshTimer;
+    private final Counter refreshedDays;
+
+    public AnalyticsSketchService(JdbcTemplate jdbcTemplate,
+                                  RollupWatermarks watermarks,
+                                  AnalyticsSketchProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.watermarks = watermarks;
+        this.properties = properties;
+        this.refreshTimer = Timer.builder("analytics.sketch.refresh.duration")
+                .description("Duration of an incremental analytics sketch refresh")
+                .register(meterRegistry);
+        this.refreshedDays = Counter.builder("analytics.sketch.refreshed.days")
+                .description("Days whose analytics sketches were rebuilt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled entry point
+     */
+    @Scheduled(initialDelayString = "${app.analytics-sketch.refresh-interval:PT5M}",
+            fixedDelayString = "${app.analytics-sketch.refresh-interval:PT5M}")
+    @Transactional
+    public void scheduledRefresh() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuild the sketches of days touched since the watermark and advance it. Returns the
+     * number of days rebuilt, or -1 when another instance is refreshing. The first run, with
+     * no watermark yet, builds every day.
+     */
+    @Transactional
+    public int refresh() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Analytics sketch refresh skipped: another instance holds the lock");
+            return -1;
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime previous = watermarks.find(WATERMARK_NAME);
+        LocalDateTime watermark = LocalDateTime.now().minus(properties.getCommitLag());
+
+        if (previous != null) {
+            Timestamp since = Timestamp.valueOf(previous);
+            jdbcTemplate.update(String.format(TOUCHED_DAYS, " WHERE updated_at > ?"), since, since);
+        } else {
+            jdbcTemplate.update(String.format(TOUCHED_DAYS, ""));
+        }
+        Integer days = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM analytics_sketch_touched", Integer.class);
+
+        if (days != null && days > 0) {
+            jdbcTemplate.update("DELETE FROM analytics_daily_sketches s USING analytics_sketch_touched t " +
+                    "WHERE s.sketch_date = t.sketch_date");
+            List<Object[]> sketches = new ArrayList<>();
+            buildUniqueMembers(sketches);
+            buildBookings(sketches);
+            jdbcTemplate.batchUpdate(INSERT_SKETCH, sketches);
+        }
+
+        watermarks.advance(WATERMARK_NAME, watermark);
+
+        int refreshed = days != null ? days : 0;
+        refreshedDays.increment(refreshed);
+        refreshTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Analytics sketches rebuilt for {} days, watermark {}", refreshed, watermark);
+        return refreshed;
+    }
+
+    /**
+     * Estimated distinct members who checked in per period over [startDate, endDate)
+     */
+    @Transactional(readOnly = true)
+    public UniqueVisitorsDto getUniqueVisitors(LocalDate startDate, LocalDate endDate, SketchPeriod period) {
+        log.info("Estimating {} unique visitors from {} to {}", period, startDate, endDate);
+
+        Map<LocalDate, HyperLogLog> periods = new TreeMap<>();
+        HyperLogLog total = new HyperLogLog();
+        RowCallbackHandler merge = rs -> {
+            HyperLogLog day = HyperLogLog.fromBytes(rs.getBytes("payload"));
+            periods.computeIfAbsent(period.floor(rs.getDate("sketch_date").toLocalDate()), key -> new HyperLogLog())
+                    .merge(day);
+            total.merge(day);
+        };
+        jdbcTemplate.query(READ_SKETCHES, merge, SketchType.UNIQUE_MEMBERS.name(),
+                Date.valueOf(startDate), Date.valueOf(endDate));
+
+        List<UniqueVisitorsDto.PeriodPoint> points = new ArrayList<>(periods.size());
+        periods.forEach((start, sketch) -> points.add(new UniqueVisitorsDto.PeriodPoint(start, sketch.estimate())));
+
+        UniqueVisitorsDto visitors = new UniqueVisitorsDto();
+        visitors.setPeriod(period.name());
+        visitors.setPoints(points);
+        visitors.setTotalUniqueMembers(total.estimate());
+        visitors.setRelativeStandardError(HyperLogLog.RELATIVE_STANDARD_ERROR);
+        visitors.setSketchedThrough(watermarks.find(WATERMARK_NAME));
+        visitors.setReportGeneratedAt(LocalDateTime.now());
+        return visitors;
+    }
+
+    /**
+     * Most-booked class schedules and trainers over [startDate, endDate), by booking day.
+     * Cancelled bookings are not counted.
+     */
+    @Transactional(readOnly = true)
+    public PopularClassesDto getPopularClasses(LocalDate startDate, LocalDate endDate, int limit) {
+        log.info("Estimating top {} classes from {} to {}", limit, startDate, endDate);
+        int k = Math.max(1, Math.min(limit, MAX_TOP));
+
+        TopKSketch schedules = mergeTopK(SketchType.SCHEDULE_BOOKINGS, startDate, endDate);
+        TopKSketch trainers = mergeTopK(SketchType.TRAINER_BOOKINGS, startDate, endDate);
+
+        PopularClassesDto popular = new PopularClassesDto();
+        popular.setTopSchedules(rank(schedules.top(k),
+                "SELECT cs.id, gc.name || ' ' || to_char(cs.start_time, 'YYYY-MM-DD HH24:MI') AS name " +
+                "FROM class_schedules cs JOIN gym_classes gc ON gc.id = cs.gym_class_id WHERE cs.id IN (%s)"));
+        popular.setTopTrainers(rank(trainers.top(k),
+                "SELECT tp.id, u.first_name || ' ' || u.last_name AS name " +
+                "FROM trainer_profiles tp JOIN users u ON u.id = tp.user_id WHERE tp.id IN (%s)"));
+        popular.setTotalBookings(schedules.total());
+        popular.setMaxOverestimate(schedules.errorBound());
+        popular.setSketchedThrough(watermarks.find(WATERMARK_NAME));
+        popular.setReportGeneratedAt(LocalDateTime.now());
+        return popular;
+    }
+
+    private void buildUniqueMembers(List<Object[]> sketches) {
+        LocalDate[] day = new LocalDate[1];
+        HyperLogLog[] members = new HyperLogLog[1];
+        RowCallbackHandler handler = rs -> {
+            LocalDate rowDay = rs.getDate("sketch_date").toLocalDate();
+            if (!rowDay.equals(day[0])) {
+                if (day[0] != null) {
+                    sketches.add(row(day[0], SketchType.UNIQUE_MEMBERS, members[0].toBytes(), members[0].estimate()));
+                }
+                day[0] = rowDay;
+                members[0] = new HyperLogLog();
+            }
+            members[0].add(rs.getLong("member_id"));
+        };
+        jdbcTemplate.query(ATTENDANCE_MEMBERS, handler);
+        if (day[0] != null) {
+            sketches.add(row(day[0], SketchType.UNIQUE_MEMBERS, members[0].toBytes(), members[0].estimate()));
+        }
+    }
+
+    private void buildBookings(List<Object[]> sketches) {
+        LocalDate[] day = new LocalDate[1];
+        TopKSketch[] bySchedule = new TopKSketch[1];
+        TopKSketch[] byTrainer = new TopKSketch[1];
+        RowCallbackHandler handler = rs -> {
+            LocalDate rowDay = rs.getDate("sketch_date").toLocalDate();
+            if (!rowDay.equals(day[0])) {
+                if (day[0] != null) {
+                    addTopK(sketches, day[0], bySchedule[0], byTrainer[0]);
+                }
+                day[0] = rowDay;
+                bySchedule[0] = new TopKSketch(properties.getCandidatesPerDay());
+                byTrainer[0] = new TopKSketch(properties.getCandidatesPerDay());
+            }
+            long bookings = rs.getLong("bookings");
+            bySchedule[0].add(rs.getLong("class_schedule_id"), bookings);
+            long trainerId = rs.getLong("trainer_id");
+            if (!rs.wasNull()) {
+                byTrainer[0].add(trainerId, bookings);
+            }
+        };
+        jdbcTemplate.query(BOOKING_COUNTS, handler);
+        if (day[0] != null) {
+            addTopK(sketches, day[0], bySchedule[0], byTrainer[0]);
+        }
+    }
+
+    private static void addTopK(List<Object[]> sketches, LocalDate day, TopKSketch bySchedule, TopKSketch byTrainer) {
+        sketches.add(row(day, SketchType.SCHEDULE_BOOKINGS, bySchedule.toBytes(), bySchedule.total()));
+        sketches.add(row(day, SketchType.TRAINER_BOOKINGS, byTrainer.toBytes(), byTrainer.total()));
+    }
+
+    private static Object[] row(LocalDate day, SketchType type, byte[] payload, long itemCount) {
+        return new Object[]{Date.valueOf(day), type.name(), payload, itemCount};
+    }
+
+    private TopKSketch mergeTopK(SketchType type, LocalDate startDate, LocalDate endDate) {
+        TopKSketch merged = new TopKSketch(properties.getCandidatesPerDay());
+        RowCallbackHandler merge = rs -> merged.merge(TopKSketch.fromBytes(rs.getBytes("payload")));
+        jdbcTemplate.query(READ_SKETCHES, merge, type.name(), Date.valueOf(startDate), Date.valueOf(endDate));
+        return merged;
+    }
+
+    private List<PopularClassesDto.RankedItem> rank(List<TopKSketch.Estimate> estimates, String namesSql) {
+        if (estimates.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(estimates.size(), "?"));
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query(String.format(namesSql, placeholders),
+                (RowCallbackHandler) rs -> names.put(rs.getLong("id"), rs.getString("name")),
+                estimates.stream().map(TopKSketch.Estimate::getKey).toArray());
+        return estimates.stream()
+                .map(estimate -> new PopularClassesDto.RankedItem(estimate.getKey(),
+                        names.get(estimate.getKey()), estimate.getCount()))
+                .collect(Collectors.toList());
+    }
+}
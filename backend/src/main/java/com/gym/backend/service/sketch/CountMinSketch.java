@@ -0,0 +1,84 @@
+package com.gym.backend.service.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Count-Min sketch of 4 rows by 1024 counters.
+ *
+ * {@link #estimate(long)} never undercounts. With probability 1 - e^-4 (about 98%) it
+ * overcounts by at most e / 1024 (about 0.27%) of {@link #total()}. Merging adds the counters,
+ * so the bound holds against the merged total.
+ */
+public final class CountMinSketch {
+
+    static final int DEPTH = 4;
+    static final int WIDTH = 1024;
+
+    /** Overcount bound as a fraction of the total count */
+    public static final double EPSILON = Math.E / WIDTH;
+
+    private final long[] counters = new long[DEPTH * WIDTH];
+    private long total;
+
+    public void add(long key, long count) {
+        long hash = SketchHashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row * WIDTH + column(h1, h2, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(long key) {
+        long hash = SketchHashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row * WIDTH + column(h1, h2, row)]);
+        }
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Largest expected overcount of any estimate
+     */
+    public long errorBound() {
+        return (long) Math.ceil(EPSILON * total);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeLong(total);
+        for (long counter : counters) {
+            out.writeLong(counter);
+        }
+    }
+
+    static CountMinSketch read(DataInputStream in) throws IOException {
+        CountMinSketch sketch = new CountMinSketch();
+        sketch.total = in.readLong();
+        for (int i = 0; i < sketch.counters.length; i++) {
+            sketch.counters[i] = in.readLong();
+        }
+        return sketch;
+    }
+
+    // Row hashes derived from two halves of one hash (Kirsch-Mitzenmacher)
+    private static int column(int h1, int h2, int row) {
+        return ((h1 + row * h2) & Integer.MAX_VALUE) % WIDTH;
+    }
+}
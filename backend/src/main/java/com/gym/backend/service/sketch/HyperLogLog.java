@@ -0,0 +1,110 @@
+package com.gym.backend.service.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog distinct counter with 2^12 registers.
+ *
+ * The relative standard error of {@link #estimate()} is 1.04 / sqrt(4096), about 1.6%, so
+ * roughly 95% of estimates fall within 3.3% of the true count. Small counts use linear
+ * counting and are close to exact. Merging takes the register-wise maximum, which gives the
+ * same sketch as adding both inputs to one counter, so unions over any range of days carry
+ * the same error bound.
+ *
+ * Serialized sketches are sparse (index and rank per set register) while fewer than a third
+ * of the registers are set, and dense (one byte per register) after that.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+
+    /** Relative standard error of an estimate */
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = SketchHashing.mix64(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // The sentinel bit caps the rank at 64 - PRECISION + 1
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // 64-bit hashes need no large-range correction
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        if (set * 3 < REGISTERS) {
+            ByteBuffer buffer = ByteBuffer.allocate(3 + set * 3).put(SPARSE).putShort((short) set);
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        return ByteBuffer.allocate(1 + REGISTERS).put(DENSE).put(registers).array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        byte[] registers = new byte[REGISTERS];
+        if (format == SPARSE) {
+            int set = buffer.getShort() & 0xffff;
+            for (int i = 0; i < set; i++) {
+                int index = buffer.getShort() & 0xffff;
+                registers[index] = buffer.get();
+            }
+        } else if (format == DENSE) {
+            buffer.get(registers);
+        } else {
+            throw new IllegalArgumentException("Unknown HyperLogLog format: " + format);
+        }
+        return new HyperLogLog(registers);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gym.backend.service.sketch;
+
+/**
+ * 64-bit hashing of entity ids for the sketches. Persisted sketches depend on it, so changing
+ * the function invalidates every stored payload.
+ */
+final class SketchHashing {
+
+    private SketchHashing() {
+    }
+
+    /**
+     * MurmurHash3 finalizer: spreads sequential ids over all 64 bits
+     */
+    static long mix64(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
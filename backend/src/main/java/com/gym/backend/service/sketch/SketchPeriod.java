@@ -0,0 +1,31 @@
+package com.gym.backend.service.sketch;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * Periods unique visitors can be reported in. Weeks start on Monday.
+ */
+public enum SketchPeriod {
+
+    DAY,
+    WEEK,
+    MONTH;
+
+    public static SketchPeriod fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(period -> period.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported period: " + value));
+    }
+
+    LocalDate floor(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.gym.backend.service.sketch;
+
+/**
+ * Kinds of daily sketches kept in analytics_daily_sketches
+ */
+public enum SketchType {
+
+    /** {@link HyperLogLog} of the members who checked in */
+    UNIQUE_MEMBERS,
+
+    /** {@link TopKSketch} of bookings per class schedule, by booking day */
+    SCHEDULE_BOOKINGS,
+
+    /** {@link TopKSketch} of bookings per trainer, by booking day */
+    TRAINER_BOOKINGS
+}
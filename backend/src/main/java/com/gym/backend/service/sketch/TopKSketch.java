@@ -0,0 +1,155 @@
+package com.gym.backend.service.sketch;
+
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Heavy hitters: a {@link CountMinSketch} of counts per key plus a min-heap of the keys with
+ * the largest estimates seen while adding.
+ *
+ * The heap holds at most {@code capacity} keys per sketch. Merging keeps the union of both
+ * candidate sets, so a key that was heavy on any merged day is ranked, and {@link #top(int)}
+ * re-estimates every candidate against the merged counts. A key that never made a day's heap
+ * can still be missed when it is spread thinly over many days; raising the capacity narrows
+ * that gap. Estimates carry the Count-Min bound, see {@link #errorBound()}.
+ *
+ * Serialized sketches are deflated, which collapses the unused counters of a quiet day.
+ */
+public final class TopKSketch {
+
+    private static final byte VERSION = 1;
+
+    private final CountMinSketch counts;
+    private final int capacity;
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::getCount));
+
+    public TopKSketch(int capacity) {
+        this(new CountMinSketch(), capacity);
+    }
+
+    private TopKSketch(CountMinSketch counts, int capacity) {
+        this.counts = counts;
+        this.capacity = capacity;
+    }
+
+    public void add(long key, long count) {
+        counts.add(key, count);
+        long estimate = counts.estimate(key);
+        Candidate candidate = candidates.remove(key);
+        if (candidate != null) {
+            heap.remove(candidate);
+        } else if (candidates.size() >= capacity) {
+            if (heap.isEmpty() || estimate <= heap.peek().getCount()) {
+                return;
+            }
+            candidates.remove(heap.poll().getKey());
+        }
+        track(key, estimate);
+    }
+
+    public void merge(TopKSketch other) {
+        counts.merge(other.counts);
+        for (Long key : other.candidates.keySet()) {
+            if (!candidates.containsKey(key)) {
+                track(key, 0);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code k} candidates with the largest estimated counts, largest first
+     */
+    public List<Estimate> top(int k) {
+        PriorityQueue<Estimate> best = new PriorityQueue<>(Comparator.comparingLong(Estimate::getCount));
+        for (Long key : candidates.keySet()) {
+            best.add(new Estimate(key, counts.estimate(key)));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        List<Estimate> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingLong(Estimate::getCount).reversed());
+        return result;
+    }
+
+    public long total() {
+        return counts.total();
+    }
+
+    /**
+     * Largest expected overcount of any estimate
+     */
+    public long errorBound() {
+        return counts.errorBound();
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            counts.write(out);
+            out.writeInt(candidates.size());
+            for (Long key : candidates.keySet()) {
+                out.writeLong(key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TopKSketch fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unknown top-k sketch version: " + version);
+            }
+            CountMinSketch counts = CountMinSketch.read(in);
+            int size = in.readInt();
+            TopKSketch sketch = new TopKSketch(counts, size);
+            for (int i = 0; i < size; i++) {
+                long key = in.readLong();
+                sketch.track(key, counts.estimate(key));
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void track(long key, long estimate) {
+        Candidate candidate = new Candidate(key, estimate);
+        candidates.put(key, candidate);
+        heap.add(candidate);
+    }
+
+    @Value
+    private static class Candidate {
+        long key;
+        long count;
+    }
+
+    /**
+     * Estimated count of one key
+     */
+    @Value
+    public static class Estimate {
+        long key;
+        long count;
+    }
+}
@@ -0,0 +1,61 @@
+package com.gym.backend.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer. Fields are quoted only when they contain a delimiter,
+ * quote or line break; null is written as an empty unquoted field, which Postgres
+ * {@code COPY ... (FORMAT csv)} reads back as NULL.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+    private boolean startOfRecord = true;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public CsvWriter field(Object value) throws IOException {
+        if (!startOfRecord) {
+            writer.write(',');
+        }
+        startOfRecord = false;
+        if (value == null) {
+            return this;
+        }
+        String text = value.toString();
+        if (needsQuoting(text)) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+        return this;
+    }
+
+    public void endRecord() throws IOException {
+        writer.write('\n');
+        startOfRecord = true;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static boolean needsQuoting(String text) {
+        if (text.isEmpty()) {
+            // An empty quoted string stays distinct from NULL
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+-- V1.0.10 - Active flag on member profiles
+--
+-- The entity has always mapped is_active, but the initial schema never created it.
+-- The bulk member import writes profiles with plain SQL and needs the column present.
+
+ALTER TABLE member_profiles ADD COLUMN IF NOT EXISTS is_active BOOLEAN DEFAULT true;
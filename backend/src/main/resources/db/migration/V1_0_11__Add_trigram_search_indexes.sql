@@ -0,0 +1,14 @@
+-- V1.0.11 - Trigram indexes for admin search
+--
+-- pg_trgm GIN indexes serve LIKE '%term%' (and the similarity operator) from the
+-- index instead of a sequential scan. They are built on lower(column), the exact
+-- expression the search queries filter on. pg_trgm is a trusted extension, so the
+-- database owner can create it without superuser rights.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_gym_classes_name_trgm ON gym_classes USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,62 @@
+-- V1.0.12 - Daily revenue ledger
+--
+-- One row per day, membership plan, payment method and currency. Payments add to
+-- gross_amount on their payment day; refunds add to refunded_amount on the day they
+-- are issued. Revenue reports read this table instead of scanning payments.
+
+CREATE TABLE IF NOT EXISTS daily_revenue_ledger (
+    revenue_date DATE NOT NULL,
+    membership_plan_id BIGINT,
+    payment_method VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    gross_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    refunded_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    payment_count INTEGER NOT NULL DEFAULT 0,
+    refund_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Payments without a subscription share the plan slot 0, so the key stays unique
+CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_revenue_ledger_key
+    ON daily_revenue_ledger (revenue_date, (COALESCE(membership_plan_id, 0)), payment_method, currency);
+
+-- Backfill from existing payments. Refund days and partial refund amounts come from the
+-- PAYMENT_REFUNDED audit entries; without one a full refund falls back to updated_at.
+DO $$
+BEGIN
+    IF to_regclass('payments') IS NOT NULL AND to_regclass('subscriptions') IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM daily_revenue_ledger) THEN
+        INSERT INTO daily_revenue_ledger (revenue_date, membership_plan_id, payment_method, currency,
+                                          gross_amount, refunded_amount, payment_count, refund_count)
+        SELECT entry.revenue_date, entry.membership_plan_id, entry.payment_method, entry.currency,
+               SUM(entry.gross_amount), SUM(entry.refunded_amount),
+               SUM(entry.payment_count), SUM(entry.refund_count)
+        FROM (
+            SELECT p.payment_date::date AS revenue_date, s.membership_plan_id, p.payment_method, p.currency,
+                   p.amount AS gross_amount, 0 AS refunded_amount, 1 AS payment_count, 0 AS refund_count
+            FROM payments p
+            LEFT JOIN subscriptions s ON s.id = p.subscription_id
+            WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+
+            UNION ALL
+
+            SELECT COALESCE(a.created_at, p.updated_at, p.payment_date)::date, s.membership_plan_id,
+                   p.payment_method, p.currency,
+                   0,
+                   CASE WHEN p.status = 'REFUNDED' THEN p.amount
+                        ELSE COALESCE((a.new_values ->> 'refundAmount')::numeric, 0) END,
+                   0, 1
+            FROM payments p
+            LEFT JOIN subscriptions s ON s.id = p.subscription_id
+            LEFT JOIN LATERAL (
+                SELECT l.created_at, l.new_values
+                FROM audit_logs l
+                WHERE l.entity_type = 'Payment' AND l.entity_id = p.id AND l.action = 'PAYMENT_REFUNDED'
+                ORDER BY l.created_at DESC
+                LIMIT 1
+            ) a ON true
+            WHERE p.status IN ('REFUNDED', 'PARTIALLY_REFUNDED')
+        ) entry
+        GROUP BY entry.revenue_date, entry.membership_plan_id, entry.payment_method, entry.currency;
+    END IF;
+END $$;
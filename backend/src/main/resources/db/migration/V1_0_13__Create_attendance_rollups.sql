@@ -0,0 +1,36 @@
+-- V1.0.13 - Hourly and daily attendance rollups
+--
+-- Visits bucketed by check-in time and keyed by visit type, member segment (membership type)
+-- and room. A background job recomputes only the hours whose attendance rows changed since
+-- the watermark recorded in rollup_watermarks; daily rows are re-summed from the hourly ones.
+
+CREATE TABLE IF NOT EXISTS attendance_rollup_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    visit_type VARCHAR(50) NOT NULL,
+    member_segment VARCHAR(50) NOT NULL,
+    room VARCHAR(100) NOT NULL,
+    visit_count INTEGER NOT NULL,
+    completed_count INTEGER NOT NULL,
+    visit_minutes BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, visit_type, member_segment, room)
+);
+
+CREATE TABLE IF NOT EXISTS attendance_rollup_daily (
+    bucket_date DATE NOT NULL,
+    visit_type VARCHAR(50) NOT NULL,
+    member_segment VARCHAR(50) NOT NULL,
+    room VARCHAR(100) NOT NULL,
+    visit_count INTEGER NOT NULL,
+    completed_count INTEGER NOT NULL,
+    visit_minutes BIGINT NOT NULL,
+    PRIMARY KEY (bucket_date, visit_type, member_segment, room)
+);
+
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    rollup_name VARCHAR(100) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Finds the rows changed since the watermark without scanning attendance
+CREATE INDEX IF NOT EXISTS idx_attendance_updated_at ON attendance(updated_at);
@@ -0,0 +1,19 @@
+-- V1.0.14 - Daily analytics sketches
+--
+-- One row per day and sketch type: a HyperLogLog of the members who checked in, and Count-Min
+-- sketches with heavy-hitter candidates for bookings per class schedule and per trainer.
+-- Sketches merge across any range of days, so dashboard tiles read O(days) small payloads
+-- instead of scanning attendance and bookings. A background job rebuilds the days whose
+-- source rows changed since the watermark kept in rollup_watermarks.
+
+CREATE TABLE IF NOT EXISTS analytics_daily_sketches (
+    sketch_date DATE NOT NULL,
+    sketch_type VARCHAR(50) NOT NULL,
+    payload BYTEA NOT NULL,
+    item_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sketch_type, sketch_date)
+);
+
+-- Finds the bookings changed since the watermark without scanning class_bookings
+CREATE INDEX IF NOT EXISTS idx_class_bookings_updated_at ON class_bookings(updated_at);
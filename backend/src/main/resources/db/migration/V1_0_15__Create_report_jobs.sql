@@ -0,0 +1,34 @@
+-- V1.0.15 - Asynchronous report jobs
+--
+-- A report request becomes a job row that a bounded background executor runs. Jobs are keyed
+-- by a hash of their parameters: at most one job per hash may be queued or running, so
+-- identical requests share one computation, and a completed job's result is served to
+-- later identical requests until it expires. The instance running a job refreshes its
+-- heartbeat, so a job whose owner is gone can be abandoned without waiting for the run limit.
+
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id UUID PRIMARY KEY,
+    report_type VARCHAR(50) NOT NULL,
+    params_hash VARCHAR(64) NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    result TEXT,
+    error TEXT,
+    owner_instance VARCHAR(255),
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP
+);
+
+-- Single flight: a second identical submission finds the in-flight job instead of inserting
+CREATE UNIQUE INDEX IF NOT EXISTS idx_report_jobs_in_flight
+    ON report_jobs(params_hash) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX IF NOT EXISTS idx_report_jobs_hash_created
+    ON report_jobs(params_hash, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_jobs_expires_at
+    ON report_jobs(expires_at);
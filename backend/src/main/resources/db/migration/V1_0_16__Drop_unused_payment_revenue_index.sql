@@ -0,0 +1,7 @@
+-- V1.0.16 - Drop the unused payment revenue index
+--
+-- idx_payments_completed_payment_date (V1.0.7) covered the revenue-in-range query. Revenue
+-- is now read from daily_revenue_ledger and that query is gone, so the index only slows
+-- down payment writes.
+
+DROP INDEX IF EXISTS idx_payments_completed_payment_date;
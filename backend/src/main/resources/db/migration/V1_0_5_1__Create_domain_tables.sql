@@ -0,0 +1,255 @@
+-- V1.0.5.1 - Bring the domain tables under Flyway
+--
+-- Until now these tables were only created by Hibernate schema updates, so migrations that
+-- index or alter them had nothing to act on in a database built by Flyway alone. Columns
+-- match the entity mappings so that schema validation passes. Tables that already exist
+-- are left untouched. Optimistic lock columns are added by V1.0.9.
+
+-- BaseEntity maps updated_at on every entity, the token tables included
+ALTER TABLE email_verification_tokens ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE password_reset_tokens ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+-- Create membership_plans table
+CREATE TABLE IF NOT EXISTS membership_plans (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    billing_cycle VARCHAR(255) NOT NULL,
+    duration_days INTEGER,
+    includes_personal_training BOOLEAN,
+    max_pt_sessions_per_month INTEGER,
+    includes_group_classes BOOLEAN,
+    max_group_classes_per_month INTEGER,
+    unlimited_group_classes BOOLEAN,
+    access_hours VARCHAR(100),
+    priority_booking BOOLEAN,
+    freeze_allowed BOOLEAN,
+    max_freeze_days INTEGER,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create subscriptions table
+CREATE TABLE IF NOT EXISTS subscriptions (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    membership_plan_id BIGINT NOT NULL REFERENCES membership_plans(id),
+    status VARCHAR(255) NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP,
+    next_billing_date TIMESTAMP,
+    last_billing_date TIMESTAMP,
+    billing_day INTEGER,
+    auto_renewal BOOLEAN,
+    freeze_start_date TIMESTAMP,
+    freeze_end_date TIMESTAMP,
+    total_paid DECIMAL(10,2),
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create invoices table
+CREATE TABLE IF NOT EXISTS invoices (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    subscription_id BIGINT REFERENCES subscriptions(id),
+    invoice_number VARCHAR(50) UNIQUE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    issue_date TIMESTAMP NOT NULL,
+    due_date TIMESTAMP NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    tax_amount DECIMAL(10,2),
+    discount_amount DECIMAL(10,2),
+    total_amount DECIMAL(10,2) NOT NULL,
+    paid_amount DECIMAL(10,2),
+    billing_address TEXT,
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create payments table
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    subscription_id BIGINT REFERENCES subscriptions(id),
+    invoice_id BIGINT REFERENCES invoices(id),
+    amount DECIMAL(10,2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    payment_date TIMESTAMP NOT NULL,
+    due_date TIMESTAMP,
+    gateway_transaction_id VARCHAR(255),
+    gateway_response TEXT,
+    failure_reason TEXT,
+    receipt_number VARCHAR(100),
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create gym_classes table
+CREATE TABLE IF NOT EXISTS gym_classes (
+    id BIGSERIAL PRIMARY KEY,
+    trainer_id BIGINT REFERENCES trainer_profiles(id),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    category VARCHAR(100),
+    difficulty_level VARCHAR(50),
+    duration_minutes INTEGER NOT NULL,
+    max_capacity INTEGER NOT NULL,
+    price DECIMAL(10,2),
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create class_schedules table
+CREATE TABLE IF NOT EXISTS class_schedules (
+    id BIGSERIAL PRIMARY KEY,
+    gym_class_id BIGINT NOT NULL REFERENCES gym_classes(id),
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    room_name VARCHAR(100),
+    current_bookings INTEGER NOT NULL DEFAULT 0,
+    is_recurring BOOLEAN,
+    recurrence_pattern VARCHAR(255),
+    recurrence_day_of_week INTEGER,
+    recurrence_end_date TIMESTAMP,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create class_bookings table
+CREATE TABLE IF NOT EXISTS class_bookings (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    class_schedule_id BIGINT NOT NULL REFERENCES class_schedules(id),
+    booking_reference VARCHAR(50) UNIQUE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    booking_date TIMESTAMP NOT NULL,
+    cancellation_date TIMESTAMP,
+    cancellation_reason TEXT,
+    attended BOOLEAN,
+    attendance_time TIMESTAMP,
+    amount_paid DECIMAL(10,2),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create pt_sessions table
+CREATE TABLE IF NOT EXISTS pt_sessions (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    trainer_id BIGINT NOT NULL REFERENCES trainer_profiles(id),
+    session_date TIMESTAMP NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    session_type VARCHAR(100),
+    status VARCHAR(255) NOT NULL,
+    room_location VARCHAR(100),
+    price DECIMAL(10,2),
+    goals TEXT,
+    workout_notes TEXT,
+    client_feedback TEXT,
+    rating DECIMAL(2,1),
+    is_makeup_session BOOLEAN,
+    cancellation_reason TEXT,
+    cancellation_time TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create attendance table
+CREATE TABLE IF NOT EXISTS attendance (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL REFERENCES member_profiles(id),
+    class_booking_id BIGINT REFERENCES class_bookings(id),
+    pt_session_id BIGINT REFERENCES pt_sessions(id),
+    check_in_time TIMESTAMP NOT NULL,
+    check_out_time TIMESTAMP,
+    visit_type VARCHAR(255) NOT NULL,
+    purpose VARCHAR(255),
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create equipment table
+CREATE TABLE IF NOT EXISTS equipment (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    category VARCHAR(100),
+    brand VARCHAR(100),
+    model VARCHAR(100),
+    serial_number VARCHAR(100),
+    equipment_code VARCHAR(50) UNIQUE,
+    status VARCHAR(255) NOT NULL,
+    location VARCHAR(100),
+    purchase_date DATE,
+    purchase_price DECIMAL(10,2),
+    warranty_expiry_date DATE,
+    maintenance_date DATE,
+    next_maintenance_date DATE,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create notification_templates table
+CREATE TABLE IF NOT EXISTS notification_templates (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    template_type VARCHAR(255) NOT NULL,
+    subject_template VARCHAR(500) NOT NULL,
+    message_template TEXT NOT NULL,
+    variables TEXT,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create notifications table
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    template_id BIGINT REFERENCES notification_templates(id),
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    notification_type VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    scheduled_date TIMESTAMP,
+    send_date TIMESTAMP,
+    read_date TIMESTAMP,
+    template_data TEXT,
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create email_notifications table
+CREATE TABLE IF NOT EXISTS email_notifications (
+    id BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT NOT NULL REFERENCES notifications(id),
+    recipient_email VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    sent_date TIMESTAMP,
+    delivery_date TIMESTAMP,
+    read_date TIMESTAMP,
+    bounce_date TIMESTAMP,
+    gateway_message_id VARCHAR(255),
+    error_message TEXT,
+    retry_count INTEGER NOT NULL DEFAULT 0,
+    max_retries INTEGER NOT NULL DEFAULT 3,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,32 @@
+-- V1.0.6 - Switch entity ID generation from IDENTITY to pooled sequences
+--
+-- Hibernate now reserves ids in blocks of 50 from each table's <table>_id_seq sequence
+-- so inserts can be batched. The increment must match BaseEntity.ID_ALLOCATION_SIZE.
+-- Every table already owns a BIGSERIAL sequence, which keeps serving column defaults.
+
+DO $$
+DECLARE
+    tbl TEXT;
+    seq TEXT;
+    max_id BIGINT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY[
+        'users', 'roles', 'member_profiles', 'trainer_profiles', 'staff_profiles',
+        'email_verification_tokens', 'password_reset_tokens',
+        'membership_plans', 'subscriptions', 'payments', 'invoices',
+        'gym_classes', 'class_schedules', 'class_bookings', 'attendance', 'pt_sessions',
+        'equipment', 'notifications', 'notification_templates', 'email_notifications'
+    ]
+    LOOP
+        seq := tbl || '_id_seq';
+
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', seq);
+
+        -- The pooled optimizer takes each value the sequence returns as the top of a block
+        -- and hands out the 50 ids below it, so the next value must sit a full block above
+        -- every id already used, whether it came from the table or the old serial sequence
+        EXECUTE format('SELECT GREATEST(COALESCE(MAX(id), 0), (SELECT last_value FROM %I)) FROM %I', seq, tbl)
+            INTO max_id;
+        PERFORM setval(seq::regclass, max_id + 50, false);
+    END LOOP;
+END $$;
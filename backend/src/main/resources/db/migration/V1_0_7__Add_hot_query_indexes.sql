@@ -0,0 +1,54 @@
+-- V1.0.7 - Composite and partial indexes for hot repository queries
+--
+-- Each index is matched to the predicate and sort of a specific repository query.
+
+-- ClassBookingRepository.findUpcomingBookingsForMember
+CREATE INDEX IF NOT EXISTS idx_class_bookings_member_confirmed
+    ON class_bookings(member_id, class_schedule_id) WHERE status = 'CONFIRMED';
+-- ClassBookingRepository.countConfirmedBookingsForSchedule
+CREATE INDEX IF NOT EXISTS idx_class_bookings_schedule_status
+    ON class_bookings(class_schedule_id, status);
+-- ClassBookingRepository.findByMemberIdOrderByBookingDateDesc
+CREATE INDEX IF NOT EXISTS idx_class_bookings_member_booking_date
+    ON class_bookings(member_id, booking_date DESC);
+
+-- ClassBookingRepository.findBookingsInDateRange and upcoming-schedule lookups
+CREATE INDEX IF NOT EXISTS idx_class_schedules_start_time
+    ON class_schedules(start_time);
+
+-- AttendanceRepository.findActiveCheckIns
+CREATE INDEX IF NOT EXISTS idx_attendance_active_check_in
+    ON attendance(check_in_time DESC) WHERE check_out_time IS NULL;
+-- AttendanceRepository.findByMemberIdOrderByCheckInTimeDesc and countAttendanceForMemberInDateRange
+CREATE INDEX IF NOT EXISTS idx_attendance_member_check_in
+    ON attendance(member_id, check_in_time DESC);
+-- AttendanceRepository.findAttendanceInDateRange
+CREATE INDEX IF NOT EXISTS idx_attendance_check_in
+    ON attendance(check_in_time);
+
+-- PaymentRepository.calculateTotalRevenueInDateRange (covering, index-only scan)
+CREATE INDEX IF NOT EXISTS idx_payments_completed_payment_date
+    ON payments(payment_date) INCLUDE (amount) WHERE status = 'COMPLETED';
+-- PaymentRepository.findByMemberIdOrderByPaymentDateDesc
+CREATE INDEX IF NOT EXISTS idx_payments_member_payment_date
+    ON payments(member_id, payment_date DESC);
+-- PaymentRepository.findPaymentsInDateRange
+CREATE INDEX IF NOT EXISTS idx_payments_payment_date
+    ON payments(payment_date);
+
+-- SubscriptionRepository.findOverdueSubscriptions
+CREATE INDEX IF NOT EXISTS idx_subscriptions_active_next_billing
+    ON subscriptions(next_billing_date) WHERE status = 'ACTIVE';
+-- SubscriptionRepository.findExpiringSubscriptions
+CREATE INDEX IF NOT EXISTS idx_subscriptions_active_end_date
+    ON subscriptions(end_date) WHERE status = 'ACTIVE';
+-- SubscriptionRepository.findByMemberIdOrderByStartDateDesc
+CREATE INDEX IF NOT EXISTS idx_subscriptions_member_start_date
+    ON subscriptions(member_id, start_date DESC);
+
+-- NotificationRepository.findScheduledNotificationsReadyToSend
+CREATE INDEX IF NOT EXISTS idx_notifications_scheduled_date
+    ON notifications(scheduled_date) WHERE status = 'SCHEDULED';
+-- NotificationRepository.findByUserIdOrderByCreatedAtDesc and findUnreadNotificationsByUser
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_at
+    ON notifications(user_id, created_at DESC);
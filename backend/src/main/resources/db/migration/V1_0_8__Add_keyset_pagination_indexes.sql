@@ -0,0 +1,22 @@
+-- V1.0.8 - Indexes for keyset-paginated history lists
+--
+-- History pages are ordered by (<date> DESC, id DESC) and seek past the last row seen,
+-- so the id tie-breaker is part of each index. These supersede the V1.0.7 per-member
+-- date indexes, which did not include it.
+
+DROP INDEX IF EXISTS idx_class_bookings_member_booking_date;
+CREATE INDEX IF NOT EXISTS idx_class_bookings_member_booking_date_id
+    ON class_bookings(member_id, booking_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_class_bookings_booking_date_id
+    ON class_bookings(booking_date DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_attendance_member_check_in;
+CREATE INDEX IF NOT EXISTS idx_attendance_member_check_in_id
+    ON attendance(member_id, check_in_time DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_payments_member_payment_date;
+CREATE INDEX IF NOT EXISTS idx_payments_member_payment_date_id
+    ON payments(member_id, payment_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_pt_sessions_member_session_date_id
+    ON pt_sessions(member_id, session_date DESC, id DESC);
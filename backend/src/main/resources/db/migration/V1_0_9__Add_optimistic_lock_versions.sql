@@ -0,0 +1,7 @@
+-- V1.0.9 - Version columns for optimistic locking on contended aggregates
+--
+-- Existing rows start at version 0.
+
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pt_sessions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE class_schedules ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
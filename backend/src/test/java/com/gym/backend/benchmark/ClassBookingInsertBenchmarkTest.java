@@ -0,0 +1,147 @@
+package com.gym.backend.benchmark;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.entity.BaseEntity;
+import com.gym.backend.entity.ClassBooking;
+import com.gym.backend.entity.ClassSchedule;
+import com.gym.backend.entity.GymClass;
+import com.gym.backend.entity.MemberProfile;
+import com.gym.backend.entity.User;
+import com.gym.backend.entity.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of 100k class booking inserts.
+ * Compares a flush per row, which is what IDENTITY generation forces, against pooled
+ * sequence IDs with JDBC batching. Run with {@code mvn test -Dbenchmark=true -Dtest=ClassBookingInsertBenchmarkTest}.
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ClassBookingInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassBookingInsertBenchmarkTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long memberId;
+    private Long scheduleId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setEmail("bench-" + UUID.randomUUID() + "@example.com");
+            user.setPassword("not-used");
+            user.setFirstName("Bench");
+            user.setLastName("Member");
+            entityManager.persist(user);
+
+            MemberProfile member = new MemberProfile();
+            member.setUser(user);
+            entityManager.persist(member);
+
+            GymClass gymClass = new GymClass();
+            gymClass.setName("Benchmark Class");
+            gymClass.setDurationMinutes(60);
+            gymClass.setMaxCapacity(ROWS);
+            entityManager.persist(gymClass);
+
+            ClassSchedule schedule = new ClassSchedule();
+            schedule.setGymClass(gymClass);
+            schedule.setStartTime(LocalDateTime.now().plusDays(1));
+            schedule.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+            entityManager.persist(schedule);
+
+            memberId = member.getId();
+            scheduleId = schedule.getId();
+        });
+    }
+
+    @Test
+    void insertClassBookings() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long rowByRowNanos = timeInserts("row", 1);
+        long rowByRowStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long batchedNanos = timeInserts("batch", BATCH_SIZE);
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        log.info("ClassBooking inserts ({} rows): flush per row {} ms, {} statements; pooled + batch {} ms, {} statements",
+                ROWS, rowByRowNanos / 1_000_000, rowByRowStatements, batchedNanos / 1_000_000, batchedStatements);
+
+        // Every row is its own INSERT when flushed alone
+        assertThat(rowByRowStatements).isGreaterThanOrEqualTo(ROWS);
+        // One INSERT per JDBC batch plus one sequence call per block of pooled ids
+        assertThat(batchedStatements)
+                .isLessThanOrEqualTo(ROWS / BATCH_SIZE + ROWS / BaseEntity.ID_ALLOCATION_SIZE + 100)
+                .isLessThan(rowByRowStatements / 10);
+        assertThat(batchedNanos).isLessThan(rowByRowNanos);
+    }
+
+    private long timeInserts(String prefix, int flushEvery) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            MemberProfile member = entityManager.getReference(MemberProfile.class, memberId);
+            ClassSchedule schedule = entityManager.getReference(ClassSchedule.class, scheduleId);
+            for (int i = 0; i < ROWS; i++) {
+                ClassBooking booking = new ClassBooking();
+                booking.setBookingReference(prefix + "-" + i + "-" + UUID.randomUUID());
+                booking.setStatus(BookingStatus.CONFIRMED);
+                booking.setBookingDate(LocalDateTime.now());
+                booking.setMember(member);
+                booking.setClassSchedule(schedule);
+                entityManager.persist(booking);
+
+                if ((i + 1) % flushEvery == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    member = entityManager.getReference(MemberProfile.class, memberId);
+                    schedule = entityManager.getReference(ClassSchedule.class, scheduleId);
+                }
+            }
+        });
+        return System.nanoTime() - start;
+    }
+}
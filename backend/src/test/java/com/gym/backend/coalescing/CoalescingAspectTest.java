@@ -0,0 +1,132 @@
+package com.gym.backend.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for single-flight coalescing and its metrics
+ */
+public class CoalescingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        SlowQuery target = new SlowQuery();
+        SlowQuery query = proxy(target);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> query.load("yoga")));
+            }
+            // Let every caller reach the aspect before the leader finishes
+            while (calls("joined") < 7) {
+                Thread.sleep(1);
+            }
+            target.release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("yoga#1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(target.calls.get()).isEqualTo(1);
+        assertThat(calls("leader")).isEqualTo(1);
+
+        // Nothing is kept without a TTL, and other arguments never share
+        assertThat(query.load("yoga")).isEqualTo("yoga#2");
+        assertThat(query.load("hiit")).isEqualTo("hiit#3");
+    }
+
+    @Test
+    void completedResultIsReusedWithinTtl() {
+        SlowQuery target = new SlowQuery();
+        target.release.countDown();
+        AtomicLong nanos = new AtomicLong();
+        SlowQuery query = proxy(target, nanos::get);
+
+        assertThat(query.cached()).isEqualTo(1);
+        assertThat(query.cached()).isEqualTo(1);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(SlowQuery.TTL_MILLIS - 1));
+        assertThat(query.cached()).isEqualTo(1);
+        assertThat(calls("cached")).isEqualTo(2);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(query.cached()).isEqualTo(2);
+        assertThat(calls("leader")).isEqualTo(2);
+        // One counter per result for the operation, however many calls
+        assertThat(meterRegistry.find("coalescing.calls").counters()).hasSize(3);
+    }
+
+    @Test
+    void failuresAreNotKept() {
+        SlowQuery target = new SlowQuery();
+        target.release.countDown();
+        SlowQuery query = proxy(target);
+
+        assertThatThrownBy(query::failing).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(query::failing).isInstanceOf(IllegalStateException.class);
+        assertThat(target.calls.get()).isEqualTo(2);
+    }
+
+    private SlowQuery proxy(SlowQuery target) {
+        return proxy(target, System::nanoTime);
+    }
+
+    private SlowQuery proxy(SlowQuery target, LongSupplier nanoClock) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(meterRegistry, nanoClock));
+        return factory.getProxy();
+    }
+
+    private double calls(String result) {
+        Counter counter = meterRegistry.find("coalescing.calls").tag("result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    static class SlowQuery {
+
+        /** Long enough that the background eviction never runs during a test */
+        static final long TTL_MILLIS = 60_000;
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Coalesced
+        public String load(String category) throws InterruptedException {
+            int call = calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return category + "#" + call;
+        }
+
+        @Coalesced(ttlMillis = TTL_MILLIS)
+        public int cached() {
+            return calls.incrementAndGet();
+        }
+
+        @Coalesced(ttlMillis = 10_000)
+        public int failing() {
+            calls.incrementAndGet();
+            throw new IllegalStateException("query failed");
+        }
+    }
+}
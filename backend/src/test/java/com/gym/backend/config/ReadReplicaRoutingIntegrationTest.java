@@ -0,0 +1,109 @@
+package com.gym.backend.config;
+
+import com.gym.backend.GymBackendApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing tests against a primary and a hot standby fed by streaming replication.
+ * The replica reports {@code pg_is_in_recovery() = true}, which tells the two pools apart.
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+public class ReadReplicaRoutingIntegrationTest {
+
+    private static final String IN_RECOVERY = "SELECT pg_is_in_recovery()";
+
+    static Network network = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4", "-c", "hot_standby=on")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n", 0755),
+                    "/docker-entrypoint-initdb.d/10-replication.sh");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:15-alpine")
+            .withNetwork(network)
+            .dependsOn(primary)
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("sh", "-c"))
+            .withCommand("until pg_basebackup -h primary -U test -D \"$PGDATA\" -R -X stream; do sleep 1; done"
+                    + " && chmod 0700 \"$PGDATA\" && exec postgres")
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", () -> "jdbc:postgresql://" + replica.getHost() + ":"
+                + replica.getMappedPort(5432) + "/" + primary.getDatabaseName());
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(inRecovery(true)).isTrue();
+    }
+
+    @Test
+    void readWriteTransactionsGoToPrimary() {
+        assertThat(inRecovery(false)).isFalse();
+    }
+
+    @Test
+    void writerReadsFromPrimaryWithinWindow() {
+        authenticateAs("writer@example.com");
+        inRecovery(false);
+        assertThat(inRecovery(true)).isFalse();
+
+        authenticateAs("reader@example.com");
+        assertThat(inRecovery(true)).isTrue();
+    }
+
+    private Boolean inRecovery(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class));
+    }
+
+    private void authenticateAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(email, null, "ROLE_MEMBER"));
+    }
+}
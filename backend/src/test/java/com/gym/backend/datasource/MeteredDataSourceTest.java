@@ -0,0 +1,65 @@
+package com.gym.backend.datasource;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for connection hold time metering
+ */
+public class MeteredDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsHoldTimeOncePerConnectionAgainstOneTimerPerEndpoint() throws SQLException {
+        Connection connection = mock(Connection.class);
+        MeteredDataSource dataSource = metered(connection, Duration.ofHours(1));
+
+        String previous = WorkloadContext.enterReporting("ExportService.export");
+        try {
+            Connection first = dataSource.getConnection();
+            first.close();
+            first.close();
+            dataSource.getConnection().close();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+        dataSource.getConnection().close();
+
+        Timer export = meterRegistry.get("datasource.db.time").tag("pool", "reporting")
+                .tag("endpoint", "ExportService.export").timer();
+        assertThat(export.count()).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.db.time").tag("endpoint", "background").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("datasource.db.time.budget.exceeded").counters()).isEmpty();
+        verify(connection, times(4)).close();
+    }
+
+    @Test
+    void countsConnectionsHeldPastTheBudget() throws SQLException {
+        MeteredDataSource dataSource = metered(mock(Connection.class), Duration.ofNanos(1));
+
+        dataSource.getConnection().close();
+        dataSource.getConnection().close();
+
+        assertThat(meterRegistry.get("datasource.db.time.budget.exceeded").tag("endpoint", "background")
+                .counter().count()).isEqualTo(2);
+    }
+
+    private MeteredDataSource metered(Connection connection, Duration budget) throws SQLException {
+        DataSource delegate = mock(DataSource.class);
+        when(delegate.getConnection()).thenReturn(connection);
+        return new MeteredDataSource(DataSourceTarget.REPORTING, delegate, budget, meterRegistry);
+    }
+}
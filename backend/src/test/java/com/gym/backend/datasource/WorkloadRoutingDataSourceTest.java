@@ -0,0 +1,88 @@
+package com.gym.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for pool selection by workload and transaction type
+ */
+public class WorkloadRoutingDataSourceTest {
+
+    private final Map<DataSourceTarget, Connection> connections = new EnumMap<>(DataSourceTarget.class);
+
+    @AfterEach
+    void resetThreadState() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void reportingWorkloadUsesReportingPoolEvenInsideReadOnlyTransaction() throws SQLException {
+        WorkloadRoutingDataSource routing = routing(DataSourceTarget.PRIMARY, DataSourceTarget.REPLICA, DataSourceTarget.REPORTING);
+        inTransaction(true);
+
+        String previous = WorkloadContext.enterReporting("AnalyticsService.getRevenueAnalytics");
+        try {
+            assertThat(routing.getConnection()).isSameAs(connections.get(DataSourceTarget.REPORTING));
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+        assertThat(WorkloadContext.isReporting()).isFalse();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplicaWhenConfigured() throws SQLException {
+        WorkloadRoutingDataSource routing = routing(DataSourceTarget.PRIMARY, DataSourceTarget.REPLICA);
+        inTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(connections.get(DataSourceTarget.REPLICA));
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWithoutReplica() throws SQLException {
+        WorkloadRoutingDataSource routing = routing(DataSourceTarget.PRIMARY, DataSourceTarget.REPORTING);
+        inTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(connections.get(DataSourceTarget.PRIMARY));
+    }
+
+    @Test
+    void connectionsOutsideTransactionsUsePrimary() throws SQLException {
+        WorkloadRoutingDataSource routing = routing(DataSourceTarget.PRIMARY, DataSourceTarget.REPLICA, DataSourceTarget.REPORTING);
+
+        assertThat(routing.getConnection()).isSameAs(connections.get(DataSourceTarget.PRIMARY));
+    }
+
+    private WorkloadRoutingDataSource routing(DataSourceTarget... targets) throws SQLException {
+        Map<DataSourceTarget, DataSource> pools = new EnumMap<>(DataSourceTarget.class);
+        for (DataSourceTarget target : targets) {
+            DataSource pool = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(pool.getConnection()).thenReturn(connection);
+            pools.put(target, pool);
+            connections.put(target, connection);
+        }
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(
+                pools, new ReadYourWritesTracker(Duration.ofSeconds(5), 100), new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,180 @@
+package com.gym.backend.member;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.entity.*;
+import com.gym.backend.entity.enums.*;
+import com.gym.backend.repository.RoleRepository;
+import com.gym.backend.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the fetch boundary with Open-Session-In-View disabled.
+ * The test class is deliberately not transactional, so any lazy association touched after the
+ * service transaction ends raises LazyInitializationException and the endpoint fails.
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.enable_lazy_load_no_trans=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+public class MemberEndpointsFetchBoundaryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private UserPrincipal memberPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        memberPrincipal = transactionTemplate.execute(status -> {
+            Role memberRole = roleRepository.findByName(RoleType.MEMBER).orElseGet(() -> {
+                Role role = new Role();
+                role.setName(RoleType.MEMBER);
+                entityManager.persist(role);
+                return role;
+            });
+
+            User memberUser = newUser("member");
+            memberUser.getRoles().add(memberRole);
+            entityManager.persist(memberUser);
+
+            MemberProfile member = new MemberProfile();
+            member.setUser(memberUser);
+            entityManager.persist(member);
+
+            User trainerUser = newUser("trainer");
+            entityManager.persist(trainerUser);
+
+            TrainerProfile trainer = new TrainerProfile();
+            trainer.setUser(trainerUser);
+            trainer.setEmployeeId("EMP-" + UUID.randomUUID().toString().substring(0, 8));
+            entityManager.persist(trainer);
+
+            GymClass gymClass = new GymClass();
+            gymClass.setName("Spin");
+            gymClass.setDurationMinutes(45);
+            gymClass.setMaxCapacity(20);
+            gymClass.setTrainer(trainer);
+            entityManager.persist(gymClass);
+
+            ClassSchedule schedule = new ClassSchedule();
+            schedule.setGymClass(gymClass);
+            schedule.setStartTime(LocalDateTime.now().plusDays(2));
+            schedule.setEndTime(LocalDateTime.now().plusDays(2).plusMinutes(45));
+            entityManager.persist(schedule);
+
+            ClassBooking booking = new ClassBooking();
+            booking.setBookingReference("BK" + UUID.randomUUID().toString().substring(0, 8));
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setBookingDate(LocalDateTime.now());
+            booking.setMember(member);
+            booking.setClassSchedule(schedule);
+            entityManager.persist(booking);
+
+            PTSession session = new PTSession();
+            session.setSessionDate(LocalDateTime.now().plusDays(3));
+            session.setDurationMinutes(60);
+            session.setStatus(SessionStatus.SCHEDULED);
+            session.setMember(member);
+            session.setTrainer(trainer);
+            entityManager.persist(session);
+
+            MembershipPlan plan = new MembershipPlan();
+            plan.setName("Premium");
+            plan.setPrice(new BigDecimal("59.99"));
+            plan.setBillingCycle(BillingCycle.MONTHLY);
+            entityManager.persist(plan);
+
+            Subscription subscription = new Subscription();
+            subscription.setStartDate(LocalDateTime.now().minusDays(10));
+            subscription.setStatus(SubscriptionStatus.ACTIVE);
+            subscription.setMember(member);
+            subscription.setMembershipPlan(plan);
+            entityManager.persist(subscription);
+
+            Payment payment = new Payment();
+            payment.setAmount(new BigDecimal("59.99"));
+            payment.setCurrency("USD");
+            payment.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setPaymentDate(LocalDateTime.now().minusDays(10));
+            payment.setMember(member);
+            payment.setSubscription(subscription);
+            entityManager.persist(payment);
+
+            Attendance attendance = new Attendance();
+            attendance.setCheckInTime(LocalDateTime.now().minusHours(2));
+            attendance.setVisitType(VisitType.GROUP_CLASS);
+            attendance.setMember(member);
+            attendance.setClassBooking(booking);
+            entityManager.persist(attendance);
+
+            return UserPrincipal.create(memberUser);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/member/profile",
+            "/api/member/classes/available",
+            "/api/member/bookings",
+            "/api/member/bookings/upcoming",
+            "/api/member/pt-sessions",
+            "/api/member/pt-sessions/upcoming",
+            "/api/member/subscriptions",
+            "/api/member/subscriptions/active",
+            "/api/member/attendance",
+            "/api/member/payments"
+    })
+    void memberEndpointsSerializeWithoutLazyLoading(String path) throws Exception {
+        mockMvc.perform(get(path).with(user(memberPrincipal)))
+                .andExpect(status().isOk());
+    }
+
+    private User newUser(String prefix) {
+        User user = new User();
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-used");
+        user.setFirstName("Test");
+        user.setLastName(prefix);
+        user.setActive(true);
+        user.setEmailVerified(true);
+        return user;
+    }
+}
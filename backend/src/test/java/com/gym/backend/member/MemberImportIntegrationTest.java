@@ -0,0 +1,138 @@
+package com.gym.backend.member;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.MemberImportResultDto;
+import com.gym.backend.service.memberimport.MemberImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * End-to-end tests for the COPY based bulk member import against a real PostgreSQL.
+ * The 100k row timing run is opt-in: {@code mvn test -Dbenchmark=true -Dtest=MemberImportIntegrationTest}.
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+public class MemberImportIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void shouldImportValidRowsAndReportRejectedOnes() throws IOException {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name) VALUES (?, 'x', 'Existing', 'User')",
+                prefix + "-existing@example.com");
+
+        String csv = """
+                email,password,first_name,last_name,date_of_birth,membership_type
+                %1$s-ann@example.com,Secret123!,Ann,Lee,1990-04-12,PREMIUM
+                %1$s-bob@example.com,,Bob,"Smith, Jr.",,BASIC
+                %1$s-ann@example.com,Secret123!,Ann,Again,,
+                %1$s-existing@example.com,Secret123!,Old,Member,,
+                not-an-email,Secret123!,Bad,Email,,
+                %1$s-cat@example.com,Secret123!,Cat,Ng,12/04/1990,
+                """.formatted(prefix);
+
+        MemberImportResultDto result = memberImportService.importMembers(stream(csv), null);
+
+        assertThat(result.getTotalRows()).isEqualTo(6);
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(MemberImportResultDto.RowError::getRow)
+                .containsExactly(4L, 5L, 6L, 7L);
+
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class,
+                prefix + "-ann@example.com");
+        assertThat(passwordEncoder.matches("Secret123!", hash)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class,
+                prefix + "-bob@example.com")).isEqualTo("!");
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM users u
+                JOIN user_roles ur ON ur.user_id = u.id
+                JOIN roles r ON r.id = ur.role_id AND r.name = 'MEMBER'
+                JOIN member_profiles mp ON mp.user_id = u.id
+                WHERE u.email LIKE ?""", Long.class, prefix + "-%")).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldReportTheLineARowStartsOnWhenFieldsSpanLines() throws IOException {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        String csv = """
+                email,first_name,last_name,fitness_goals
+                %1$s-dan@example.com,Dan,Wu,"Run
+                a marathon"
+
+                not-an-email,Bad,Email,
+                """.formatted(prefix);
+
+        MemberImportResultDto result = memberImportService.importMembers(stream(csv), null);
+
+        assertThat(result.getTotalRows()).isEqualTo(2);
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(MemberImportResultDto.RowError::getRow).containsExactly(5L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_tables WHERE tablename = 'member_import_staging'",
+                Long.class)).isZero();
+    }
+
+    @Test
+    void shouldRejectFileWithoutRequiredColumns() {
+        assertThatThrownBy(() -> memberImportService.importMembers(stream("email,first_name\na@example.com,A\n"), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("last_name");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void shouldImportOneHundredThousandRowsWellUnderAMinute() throws IOException {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        StringBuilder csv = new StringBuilder("email,password,first_name,last_name\n");
+        for (int i = 0; i < 100_000; i++) {
+            // Every hundredth member has a password; the rest are invited to set one
+            csv.append(prefix).append('-').append(i).append("@example.com,")
+                    .append(i % 100 == 0 ? "Secret123!" : "")
+                    .append(",Member,").append(i).append('\n');
+        }
+
+        MemberImportResultDto result = memberImportService.importMembers(stream(csv.toString()), null);
+
+        assertThat(result.getTotalRows()).isEqualTo(100_000);
+        assertThat(result.getImportedRows()).isEqualTo(100_000);
+        assertThat(result.getRejectedRows()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getDurationMillis()).isLessThan(30_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?", Long.class, prefix + "-%"))
+                .isEqualTo(100_000);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package com.gym.backend.repository;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.entity.BaseEntity;
+import com.gym.backend.entity.Role;
+import com.gym.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves that equals, hashCode and toString never issue SQL, for every mapped entity,
+ * both on uninitialized proxies and on loaded entities with lazy associations.
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+public class EntityIdentityNoSqlTest {
+
+    private static final long USER_ID = 900_001L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "VALUES (?, 'identity@example.com', 'x', 'First', 'Last') ON CONFLICT (id) DO NOTHING", USER_ID);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) " +
+                "SELECT ?, id FROM roles WHERE name = 'MEMBER' " +
+                "AND NOT EXISTS (SELECT 1 FROM user_roles WHERE user_id = ?)", USER_ID, USER_ID);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> proxiesAnswerIdentityMethodsWithoutLoading() {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .map(type -> DynamicTest.dynamicTest(type.getSimpleName(), () -> {
+                    EntityManager entityManager = entityManagerFactory.createEntityManager();
+                    try {
+                        Object proxy = entityManager.getReference(type, 1L);
+                        Object other = entityManager.getReference(type, 2L);
+
+                        assertNoSql(() -> {
+                            proxy.hashCode();
+                            assertThat(proxy).isEqualTo(proxy).isNotEqualTo(other);
+                            assertThat(proxy.toString()).isEqualTo(type.getSimpleName() + "(id=1)");
+                            new HashSet<>(Set.of(proxy, other));
+                        });
+                        assertThat(Hibernate.isInitialized(proxy)).isFalse();
+                    } finally {
+                        entityManager.close();
+                    }
+                }));
+    }
+
+    @Test
+    void loadedEntitiesDoNotTouchLazyAssociations() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            User user = entityManager.find(User.class, USER_ID);
+            Role role = entityManager.createQuery("SELECT r FROM Role r", Role.class).getResultList().get(0);
+
+            assertNoSql(() -> {
+                Set<BaseEntity> entities = new HashSet<>();
+                entities.add(user);
+                entities.add(role);
+                assertThat(entities).contains(user, role);
+                assertThat(user.toString()).isEqualTo("User(id=" + USER_ID + ")");
+                assertThat(role).isNotEqualTo(user);
+            });
+            assertThat(Hibernate.isInitialized(user.getRoles())).isFalse();
+            assertThat(Hibernate.isInitialized(user.getEmailVerificationTokens())).isFalse();
+            assertThat(Hibernate.isInitialized(role.getUsers())).isFalse();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void assertNoSql(Runnable action) {
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,180 @@
+package com.gym.backend.repository;
+
+import com.gym.backend.GymBackendApplication;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression tests asserting that hot repository queries are served by their indexes.
+ * The schema comes from Flyway alone and is validated against the entities. Seeds realistic
+ * volumes, runs ANALYZE, then calls each repository method, captures the SQL Hibernate issues
+ * and checks its plan with the same parameter values bound.
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.gym.backend.repository.HotQueryIndexPlanTest$SqlCapture")
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class HotQueryIndexPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final String NOW_SQL = "TIMESTAMP '2024-06-01 12:00:00'";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "SELECT g, 'member' || g || '@example.com', 'x', 'First', 'Last' FROM generate_series(1, 20000) g");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active) " +
+                "SELECT g, g, true FROM generate_series(1, 20000) g");
+        jdbcTemplate.execute("INSERT INTO gym_classes (id, name, duration_minutes, max_capacity, is_active) " +
+                "SELECT g, 'Class ' || g, 60, 30, true FROM generate_series(1, 50) g");
+        jdbcTemplate.execute("INSERT INTO class_schedules (id, gym_class_id, start_time, end_time, current_bookings, is_recurring, is_active) " +
+                "SELECT g, 1 + g % 50, " + NOW_SQL + " + (g - 2500) * INTERVAL '3 hours', " +
+                NOW_SQL + " + (g - 2500) * INTERVAL '3 hours' + INTERVAL '1 hour', 0, false, true " +
+                "FROM generate_series(1, 5000) g");
+        jdbcTemplate.execute("INSERT INTO class_bookings (id, booking_reference, status, booking_date, attended, member_id, class_schedule_id) " +
+                "SELECT g, 'BK' || g, (ARRAY['CONFIRMED','CANCELLED','COMPLETED','NO_SHOW'])[1 + g % 4], " +
+                NOW_SQL + " - g * INTERVAL '5 minutes', false, 1 + g % 20000, 1 + g % 5000 " +
+                "FROM generate_series(1, 200000) g");
+        jdbcTemplate.execute("INSERT INTO attendance (id, check_in_time, check_out_time, visit_type, member_id) " +
+                "SELECT g, " + NOW_SQL + " - g * INTERVAL '5 minutes', " +
+                "CASE WHEN g <= 50 THEN NULL ELSE " + NOW_SQL + " - g * INTERVAL '5 minutes' + INTERVAL '1 hour' END, " +
+                "'GENERAL_WORKOUT', 1 + g % 20000 FROM generate_series(1, 200000) g");
+        jdbcTemplate.execute("INSERT INTO membership_plans (id, name, price, billing_cycle, includes_personal_training, " +
+                "includes_group_classes, unlimited_group_classes, priority_booking, freeze_allowed, is_active) " +
+                "SELECT g, 'Plan ' || g, 49.99, 'MONTHLY', false, true, true, false, true, true FROM generate_series(1, 5) g");
+        jdbcTemplate.execute("INSERT INTO subscriptions (id, start_date, end_date, status, auto_renewal, next_billing_date, member_id, membership_plan_id) " +
+                "SELECT g, " + NOW_SQL + " - INTERVAL '200 days', " + NOW_SQL + " + (g % 365) * INTERVAL '1 day', " +
+                "(ARRAY['ACTIVE','EXPIRED','CANCELLED'])[1 + g % 3], true, " +
+                "CASE WHEN g % 100 = 0 THEN " + NOW_SQL + " - INTERVAL '3 days' ELSE " + NOW_SQL + " + (1 + g % 30) * INTERVAL '1 day' END, " +
+                "1 + g % 20000, 1 + g % 5 FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("INSERT INTO notifications (id, title, message, notification_type, priority, status, scheduled_date, attempt_count, user_id, created_at) " +
+                "SELECT g, 'Title', 'Message', 'CLASS_REMINDER', 'NORMAL', " +
+                "CASE WHEN g % 200 = 0 THEN 'SCHEDULED' ELSE 'SENT' END, " +
+                NOW_SQL + " + (g % 48 - 24) * INTERVAL '1 hour', 0, 1 + g % 20000, " + NOW_SQL + " - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, 200000) g");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void upcomingBookingsForMemberUsesPartialMemberIndex() {
+        assertThat(explain(() -> classBookingRepository.findUpcomingBookingsForMember(42L, NOW),
+                "class_bookings", "42", NOW_SQL))
+                .contains("idx_class_bookings_member_confirmed");
+    }
+
+    @Test
+    void activeCheckInsUsesPartialCheckInIndex() {
+        assertThat(explain(() -> attendanceRepository.findActiveCheckIns(), "attendance"))
+                .contains("idx_attendance_active_check_in");
+    }
+
+    @Test
+    void overdueSubscriptionsUsesPartialNextBillingIndex() {
+        assertThat(explain(() -> subscriptionRepository.findOverdueSubscriptions(NOW), "subscriptions", NOW_SQL))
+                .contains("idx_subscriptions_active_next_billing");
+    }
+
+    @Test
+    void scheduledNotificationsReadyToSendUsesPartialScheduledIndex() {
+        assertThat(explain(() -> notificationRepository.findScheduledNotificationsReadyToSend(NOW), "notifications", NOW_SQL))
+                .contains("idx_notifications_scheduled_date");
+    }
+
+    /**
+     * Plan of the first statement the repository call issues, with the given SQL literals
+     * bound to its parameters in the order they appear
+     */
+    private String explain(Runnable repositoryCall, String table, String... parameters) {
+        List<String> statements = SqlCapture.STATEMENTS.get();
+        statements.clear();
+        repositoryCall.run();
+        assertThat(statements).as("statements issued by the repository call").isNotEmpty();
+        String sql = statements.get(0);
+
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PREPARE hot_query AS " + numberParameters(sql));
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE hot_query" +
+                        (parameters.length > 0 ? "(" + String.join(", ", parameters) + ")" : ""))) {
+                    List<String> lines = new ArrayList<>();
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                    return String.join("\n", lines);
+                } finally {
+                    statement.execute("DEALLOCATE hot_query");
+                }
+            }
+        });
+        assertThat(plan).as("plan for: %s", sql).doesNotContain("Seq Scan on " + table + " ");
+        return plan;
+    }
+
+    // JDBC placeholders become $1..$n so the statement can be prepared on the server
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Records the statements Hibernate prepares, per calling thread
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gym.backend.repository;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.entity.User;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a database that already holds rows with explicit ids to pooled sequences,
+ * then checks that ids allocated by Hibernate and by column defaults never collide with them.
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+public class PooledIdSequenceMigrationTest {
+
+    private static final int SEEDED_USERS = 1000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class SeedBeforePooledSequences {
+
+        /**
+         * Stop before the pooled sequence migration and insert rows with explicit ids, which
+         * leaves the serial sequence untouched and far behind MAX(id)
+         */
+        @Bean
+        FlywayMigrationStrategy seedThenMigrate() {
+            return flyway -> {
+                Flyway.configure().configuration(flyway.getConfiguration()).target("1.0.5").load().migrate();
+                new JdbcTemplate(flyway.getConfiguration().getDataSource()).update(
+                        "INSERT INTO users (id, email, password, first_name, last_name) " +
+                        "SELECT g, 'seeded' || g || '@example.com', 'x', 'First', 'Last' FROM generate_series(1, ?) g",
+                        SEEDED_USERS);
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Test
+    void idsAllocatedAfterMigrationContinuePastSeededRows() {
+        // Several allocation blocks, with a default-valued insert taking a value in between
+        List<User> first = userRepository.saveAllAndFlush(newUsers("first", 60));
+        Long defaultId = jdbcTemplate.queryForObject("INSERT INTO users (email, password, first_name, last_name) " +
+                "VALUES ('default@example.com', 'x', 'First', 'Last') RETURNING id", Long.class);
+        List<User> second = userRepository.saveAllAndFlush(newUsers("second", 60));
+
+        List<Long> ids = new ArrayList<>();
+        first.forEach(user -> ids.add(user.getId()));
+        ids.add(defaultId);
+        second.forEach(user -> ids.add(user.getId()));
+
+        assertThat(ids).allMatch(id -> id > SEEDED_USERS).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class))
+                .isEqualTo(SEEDED_USERS + 121L);
+    }
+
+    private static List<User> newUsers(String prefix, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> {
+            User user = new User();
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("x");
+            user.setFirstName("First");
+            user.setLastName("Last");
+            return user;
+        }).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.gym.backend.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for retry-on-conflict behaviour and its metrics
+ */
+public class RetryOnConflictAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void retriesUntilTheConflictClears() {
+        ContendedOperation operation = proxy(new ContendedOperation(2));
+
+        assertThat(operation.update()).isEqualTo(3);
+        assertThat(attempts("conflict")).isEqualTo(2);
+        assertThat(attempts("success")).isEqualTo(1);
+    }
+
+    @Test
+    void rethrowsOnceAttemptsAreExhausted() {
+        ContendedOperation target = new ContendedOperation(Integer.MAX_VALUE);
+        ContendedOperation operation = proxy(target);
+
+        assertThatThrownBy(operation::update).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).isEqualTo(4);
+        assertThat(meterRegistry.get("concurrency.conflict.exhausted")
+                .tag("operation", "ContendedOperation.update").counter().count()).isEqualTo(1);
+    }
+
+    private ContendedOperation proxy(ContendedOperation target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RetryOnConflictAspect(meterRegistry));
+        return factory.getProxy();
+    }
+
+    private double attempts(String result) {
+        return meterRegistry.get("concurrency.conflict.attempts")
+                .tag("operation", "ContendedOperation.update")
+                .tag("result", result)
+                .counter().count();
+    }
+
+    static class ContendedOperation {
+
+        private final int conflicts;
+        int calls;
+
+        ContendedOperation(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnConflict(initialBackoffMillis = 1, maxBackoffMillis = 5)
+        public int update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(ContendedOperation.class, 1L);
+            }
+            return calls;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.gym.backend.security;
+
+import com.gym.backend.config.CacheConfig;
+import com.gym.backend.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for principal caching under both keys and eviction racing a load
+ */
+public class UserPrincipalCacheTest {
+
+    private final UserPrincipalCache cache = new UserPrincipalCache(new CacheConfig(new CacheProperties()).cacheManager());
+
+    @Test
+    void loadByIdIsServedByEmailAndEvictedUnderBothKeys() {
+        AtomicInteger loads = new AtomicInteger();
+        UserPrincipal principal = principal("old@example.com");
+
+        assertThat(cache.getById(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(principal);
+        })).contains(principal);
+        assertThat(cache.getByEmail("old@example.com", Optional::empty)).contains(principal);
+        assertThat(loads).hasValue(1);
+
+        // The new email is passed after an email change; the old key goes with the ID entry
+        cache.evict(1L, "new@example.com");
+        assertThat(cache.getByEmail("old@example.com", Optional::empty)).isEmpty();
+        assertThat(cache.getById(1L, Optional::empty)).isEmpty();
+    }
+
+    @Test
+    void evictionDuringLoadDropsTheStaleSnapshot() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserPrincipal stale = principal("member@example.com");
+
+        CompletableFuture<Optional<UserPrincipal>> load = CompletableFuture.supplyAsync(() ->
+                cache.getById(1L, () -> {
+                    loading.countDown();
+                    await(release);
+                    return Optional.of(stale);
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> evict = CompletableFuture.runAsync(() -> cache.evict(1L, "member@example.com"));
+        Thread.sleep(50);
+        assertThat(evict).isNotDone();
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).contains(stale);
+        evict.get(5, TimeUnit.SECONDS);
+        assertThat(cache.getById(1L, Optional::empty)).isEmpty();
+        assertThat(cache.getByEmail("member@example.com", Optional::empty)).isEmpty();
+    }
+
+    private static UserPrincipal principal(String email) {
+        return UserPrincipal.builder().id(1L).username(email).enabled(true).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
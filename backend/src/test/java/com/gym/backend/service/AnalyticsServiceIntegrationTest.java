@@ -0,0 +1,137 @@
+package com.gym.backend.service;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.analytics.RevenueAnalyticsDto;
+import com.gym.backend.dto.analytics.UtilizationAnalyticsDto;
+import com.gym.backend.entity.Payment;
+import com.gym.backend.entity.enums.PaymentMethod;
+import com.gym.backend.service.revenue.RevenueLedger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for utilization analytics computed by aggregation queries and revenue read from the ledger
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "app.analytics.facility-capacity=10"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AnalyticsServiceIntegrationTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private RevenueLedger revenueLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "SELECT 900000 + g, 'analytics' || g || '@example.com', 'x', 'A', 'B' FROM generate_series(1, 4) g");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active) " +
+                "SELECT 900000 + g, 900000 + g, true FROM generate_series(1, 4) g");
+        jdbcTemplate.execute("INSERT INTO gym_classes (id, name, category, duration_minutes, max_capacity, is_active) VALUES " +
+                "(900001, 'Spin', 'CARDIO', 60, 4, true), (900002, 'Flow', 'YOGA', 60, 10, true)");
+        jdbcTemplate.execute("INSERT INTO class_schedules (id, gym_class_id, start_time, end_time, current_bookings, is_recurring, is_active, version) VALUES " +
+                "(900001, 900001, TIMESTAMP '2024-03-04 07:00', TIMESTAMP '2024-03-04 08:00', 0, false, true, 0), " +
+                "(900002, 900001, TIMESTAMP '2024-03-04 18:00', TIMESTAMP '2024-03-04 19:00', 0, false, true, 0), " +
+                "(900003, 900002, TIMESTAMP '2024-03-04 09:00', TIMESTAMP '2024-03-04 10:00', 0, false, true, 0)");
+        // Spin: 3 seats taken over two schedules of 4 (one cancellation ignored); Yoga: 1 of 10
+        jdbcTemplate.execute("INSERT INTO class_bookings (id, booking_reference, status, booking_date, attended, member_id, class_schedule_id) VALUES " +
+                "(900001, 'BKA1', 'CONFIRMED', TIMESTAMP '2024-03-01 10:00', false, 900001, 900001), " +
+                "(900002, 'BKA2', 'COMPLETED', TIMESTAMP '2024-03-01 10:00', true, 900002, 900001), " +
+                "(900003, 'BKA3', 'NO_SHOW', TIMESTAMP '2024-03-01 10:00', false, 900003, 900002), " +
+                "(900004, 'BKA4', 'CANCELLED', TIMESTAMP '2024-03-01 10:00', false, 900004, 900002), " +
+                "(900005, 'BKA5', 'CONFIRMED', TIMESTAMP '2024-03-01 10:00', false, 900001, 900003)");
+        // 07:30-09:15 spans hours 7, 8 and 9; the open 18:10 visit counts for 18 and 19
+        jdbcTemplate.execute("INSERT INTO attendance (id, check_in_time, check_out_time, visit_type, member_id) VALUES " +
+                "(900001, TIMESTAMP '2024-03-04 07:30', TIMESTAMP '2024-03-04 09:15', 'GENERAL_WORKOUT', 900001), " +
+                "(900002, TIMESTAMP '2024-03-04 07:45', TIMESTAMP '2024-03-04 08:30', 'GENERAL_WORKOUT', 900002), " +
+                "(900003, TIMESTAMP '2024-03-04 18:10', NULL, 'GENERAL_WORKOUT', 900003)");
+
+        jdbcTemplate.execute("INSERT INTO membership_plans (id, name, price, billing_cycle, includes_personal_training, " +
+                "includes_group_classes, unlimited_group_classes, priority_booking, freeze_allowed, is_active) VALUES " +
+                "(900001, 'Gold', 50.00, 'MONTHLY', false, true, true, false, true, true)");
+        // May and June revenue for Gold, with a refund in June; the EUR row is outside the reporting currency
+        jdbcTemplate.execute("INSERT INTO daily_revenue_ledger (revenue_date, membership_plan_id, payment_method, currency, " +
+                "gross_amount, refunded_amount, payment_count, refund_count) VALUES " +
+                "(DATE '2024-05-03', 900001, 'CREDIT_CARD', 'USD', 100.10, 0, 1, 0), " +
+                "(DATE '2024-06-03', 900001, 'CREDIT_CARD', 'USD', 200.20, 50.05, 2, 1), " +
+                "(DATE '2024-06-04', 900001, 'CASH', 'EUR', 999.00, 0, 1, 0)");
+    }
+
+    @Test
+    void shouldComputeOccupancyAndHourlyUtilizationFromData() {
+        UtilizationAnalyticsDto analytics = analyticsService.getUtilizationAnalytics(DAY, DAY.plusDays(1));
+
+        assertThat(analytics.getOccupancyByClassType()).containsEntry("CARDIO", 37.5).containsEntry("YOGA", 10.0);
+        assertThat(analytics.getAverageClassOccupancyRate()).isEqualTo(22.2);
+        assertThat(analytics.getUtilizationByTimeSlot()).containsExactly(
+                entry("07:00", 20.0), entry("08:00", 20.0), entry("09:00", 10.0),
+                entry("18:00", 10.0), entry("19:00", 10.0));
+        assertThat(analytics.getPeakHoursUtilization()).isEqualTo(20.0);
+        assertThat(analytics.getOverallFacilityUtilization()).isEqualTo(14.0);
+    }
+
+    @Test
+    void shouldServeRepeatedRangeFromCache() {
+        UtilizationAnalyticsDto first = analyticsService.getUtilizationAnalytics(DAY.minusDays(7), DAY.plusDays(7));
+        UtilizationAnalyticsDto second = analyticsService.getUtilizationAnalytics(DAY.minusDays(7), DAY.plusDays(7));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldReportRevenueAndGrowthFromLedger() {
+        Payment payment = new Payment();
+        payment.setAmount(new BigDecimal("0.10"));
+        payment.setCurrency("USD");
+        payment.setPaymentMethod(PaymentMethod.CASH);
+        payment.setPaymentDate(LocalDateTime.of(2024, 6, 5, 12, 0));
+        revenueLedger.recordPayment(payment);
+        revenueLedger.recordPayment(payment);
+
+        RevenueAnalyticsDto analytics = analyticsService.getRevenueAnalytics(
+                LocalDateTime.of(2024, 5, 1, 0, 0), LocalDateTime.of(2024, 6, 5, 23, 59));
+
+        assertThat(analytics.getCurrency()).isEqualTo("USD");
+        assertThat(analytics.getTotalRevenue()).isEqualTo(250.45);
+        assertThat(analytics.getRevenueByMembershipPlan()).containsExactly(entry("Gold", 250.25), entry("Unassigned", 0.2));
+        assertThat(analytics.getRevenueByPaymentMethod()).containsExactly(entry("CASH", 0.2), entry("CREDIT_CARD", 250.25));
+        assertThat(analytics.getMonthlyRevenueTrend()).containsExactly(entry("2024-05", 100.1), entry("2024-06", 150.35));
+        assertThat(analytics.getAverageRevenuePerDay()).isEqualTo(6.96);
+        // June 1-5 against May 1-5
+        assertThat(analytics.getMonthlyRevenue()).isEqualTo(150.35);
+        assertThat(analytics.getGrowthRate()).isEqualTo(50.2);
+    }
+
+    private static Map.Entry<String, Double> entry(String key, Double value) {
+        return Map.entry(key, value);
+    }
+}
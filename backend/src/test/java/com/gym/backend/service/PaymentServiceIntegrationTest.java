@@ -0,0 +1,171 @@
+package com.gym.backend.service;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.PaymentDto;
+import com.gym.backend.entity.enums.PaymentMethod;
+import com.gym.backend.entity.enums.PaymentStatus;
+import com.gym.backend.service.PaymentGatewayService.PaymentGatewayResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that processing and refunding payments keeps the daily revenue ledger in step
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PaymentServiceIntegrationTest {
+
+    private static final long MEMBER_ID = 930001L;
+    private static final long PLAN_ID = 930001L;
+    private static final long SUBSCRIPTION_ID = 930001L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PaymentGatewayService paymentGatewayService;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) VALUES " +
+                "(930001, 'ledger@example.com', 'x', 'L', 'M')");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active) VALUES (930001, 930001, true)");
+        jdbcTemplate.execute("INSERT INTO membership_plans (id, name, price, billing_cycle) VALUES " +
+                "(930001, 'Gold', 50.00, 'MONTHLY')");
+        jdbcTemplate.execute("INSERT INTO subscriptions (id, member_id, membership_plan_id, status, start_date) VALUES " +
+                "(930001, 930001, 930001, 'ACTIVE', TIMESTAMP '2024-01-01 00:00')");
+    }
+
+    // Each test pays in its own currency so ledger rows never collide
+
+    @Test
+    void completedPaymentIsAddedToTheLedgerUnderItsPlan() {
+        gatewayPays(true);
+
+        PaymentDto payment = paymentService.processPayment(payment("USD", "49.99"));
+        paymentService.processPayment(payment("USD", "10.01"));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        List<Map<String, Object>> rows = ledger("USD");
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0))
+                .containsEntry("membership_plan_id", PLAN_ID)
+                .containsEntry("payment_method", "CREDIT_CARD")
+                .containsEntry("gross_amount", new BigDecimal("60.00"))
+                .containsEntry("refunded_amount", new BigDecimal("0.00"))
+                .containsEntry("payment_count", 2)
+                .containsEntry("refund_count", 0);
+    }
+
+    @Test
+    void declinedPaymentIsNotAddedToTheLedger() {
+        gatewayPays(false);
+
+        PaymentDto payment = paymentService.processPayment(payment("EUR", "49.99"));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(ledger("EUR")).isEmpty();
+    }
+
+    @Test
+    void refundIsRecordedOnlyWhenItChangesThePaymentStatus() {
+        gatewayPays(true);
+        PaymentDto payment = paymentService.processPayment(payment("GBP", "40.00"));
+
+        gatewayRefunds(false);
+        PaymentDto declined = paymentService.refundPayment(payment.getId(), new BigDecimal("15.00"), "declined");
+        assertThat(declined.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(ledger("GBP").get(0)).containsEntry("refunded_amount", new BigDecimal("0.00"))
+                .containsEntry("refund_count", 0);
+
+        gatewayRefunds(true);
+        PaymentDto refunded = paymentService.refundPayment(payment.getId(), new BigDecimal("15.00"), "partial");
+        assertThat(refunded.getStatus()).isEqualTo(PaymentStatus.PARTIALLY_REFUNDED);
+
+        // A partially refunded payment is no longer refundable, so the ledger takes one refund only
+        assertThatThrownBy(() -> paymentService.refundPayment(payment.getId(), new BigDecimal("25.00"), "rest"))
+                .isInstanceOf(IllegalStateException.class);
+
+        List<Map<String, Object>> rows = ledger("GBP");
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0))
+                .containsEntry("gross_amount", new BigDecimal("40.00"))
+                .containsEntry("refunded_amount", new BigDecimal("15.00"))
+                .containsEntry("payment_count", 1)
+                .containsEntry("refund_count", 1);
+    }
+
+    @Test
+    void fullRefundMarksThePaymentRefunded() {
+        gatewayPays(true);
+        PaymentDto payment = paymentService.processPayment(payment("CHF", "30.00"));
+
+        gatewayRefunds(true);
+        PaymentDto refunded = paymentService.refundPayment(payment.getId(), new BigDecimal("30.00"), "full");
+
+        assertThat(refunded.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        assertThat(ledger("CHF").get(0))
+                .containsEntry("gross_amount", new BigDecimal("30.00"))
+                .containsEntry("refunded_amount", new BigDecimal("30.00"));
+    }
+
+    private void gatewayPays(boolean success) {
+        PaymentGatewayResult result = new PaymentGatewayResult();
+        result.setSuccess(success);
+        result.setTransactionId("txn-" + System.nanoTime());
+        if (!success) {
+            result.setErrorMessage("Payment declined by bank");
+        }
+        when(paymentGatewayService.processPayment(any(), anyString(), any(), any())).thenReturn(result);
+    }
+
+    private void gatewayRefunds(boolean success) {
+        PaymentGatewayResult result = new PaymentGatewayResult();
+        result.setSuccess(success);
+        when(paymentGatewayService.refundPayment(any(), any(), any())).thenReturn(result);
+    }
+
+    private static PaymentDto payment(String currency, String amount) {
+        PaymentDto payment = new PaymentDto();
+        payment.setMemberId(MEMBER_ID);
+        payment.setSubscriptionId(SUBSCRIPTION_ID);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setCurrency(currency);
+        payment.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        return payment;
+    }
+
+    private List<Map<String, Object>> ledger(String currency) {
+        return jdbcTemplate.queryForList("SELECT membership_plan_id, payment_method, gross_amount, refunded_amount, " +
+                "payment_count, refund_count FROM daily_revenue_ledger WHERE currency = ?", currency);
+    }
+}
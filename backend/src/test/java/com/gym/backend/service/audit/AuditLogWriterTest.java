@@ -0,0 +1,170 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gym.backend.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for audit batching and spilling when the buffer or database cannot keep up
+ */
+public class AuditLogWriterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    /** Rows per INSERT, in the order the statements were prepared */
+    private final List<Integer> insertedRows = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    private AuditLogWriter writer;
+
+    @AfterEach
+    void stopWriter() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void drainsTheBufferInMultiRowInserts() throws Exception {
+        acceptInserts();
+        writer = writer(10, 4, DataSize.ofMegabytes(1));
+        for (int i = 0; i < 10; i++) {
+            writer.submit(event(i));
+        }
+
+        writer.start();
+        awaitWritten(10);
+
+        assertThat(insertedRows).containsExactly(4, 4, 2);
+        assertThat(counter("audit.events.spilled")).isZero();
+    }
+
+    @Test
+    void spillsToDiskInsteadOfBlockingWhenTheBufferIsFull() {
+        writer = writer(2, 10, DataSize.ofMegabytes(1));
+
+        for (int i = 0; i < 5; i++) {
+            writer.submit(event(i));
+        }
+
+        assertThat(meterRegistry.get("audit.queue.size").gauge().value()).isEqualTo(2);
+        assertThat(counter("audit.events.spilled")).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.spill.size").gauge().value()).isPositive();
+        assertThat(counter("audit.events.dropped")).isZero();
+    }
+
+    @Test
+    void dropsAndCountsEventsOnceTheSpillFileIsFull() {
+        writer = writer(1, 10, DataSize.ofBytes(400));
+
+        for (int i = 0; i < 10; i++) {
+            writer.submit(event(i));
+        }
+
+        assertThat(counter("audit.events.spilled")).isBetween(1.0, 8.0);
+        assertThat(counter("audit.events.spilled") + counter("audit.events.dropped")).isEqualTo(9);
+        assertThat(meterRegistry.get("audit.spill.size").gauge().value()).isLessThanOrEqualTo(400);
+    }
+
+    @Test
+    void failedBatchIsSpilledAndReplayedWhenTheDatabaseRecovers() throws Exception {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(invocation -> {
+            if (databaseDown.getAndSet(false)) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            return prepare(invocation.getArgument(0));
+        });
+        writer = writer(10, 10, DataSize.ofMegabytes(1));
+        for (int i = 0; i < 3; i++) {
+            writer.submit(event(i));
+        }
+
+        writer.start();
+        awaitWritten(3);
+        writer.stop();
+
+        assertThat(counter("audit.events.spilled")).isEqualTo(3);
+        assertThat(insertedRows).containsExactly(3);
+        assertThat(Files.exists(directory.resolve("audit-spill.ndjson"))).isFalse();
+        assertThat(Files.exists(directory.resolve("audit-spill.replay.ndjson"))).isFalse();
+    }
+
+    private AuditLogWriter writer(int bufferCapacity, int batchSize, DataSize maxSpillSize) {
+        AuditProperties properties = new AuditProperties();
+        properties.setBufferCapacity(bufferCapacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.setSpillDirectory(directory.toString());
+        properties.setMaxSpillSize(maxSpillSize);
+        return new AuditLogWriter(properties, jdbcTemplate, objectMapper, meterRegistry);
+    }
+
+    private void acceptInserts() {
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class)))
+                .thenAnswer(invocation -> prepare(invocation.getArgument(0)));
+    }
+
+    private int prepare(PreparedStatementCreator creator) throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            insertedRows.add(sql.split("\\?::inet", -1).length - 1);
+            return mock(PreparedStatement.class);
+        });
+        creator.createPreparedStatement(connection);
+        return insertedRows.get(insertedRows.size() - 1);
+    }
+
+    private void awaitWritten(int events) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (counter("audit.events.written") < events && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(counter("audit.events.written")).isEqualTo(events);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static AuditEvent event(long entityId) {
+        return AuditEvent.builder()
+                .userId(1L)
+                .action(AuditAction.BOOKING_CREATED.name())
+                .entityType("ClassBooking")
+                .entityId(entityId)
+                .newValues("{\"status\":\"CONFIRMED\"}")
+                .createdAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.backend.config.AuditProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for handing audit events to the writer only once their transaction commits
+ */
+public class AuditLoggerTest {
+
+    private final AuditLogWriter writer = mock(AuditLogWriter.class);
+    private final AuditLogger auditLogger = new AuditLogger(writer, new ObjectMapper(), new AuditProperties());
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void submitsTheEventCapturedAtRecordTimeAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Map<String, String> values = new HashMap<>(Map.of("status", "CONFIRMED"));
+
+        auditLogger.record(AuditAction.BOOKING_CREATED, "ClassBooking", 7L, null, values);
+        values.put("status", "CANCELLED");
+        verify(writer, never()).submit(any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        verify(writer, never()).submit(any());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<AuditEvent> submitted = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(writer).submit(submitted.capture());
+        assertThat(submitted.getValue().getAction()).isEqualTo("BOOKING_CREATED");
+        assertThat(submitted.getValue().getEntityId()).isEqualTo(7L);
+        assertThat(submitted.getValue().getNewValues()).isEqualTo("{\"status\":\"CONFIRMED\"}");
+    }
+
+    @Test
+    void dropsTheEventWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditLogger.record(AuditAction.BOOKING_CANCELLED, "ClassBooking", 7L, null, null);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    void submitsImmediatelyOutsideATransaction() {
+        auditLogger.record(AuditAction.BOOKING_CREATED, "ClassBooking", 7L, null, null);
+
+        verify(writer).submit(any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.gym.backend.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for audit spill and replay
+ */
+public class AuditSpillFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEverySpilledEventInBatches() {
+        AuditSpillFile spillFile = new AuditSpillFile(directory, 1_000_000, objectMapper);
+        assertThat(spillFile.append(events(0, 5))).isEqualTo(5);
+
+        List<List<Long>> batches = new ArrayList<>();
+        assertThat(spillFile.replay(2, batch -> batches.add(entityIds(batch)), e -> false)).isTrue();
+
+        assertThat(batches).containsExactly(List.of(0L, 1L), List.of(2L, 3L), List.of(4L));
+        assertThat(spillFile.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void failedBatchIsRetriedFromItsOffsetWithoutRewritingTheFile() throws Exception {
+        AuditSpillFile spillFile = new AuditSpillFile(directory, 1_000_000, objectMapper);
+        spillFile.append(events(0, 5));
+
+        List<Long> written = new ArrayList<>();
+        List<Long> attempted = new ArrayList<>();
+        boolean complete = spillFile.replay(2, batch -> {
+            attempted.addAll(entityIds(batch));
+            if (batch.get(0).getEntityId() == 2L) {
+                throw new IllegalStateException("database unavailable");
+            }
+            written.addAll(entityIds(batch));
+        }, e -> false);
+
+        assertThat(complete).isFalse();
+        assertThat(written).containsExactly(0L, 1L);
+        // Nothing past the failed batch was read
+        assertThat(attempted).containsExactly(0L, 1L, 2L, 3L);
+        Path replayFile = directory.resolve("audit-spill.replay.ndjson");
+        assertThat(Files.readAllLines(replayFile)).hasSize(5);
+
+        List<Long> retried = new ArrayList<>();
+        assertThat(spillFile.replay(10, batch -> retried.addAll(entityIds(batch)), e -> false)).isTrue();
+        assertThat(retried).containsExactly(2L, 3L, 4L);
+        assertThat(replayFile).doesNotExist();
+    }
+
+    @Test
+    void permanentlyRejectedRowsAreDeadLetteredAndTheRestWritten() throws Exception {
+        AuditSpillFile spillFile = new AuditSpillFile(directory, 1_000_000, objectMapper);
+        spillFile.append(events(0, 5));
+        Files.writeString(directory.resolve("audit-spill.ndjson"), "not json\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Long> written = new ArrayList<>();
+        assertThat(spillFile.replay(3, batch -> {
+            if (entityIds(batch).contains(1L)) {
+                throw new IllegalArgumentException("violates foreign key constraint");
+            }
+            written.addAll(entityIds(batch));
+        }, e -> e instanceof IllegalArgumentException)).isTrue();
+
+        assertThat(written).containsExactly(0L, 2L, 3L, 4L);
+        List<String> deadLetters = Files.readAllLines(directory.resolve("audit-spill.dead-letter.ndjson"));
+        assertThat(deadLetters).hasSize(2);
+        assertThat(deadLetters.get(0)).contains("\"entityId\":1");
+        assertThat(deadLetters.get(1)).isEqualTo("not json");
+        assertThat(spillFile.deadLetterSizeInBytes()).isPositive();
+    }
+
+    @Test
+    void stopsAppendingAtTheSizeLimit() {
+        AuditSpillFile spillFile = new AuditSpillFile(directory, 300, objectMapper);
+
+        int appended = spillFile.append(events(0, 10));
+
+        assertThat(appended).isBetween(1, 9);
+        assertThat(spillFile.sizeInBytes()).isLessThanOrEqualTo(300);
+    }
+
+    @Test
+    void sizeLimitCountsEncodedBytesNotCharacters() {
+        AuditSpillFile spillFile = new AuditSpillFile(directory, 1_000, objectMapper);
+        AuditEvent event = AuditEvent.builder()
+                .action(AuditAction.BOOKING_CREATED.name())
+                .entityType("ClassBooking")
+                .newValues("{\"note\":\"" + "\u00e9".repeat(200) + "\"}")
+                .build();
+
+        spillFile.append(List.of(event, event, event));
+
+        assertThat(spillFile.sizeInBytes()).isLessThanOrEqualTo(1_000);
+    }
+
+    private List<AuditEvent> events(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> AuditEvent.builder()
+                        .userId(1L)
+                        .action(AuditAction.BOOKING_CREATED.name())
+                        .entityType("ClassBooking")
+                        .entityId((long) i)
+                        .newValues("{\"status\":\"CONFIRMED\"}")
+                        .createdAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                        .build())
+                .toList();
+    }
+
+    private List<Long> entityIds(List<AuditEvent> batch) {
+        return batch.stream().map(AuditEvent::getEntityId).toList();
+    }
+}
@@ -0,0 +1,168 @@
+package com.gym.backend.service.cube;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.analytics.CubeSliceDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the cube from a Flyway-built schema and checks its slices against plain SQL
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "app.analytics-cube.enabled=false"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AnalyticsCubeServiceIntegrationTest {
+
+    // Every row with its plan resolved independently of the cube's lateral join
+    private static final String EVENTS_SQL = """
+            SELECT 'ATTENDANCE' AS source, a.member_id, a.check_in_time AS event_time, a.visit_type AS status,
+                   1 AS attended, COALESCE(gc.difficulty_level, 'NONE') AS difficulty,
+                   COALESCE(tu.first_name || ' ' || tu.last_name, 'NONE') AS trainer
+            FROM attendance a
+            LEFT JOIN class_bookings cb ON cb.id = a.class_booking_id
+            LEFT JOIN class_schedules cs ON cs.id = cb.class_schedule_id
+            LEFT JOIN gym_classes gc ON gc.id = cs.gym_class_id
+            LEFT JOIN pt_sessions pt ON pt.id = a.pt_session_id
+            LEFT JOIN trainer_profiles tp ON tp.id = COALESCE(gc.trainer_id, pt.trainer_id)
+            LEFT JOIN users tu ON tu.id = tp.user_id
+            UNION ALL
+            SELECT 'BOOKING', cb.member_id, cs.start_time, cb.status,
+                   CASE WHEN cb.attended THEN 1 ELSE 0 END, COALESCE(gc.difficulty_level, 'NONE'),
+                   COALESCE(tu.first_name || ' ' || tu.last_name, 'NONE')
+            FROM class_bookings cb
+            JOIN class_schedules cs ON cs.id = cb.class_schedule_id
+            JOIN gym_classes gc ON gc.id = cs.gym_class_id
+            LEFT JOIN trainer_profiles tp ON tp.id = gc.trainer_id
+            LEFT JOIN users tu ON tu.id = tp.user_id""";
+
+    private static final String GROUPED_SQL = """
+            SELECT e.source, e.difficulty, e.trainer,
+                   COALESCE((SELECT mp.name FROM subscriptions s JOIN membership_plans mp ON mp.id = s.membership_plan_id
+                             WHERE s.member_id = e.member_id AND s.start_date <= e.event_time
+                             ORDER BY s.start_date DESC LIMIT 1), 'NONE') AS plan,
+                   COUNT(*) AS row_count, SUM(e.attended) AS attended
+            FROM (%s) e
+            GROUP BY 1, 2, 3, 4""".formatted(EVENTS_SQL);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private AnalyticsCubeService analyticsCubeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) VALUES " +
+                "(920001, 'cube1@example.com', 'x', 'Mia', 'Member'), (920002, 'cube2@example.com', 'x', 'Max', 'Member'), " +
+                "(920003, 'cube3@example.com', 'x', 'Tina', 'Trainer'), (920004, 'cube4@example.com', 'x', 'Paul', 'Coach')");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active) VALUES " +
+                "(920001, 920001, true), (920002, 920002, true)");
+        jdbcTemplate.execute("INSERT INTO trainer_profiles (id, user_id, employee_id) VALUES " +
+                "(920003, 920003, 'CUBE-T1'), (920004, 920004, 'CUBE-T2')");
+        jdbcTemplate.execute("INSERT INTO membership_plans (id, name, price, billing_cycle) VALUES " +
+                "(920001, 'Gold', 79.00, 'MONTHLY'), (920002, 'Basic', 29.00, 'MONTHLY')");
+        // Mia switches from Gold to Basic in March; Max has no subscription
+        jdbcTemplate.execute("INSERT INTO subscriptions (id, member_id, membership_plan_id, status, start_date) VALUES " +
+                "(920001, 920001, 920001, 'EXPIRED', TIMESTAMP '2024-01-01 00:00'), " +
+                "(920002, 920001, 920002, 'ACTIVE', TIMESTAMP '2024-03-01 00:00')");
+        jdbcTemplate.execute("INSERT INTO gym_classes (id, trainer_id, name, category, difficulty_level, duration_minutes, max_capacity) VALUES " +
+                "(920001, 920003, 'Yoga', 'MIND_BODY', 'BEGINNER', 60, 20), " +
+                "(920002, NULL, 'HIIT', 'CARDIO', 'ADVANCED', 45, 15)");
+        jdbcTemplate.execute("INSERT INTO class_schedules (id, gym_class_id, start_time, end_time) VALUES " +
+                "(920001, 920001, TIMESTAMP '2024-02-05 09:00', TIMESTAMP '2024-02-05 10:00'), " +
+                "(920002, 920002, TIMESTAMP '2024-03-05 18:00', TIMESTAMP '2024-03-05 18:45'), " +
+                "(920003, 920001, TIMESTAMP '2024-03-06 09:00', TIMESTAMP '2024-03-06 10:00')");
+        jdbcTemplate.execute("INSERT INTO class_bookings (id, member_id, class_schedule_id, booking_reference, status, booking_date, attended) VALUES " +
+                "(920001, 920001, 920001, 'CUBE-1', 'COMPLETED', TIMESTAMP '2024-02-01 08:00', true), " +
+                "(920002, 920002, 920001, 'CUBE-2', 'NO_SHOW', TIMESTAMP '2024-02-01 08:00', false), " +
+                "(920003, 920001, 920002, 'CUBE-3', 'COMPLETED', TIMESTAMP '2024-03-01 08:00', true), " +
+                "(920004, 920001, 920003, 'CUBE-4', 'CONFIRMED', TIMESTAMP '2024-03-01 08:00', false)");
+        jdbcTemplate.execute("INSERT INTO pt_sessions (id, member_id, trainer_id, session_date, duration_minutes, status) VALUES " +
+                "(920001, 920002, 920004, TIMESTAMP '2024-02-10 17:00', 60, 'COMPLETED')");
+        jdbcTemplate.execute("INSERT INTO attendance (id, member_id, class_booking_id, pt_session_id, check_in_time, check_out_time, visit_type) VALUES " +
+                "(920001, 920001, 920001, NULL, TIMESTAMP '2024-02-05 08:55', TIMESTAMP '2024-02-05 10:05', 'GROUP_CLASS'), " +
+                "(920002, 920001, 920003, NULL, TIMESTAMP '2024-03-05 17:50', TIMESTAMP '2024-03-05 18:50', 'GROUP_CLASS'), " +
+                "(920003, 920002, NULL, 920001, TIMESTAMP '2024-02-10 16:55', TIMESTAMP '2024-02-10 18:00', 'PERSONAL_TRAINING'), " +
+                "(920004, 920002, NULL, NULL, TIMESTAMP '2024-02-11 07:00', NULL, 'GENERAL_WORKOUT')");
+    }
+
+    @Test
+    void sliceMatchesPlainSqlGroupBy() {
+        analyticsCubeService.refresh();
+
+        CubeSliceDto slice = analyticsCubeService.query(CubeQuery.builder()
+                .groupBy(List.of(CubeDimension.SOURCE, CubeDimension.DIFFICULTY, CubeDimension.TRAINER, CubeDimension.PLAN))
+                .build());
+
+        Map<List<String>, List<Long>> expected = new HashMap<>();
+        jdbcTemplate.query(GROUPED_SQL, rs -> {
+            expected.put(List.of(rs.getString("source"), rs.getString("difficulty"), rs.getString("trainer"), rs.getString("plan")),
+                    List.of(rs.getLong("row_count"), rs.getLong("attended")));
+        });
+        assertThat(groups(slice)).isEqualTo(expected);
+
+        // The joins the SQL above shares with the cube, spelled out for the seeded rows
+        assertThat(expected).containsEntry(List.of("BOOKING", "BEGINNER", "Tina Trainer", "Gold"), List.of(1L, 1L))
+                .containsEntry(List.of("BOOKING", "ADVANCED", "NONE", "Basic"), List.of(1L, 1L))
+                .containsEntry(List.of("ATTENDANCE", "NONE", "Paul Coach", "NONE"), List.of(1L, 1L));
+    }
+
+    @Test
+    void incrementalRefreshPicksUpChangedBookings() {
+        analyticsCubeService.refresh();
+        CubeQuery byStatus = CubeQuery.builder()
+                .groupBy(List.of(CubeDimension.STATUS))
+                .filters(Map.of(CubeDimension.SOURCE, Set.of("BOOKING")))
+                .build();
+        long confirmed = rows(analyticsCubeService.query(byStatus), "CONFIRMED");
+
+        jdbcTemplate.update("UPDATE class_bookings SET status = 'CANCELLED', updated_at = now() WHERE id = 920004");
+        analyticsCubeService.refresh();
+
+        CubeSliceDto slice = analyticsCubeService.query(byStatus);
+        assertThat(rows(slice, "CONFIRMED")).isEqualTo(confirmed - 1);
+        assertThat(rows(slice, "CANCELLED")).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM class_bookings WHERE status = 'CANCELLED'", Long.class));
+        assertThat(slice.getScannedRows()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM attendance) + (SELECT COUNT(*) FROM class_bookings)", Long.class));
+    }
+
+    private static Map<List<String>, List<Long>> groups(CubeSliceDto slice) {
+        Map<List<String>, List<Long>> groups = new HashMap<>();
+        for (CubeSliceDto.Group group : slice.getGroups()) {
+            groups.put(List.of(group.getKey().get("SOURCE"), group.getKey().get("DIFFICULTY"),
+                    group.getKey().get("TRAINER"), group.getKey().get("PLAN")), List.of(group.getRows(), group.getAttended()));
+        }
+        return groups;
+    }
+
+    private static long rows(CubeSliceDto slice, String status) {
+        return slice.getGroups().stream()
+                .filter(group -> status.equals(group.getKey().get("STATUS")))
+                .mapToLong(CubeSliceDto.Group::getRows)
+                .sum();
+    }
+}
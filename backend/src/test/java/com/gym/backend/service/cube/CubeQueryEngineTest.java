@@ -0,0 +1,113 @@
+package com.gym.backend.service.cube;
+
+import com.gym.backend.dto.analytics.CubeSliceDto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for filtering and grouping over cube snapshots
+ */
+public class CubeQueryEngineTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(3);
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdownNow();
+    }
+
+    private static void add(CubeBuilder builder, long id, String category, String trainer, LocalDate day,
+                            int attended, int minutes) {
+        int[] codes = new int[CubeDimension.values().length];
+        codes[CubeDimension.SOURCE.ordinal()] = builder.encode(CubeDimension.SOURCE, "ATTENDANCE");
+        codes[CubeDimension.CATEGORY.ordinal()] = builder.encode(CubeDimension.CATEGORY, category);
+        codes[CubeDimension.DIFFICULTY.ordinal()] = builder.encode(CubeDimension.DIFFICULTY, null);
+        codes[CubeDimension.TRAINER.ordinal()] = builder.encode(CubeDimension.TRAINER, trainer);
+        codes[CubeDimension.PLAN.ordinal()] = builder.encode(CubeDimension.PLAN, null);
+        codes[CubeDimension.STATUS.ordinal()] = builder.encode(CubeDimension.STATUS, "CLASS");
+        builder.upsert(id << 1, id, codes, (int) day.toEpochDay(), attended, minutes);
+    }
+
+    private static CubeSliceDto run(CubeSnapshot snapshot, List<String> groupBy, List<String> filters) {
+        return CubeQueryEngine.execute(snapshot, CubeQuery.parse(groupBy, filters, null, null, null), POOL, 10_000);
+    }
+
+    @Test
+    void shouldGroupAndFilterAcrossChunks() {
+        CubeBuilder builder = new CubeBuilder(16);
+        int rows = CubeChunk.CAPACITY + 10_000;
+        for (int id = 0; id < rows; id++) {
+            add(builder, id, id % 2 == 0 ? "YOGA" : "HIIT", id % 3 == 0 ? "Ann Lee" : "Bo Kim", DAY, 1, 10);
+        }
+        CubeSnapshot snapshot = builder.snapshot(LocalDateTime.now());
+
+        CubeSliceDto byCategory = run(snapshot, List.of("category"), null);
+        assertThat(byCategory.getMatchedRows()).isEqualTo(rows);
+        assertThat(byCategory.getGroups()).extracting(CubeSliceDto.Group::getKey)
+                .containsExactlyInAnyOrder(Map.of("CATEGORY", "YOGA"), Map.of("CATEGORY", "HIIT"));
+        assertThat(byCategory.getGroups().get(0).getVisitMinutes()).isEqualTo(rows / 2 * 10L);
+
+        long expected = IntStream.range(0, rows).filter(id -> id % 6 == 0).count();
+        CubeSliceDto filtered = run(snapshot, List.of("trainer"), List.of("category:YOGA", "TRAINER:Ann Lee|Nobody"));
+        assertThat(filtered.getGroups()).singleElement()
+                .satisfies(group -> assertThat(group.getRows()).isEqualTo(expected));
+
+        assertThat(run(snapshot, List.of(), List.of("CATEGORY:PILATES")).getMatchedRows()).isZero();
+    }
+
+    @Test
+    void shouldRestrictToDateRangeAndLabelMissingValues() {
+        CubeBuilder builder = new CubeBuilder(16);
+        add(builder, 1, "YOGA", null, DAY, 1, 30);
+        add(builder, 2, "YOGA", null, DAY.plusDays(1), 0, 0);
+        add(builder, 3, "YOGA", "Ann Lee", DAY.plusDays(2), 1, 45);
+        CubeSnapshot snapshot = builder.snapshot(LocalDateTime.now());
+
+        CubeSliceDto slice = CubeQueryEngine.execute(snapshot,
+                CubeQuery.parse(List.of("TRAINER"), null, DAY, DAY.plusDays(2), null), POOL, 10_000);
+
+        assertThat(slice.getGroups()).singleElement().satisfies(group -> {
+            assertThat(group.getKey()).containsEntry("TRAINER", CubeDictionary.NONE);
+            assertThat(group.getRows()).isEqualTo(2);
+            assertThat(group.getAttended()).isEqualTo(1);
+            assertThat(group.getVisitMinutes()).isEqualTo(30);
+        });
+    }
+
+    @Test
+    void shouldOverwriteUpsertedRowsWithoutChangingPublishedSnapshots() {
+        CubeBuilder builder = new CubeBuilder(16);
+        add(builder, 1, "YOGA", null, DAY, 1, 30);
+        add(builder, 2, "YOGA", null, DAY, 1, 30);
+        CubeSnapshot before = builder.snapshot(LocalDateTime.now());
+
+        add(builder, 2, "HIIT", null, DAY, 1, 30);
+        CubeSnapshot after = builder.snapshot(LocalDateTime.now());
+
+        assertThat(run(before, List.of("CATEGORY"), null).getGroups()).singleElement()
+                .satisfies(group -> assertThat(group.getRows()).isEqualTo(2));
+        assertThat(after.rows).isEqualTo(2);
+        assertThat(run(after, List.of("CATEGORY"), List.of("CATEGORY:HIIT")).getMatchedRows()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectGroupByBeyondMaxGroups() {
+        CubeSnapshot snapshot = new CubeBuilder(16).snapshot(LocalDateTime.now());
+
+        assertThatThrownBy(() -> CubeQueryEngine.execute(snapshot,
+                CubeQuery.parse(List.of("HOUR_OF_WEEK"), null, null, null, null), POOL, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("168");
+    }
+}
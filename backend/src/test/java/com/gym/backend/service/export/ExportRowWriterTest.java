@@ -0,0 +1,66 @@
+package com.gym.backend.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the CSV and NDJSON export row writers
+ */
+public class ExportRowWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "amount", "member_email", "payment_date", "refunded");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteCsvHeaderEvenWithoutRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExportFormat.CSV.newWriter(out, COLUMNS, objectMapper).finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,amount,member_email,payment_date,refunded\n");
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineWithTypedValues() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportRowWriter writer = ExportFormat.NDJSON.newWriter(out, COLUMNS, objectMapper);
+
+        writer.writeRow(new Object[]{1L, new BigDecimal("59.99"), "a@example.com", LocalDateTime.of(2024, 1, 2, 9, 30), false});
+        writer.writeRow(new Object[]{2L, new BigDecimal("10.00"), "b\"quoted\"@example.com", null, null});
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("59.99");
+        assertThat(first.get("payment_date").asText()).isEqualTo("2024-01-02T09:30");
+        assertThat(first.get("refunded").isBoolean()).isTrue();
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("member_email").asText()).isEqualTo("b\"quoted\"@example.com");
+        assertThat(second.get("payment_date").isNull()).isTrue();
+    }
+
+    @Test
+    void shouldLeaveUnderlyingStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportRowWriter writer = ExportFormat.CSV.newWriter(out, COLUMNS, objectMapper);
+        writer.writeRow(new Object[]{1L, BigDecimal.ONE, "a@example.com", null, true});
+        writer.finish();
+
+        out.write("trailer".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("1,1,a@example.com,,true\ntrailer");
+    }
+}
@@ -0,0 +1,76 @@
+package com.gym.backend.service.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the front-desk member prefix index
+ */
+public class MemberLookupIndexTest {
+
+    private final MemberLookupIndex index = MemberLookupIndex.build(List.of(
+            member(1L, "John", "Smith", "jsmith@example.com", "+1 (555) 010-2030"),
+            member(2L, "Johanna", "Berg", "jo.berg@example.com", null),
+            member(3L, "José", "Núñez", "jnunez@example.com", "555 777 1234"),
+            member(4L, "Mary", "Johnson", "mary.j@example.com", "+44 20 7946 0000")));
+
+    @Test
+    void shouldMatchNamePrefixesIgnoringCaseAndAccents() {
+        assertThat(userIds(index.find("JOS", 10))).containsExactly(3L);
+        assertThat(userIds(index.find("jose nu", 10))).containsExactly(3L);
+        assertThat(userIds(index.find("nunez", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void shouldReturnEachMemberOnceAcrossNameAndEmailKeys() {
+        // john smith matches by full name, Mary Johnson by last name, Johanna by name and email
+        assertThat(userIds(index.find("jo", 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(index.find("jo", 2)).hasSize(2);
+    }
+
+    @Test
+    void shouldMatchPhoneDigitsWhateverTheFormatting() {
+        assertThat(userIds(index.find("+1 555-010", 10))).containsExactly(1L);
+        assertThat(userIds(index.find("5557", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void shouldReplaceExistingMemberOnUpsert() {
+        MemberLookupIndex updated = index.withUpsert(member(1L, "Jonathan", "Smythe", "jsmith@example.com", null));
+
+        assertThat(userIds(updated.find("smith", 10))).isEmpty();
+        assertThat(userIds(updated.find("smythe", 10))).containsExactly(1L);
+        assertThat(updated.find("+1 555", 10)).isEmpty();
+        assertThat(updated.size()).isEqualTo(4);
+        // The original snapshot is unchanged
+        assertThat(userIds(index.find("smith", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldAddNewMemberOnUpsert() {
+        MemberLookupIndex updated = index.withUpsert(member(10L, "Aaron", "Abbott", "aaron@example.com", null))
+                .withUpsert(member(5L, "Zoe", "Zhang", "zoe@example.com", "555 000"));
+
+        assertThat(userIds(updated.find("a", 10))).containsExactly(10L);
+        assertThat(userIds(updated.find("zoe", 10))).containsExactly(5L);
+        assertThat(userIds(updated.find("5550", 10))).containsExactly(5L);
+        assertThat(updated.size()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldReturnNothingForBlankQuery() {
+        assertThat(index.find("  ", 10)).isEmpty();
+        assertThat(index.find(null, 10)).isEmpty();
+    }
+
+    private static MemberLookupEntry member(Long userId, String first, String last, String email, String phone) {
+        return MemberLookupEntry.of(userId, userId + 100, first, last, email, phone, true);
+    }
+
+    private static List<Long> userIds(List<MemberLookupEntry> entries) {
+        return entries.stream().map(MemberLookupEntry::getUserId).toList();
+    }
+}
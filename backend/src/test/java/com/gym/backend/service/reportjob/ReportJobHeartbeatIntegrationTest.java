@@ -0,0 +1,102 @@
+package com.gym.backend.service.reportjob;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.reportjob.ReportJobDto;
+import com.gym.backend.dto.reportjob.ReportJobRequest;
+import com.gym.backend.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that job heartbeats do not depend on the application's shared scheduler thread
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "app.report-jobs.heartbeat-interval=PT0.5S",
+        "app.report-jobs.heartbeat-timeout=PT2S"})
+@ActiveProfiles("test")
+@Testcontainers
+public class ReportJobHeartbeatIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @Test
+    void runningJobSurvivesABlockedApplicationScheduler() throws InterruptedException {
+        CountDownLatch schedulerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseScheduler = new CountDownLatch(1);
+        CountDownLatch reportStarted = new CountDownLatch(1);
+        CountDownLatch releaseReport = new CountDownLatch(1);
+        when(analyticsService.getUtilizationAnalytics(any(), any())).thenAnswer(invocation -> {
+            reportStarted.countDown();
+            await(releaseReport);
+            return null;
+        });
+
+        // Stands in for a long cube reload or rollup rebuild holding the @Scheduled thread
+        taskScheduler.schedule(() -> {
+            schedulerBlocked.countDown();
+            await(releaseScheduler);
+        }, Instant.now());
+        try {
+            assertThat(schedulerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+            ReportJobDto job = reportJobService.submit(request(ReportType.UTILIZATION));
+            assertThat(reportStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Twice the heartbeat timeout; the next submission sweeps stale jobs
+            Thread.sleep(4_000);
+            reportJobService.submit(request(ReportType.REVENUE));
+
+            assertThat(reportJobService.getJob(job.getId()).getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+            releaseReport.countDown();
+            assertThat(reportJobService.awaitJob(job.getId(), Duration.ofSeconds(30)).join().getStatus())
+                    .isEqualTo(ReportJobStatus.COMPLETED);
+        } finally {
+            releaseScheduler.countDown();
+            releaseReport.countDown();
+        }
+    }
+
+    private static ReportJobRequest request(ReportType type) {
+        ReportJobRequest request = new ReportJobRequest();
+        request.setReportType(type);
+        request.setStartDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+        request.setEndDate(LocalDateTime.of(2024, 2, 1, 0, 0));
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
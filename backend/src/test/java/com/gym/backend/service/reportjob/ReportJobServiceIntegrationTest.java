@@ -0,0 +1,125 @@
+package com.gym.backend.service.reportjob;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.reportjob.ReportJobDto;
+import com.gym.backend.dto.reportjob.ReportJobRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for report job execution, single-flight submission and result reuse
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = "app.report-jobs.instance-id=" + ReportJobServiceIntegrationTest.INSTANCE)
+@ActiveProfiles("test")
+@Testcontainers
+public class ReportJobServiceIntegrationTest {
+
+    static final String INSTANCE = "report-job-test";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static ReportJobRequest request(ReportType type, int month) {
+        ReportJobRequest request = new ReportJobRequest();
+        request.setReportType(type);
+        request.setStartDate(LocalDateTime.of(2024, month, 1, 0, 0));
+        request.setEndDate(LocalDateTime.of(2024, month + 1, 1, 0, 0));
+        return request;
+    }
+
+    @Test
+    void shouldShareOneJobAndReuseItsResult() {
+        ReportJobDto first = reportJobService.submit(request(ReportType.UTILIZATION, 3));
+        ReportJobDto second = reportJobService.submit(request(ReportType.UTILIZATION, 3));
+        assertThat(second.getId()).isEqualTo(first.getId());
+
+        ReportJobDto finished = reportJobService.awaitJob(first.getId(), Duration.ofSeconds(30)).join();
+        assertThat(finished.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(finished.getResult()).contains("\"reportGeneratedAt\"");
+        assertThat(finished.getExpiresAt()).isAfter(finished.getCompletedAt());
+
+        ReportJobDto cached = reportJobService.submit(request(ReportType.UTILIZATION, 3));
+        assertThat(cached.getId()).isEqualTo(first.getId());
+        assertThat(cached.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+
+        Integer jobs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_jobs WHERE params_hash = ?",
+                Integer.class, ReportJobService.paramsHash(request(ReportType.UTILIZATION, 3)));
+        assertThat(jobs).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunNewJobOnceResultExpires() {
+        ReportJobDto first = reportJobService.submit(request(ReportType.REVENUE, 4));
+        reportJobService.awaitJob(first.getId(), Duration.ofSeconds(30)).join();
+        jdbcTemplate.update("UPDATE report_jobs SET expires_at = now() - INTERVAL '1 second' WHERE id = ?", first.getId());
+
+        ReportJobDto second = reportJobService.submit(request(ReportType.REVENUE, 4));
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(reportJobService.awaitJob(second.getId(), Duration.ofSeconds(30)).join().getStatus())
+                .isEqualTo(ReportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldAbandonQueuedJobWhoseOwnerStoppedHeartbeating() {
+        UUID orphan = insertInFlightJob(request(ReportType.UTILIZATION, 5), "gone-instance", "2 minutes");
+
+        ReportJobDto job = reportJobService.submit(request(ReportType.UTILIZATION, 5));
+
+        assertThat(job.getId()).isNotEqualTo(orphan);
+        assertThat(reportJobService.getJob(orphan).getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(reportJobService.awaitJob(job.getId(), Duration.ofSeconds(30)).join().getStatus())
+                .isEqualTo(ReportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldReuseQueuedJobWithLiveOwner() {
+        UUID live = insertInFlightJob(request(ReportType.UTILIZATION, 6), "live-instance", "5 seconds");
+
+        assertThat(reportJobService.submit(request(ReportType.UTILIZATION, 6)).getId()).isEqualTo(live);
+        jdbcTemplate.update("UPDATE report_jobs SET status = 'FAILED' WHERE id = ?", live);
+    }
+
+    @Test
+    void shouldFailJobsLeftBehindOnThisHostOnStartup() {
+        UUID leftBehind = insertInFlightJob(request(ReportType.REVENUE, 7), INSTANCE + "-previous", "1 minute");
+        UUID sibling = insertInFlightJob(request(ReportType.REVENUE, 8), INSTANCE + "-sibling", "0 seconds");
+        UUID otherHost = insertInFlightJob(request(ReportType.REVENUE, 9), "other-host-1a2b3c4d", "1 minute");
+
+        reportJobService.failOrphanedJobs();
+
+        assertThat(reportJobService.getJob(leftBehind).getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(reportJobService.getJob(sibling).getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(reportJobService.getJob(otherHost).getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+        jdbcTemplate.update("UPDATE report_jobs SET status = 'FAILED' WHERE id IN (?, ?)", sibling, otherHost);
+    }
+
+    private UUID insertInFlightJob(ReportJobRequest request, String owner, String heartbeatAge) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO report_jobs (id, report_type, params_hash, start_date, end_date, status, " +
+                        "owner_instance, heartbeat_at) VALUES (?, ?, ?, ?, ?, 'QUEUED', ?, now() - CAST(? AS INTERVAL))",
+                id, request.getReportType().name(), ReportJobService.paramsHash(request),
+                request.getStartDate(), request.getEndDate(), owner, heartbeatAge);
+        return id;
+    }
+}
@@ -0,0 +1,86 @@
+package com.gym.backend.service.rollup;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.analytics.AttendanceTrendDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for incremental attendance rollups and trends combining rollups with raw rows
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "app.attendance-rollup.enabled=false"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AttendanceRollupServiceIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 2, 4, 0, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "SELECT 910000 + g, 'rollup' || g || '@example.com', 'x', 'R', 'U' FROM generate_series(1, 2) g");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active, membership_type) VALUES " +
+                "(910001, 910001, true, 'PREMIUM'), (910002, 910002, true, NULL)");
+        jdbcTemplate.execute("INSERT INTO attendance (id, check_in_time, check_out_time, visit_type, member_id, updated_at) " +
+                "SELECT id, check_in, check_out, visit_type, member_id, now() - INTERVAL '1 hour' FROM (VALUES " +
+                "(910001, TIMESTAMP '2024-02-01 07:10', TIMESTAMP '2024-02-01 08:10', 'GENERAL_WORKOUT', 910001), " +
+                "(910002, TIMESTAMP '2024-02-01 07:40', TIMESTAMP '2024-02-01 08:10', 'GENERAL_WORKOUT', 910002), " +
+                "(910003, TIMESTAMP '2024-02-02 18:00', TIMESTAMP '2024-02-02 19:30', 'CONSULTATION', 910001)" +
+                ") v(id, check_in, check_out, visit_type, member_id)");
+    }
+
+    @Test
+    void shouldMatchRawTotalsBeforeAndAfterIncrementalRefresh() {
+        AttendanceTrendDto raw = attendanceRollupService.getAttendanceTrend(START, END, RollupGranularity.DAY);
+
+        assertThat(attendanceRollupService.refresh()).isEqualTo(2);
+        AttendanceTrendDto rolledUp = attendanceRollupService.getAttendanceTrend(START, END, RollupGranularity.DAY);
+
+        assertThat(rolledUp.getRolledUpThrough()).isAfter(END);
+        assertThat(rolledUp.getPoints()).isEqualTo(raw.getPoints());
+        assertThat(rolledUp.getTotalVisits()).isEqualTo(3);
+        assertThat(rolledUp.getVisitsByType()).containsEntry("GENERAL_WORKOUT", 2L).containsEntry("CONSULTATION", 1L);
+        assertThat(rolledUp.getVisitsByMemberSegment()).containsEntry("PREMIUM", 2L).containsEntry("UNSPECIFIED", 1L);
+        assertThat(rolledUp.getVisitsByRoom()).containsEntry("UNASSIGNED", 3L);
+        assertThat(rolledUp.getPoints().get(0).getAverageVisitMinutes()).isEqualTo(45.0);
+
+        // A late check-in for an old hour is picked up by the next refresh through updated_at
+        jdbcTemplate.update("INSERT INTO attendance (id, check_in_time, check_out_time, visit_type, member_id, updated_at) VALUES " +
+                "(910004, TIMESTAMP '2024-02-03 06:00', NULL, 'GENERAL_WORKOUT', 910002, now())");
+        jdbcTemplate.update("UPDATE rollup_watermarks SET watermark = now() - INTERVAL '1 minute' WHERE rollup_name = 'attendance'");
+
+        assertThat(attendanceRollupService.refresh()).isEqualTo(1);
+        AttendanceTrendDto refreshed = attendanceRollupService.getAttendanceTrend(START, END, RollupGranularity.HOUR);
+
+        assertThat(refreshed.getTotalVisits()).isEqualTo(4);
+        assertThat(refreshed.getPoints()).extracting(AttendanceTrendDto.TrendPoint::getBucketStart)
+                .contains(LocalDateTime.of(2024, 2, 3, 6, 0));
+    }
+}
@@ -0,0 +1,45 @@
+package com.gym.backend.service.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static com.gym.backend.service.rollup.RollupSegment.Source.DAILY;
+import static com.gym.backend.service.rollup.RollupSegment.Source.HOURLY;
+import static com.gym.backend.service.rollup.RollupSegment.Source.RAW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for splitting report ranges across rollups and raw attendance
+ */
+public class RollupSegmentTest {
+
+    private static LocalDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2024, 3, day, hour, minute);
+    }
+
+    @Test
+    void shouldUseDailyRowsForWholeDaysAndRawOnlyForPartialHoursAndTail() {
+        assertThat(RollupSegment.plan(at(1, 9, 30), at(5, 14, 10), at(5, 12, 40), RollupGranularity.DAY))
+                .containsExactly(
+                        new RollupSegment(RAW, at(1, 9, 30), at(1, 10, 0)),
+                        new RollupSegment(HOURLY, at(1, 10, 0), at(2, 0, 0)),
+                        new RollupSegment(DAILY, at(2, 0, 0), at(5, 0, 0)),
+                        new RollupSegment(HOURLY, at(5, 0, 0), at(5, 12, 0)),
+                        new RollupSegment(RAW, at(5, 12, 0), at(5, 14, 10)));
+    }
+
+    @Test
+    void shouldKeepHourlyBucketsWhenReportingByHour() {
+        assertThat(RollupSegment.plan(at(1, 0, 0), at(3, 0, 0), at(4, 0, 0), RollupGranularity.HOUR))
+                .containsExactly(new RollupSegment(HOURLY, at(1, 0, 0), at(3, 0, 0)));
+    }
+
+    @Test
+    void shouldReadRawWhenNothingIsRolledUp() {
+        assertThat(RollupSegment.plan(at(1, 0, 0), at(3, 0, 0), null, RollupGranularity.DAY))
+                .containsExactly(new RollupSegment(RAW, at(1, 0, 0), at(3, 0, 0)));
+        assertThat(RollupSegment.plan(at(1, 10, 5), at(1, 10, 55), at(4, 0, 0), RollupGranularity.DAY))
+                .containsExactly(new RollupSegment(RAW, at(1, 10, 5), at(1, 10, 55)));
+    }
+}
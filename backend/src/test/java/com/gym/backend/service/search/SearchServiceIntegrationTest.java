@@ -0,0 +1,91 @@
+package com.gym.backend.service.search;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.SearchPage;
+import com.gym.backend.dto.UserSearchResultDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for trigram user search: ranking, typo tolerance, estimated totals and index usage
+ */
+@SpringBootTest(classes = GymBackendApplication.class)
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SearchServiceIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (email, password, first_name, last_name) " +
+                "SELECT 'member' || g || '@example.com', 'x', 'First' || g, 'Last' || g FROM generate_series(1, 100000) g");
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name) VALUES " +
+                "('jsmith@example.com', 'x', 'John', 'Smith'), " +
+                "('john.smithers@example.com', 'x', 'John', 'Smithers'), " +
+                "('jane.smith@example.com', 'x', 'Jane', 'Smith')");
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @Test
+    void shouldRankClosestFullNameMatchFirst() {
+        SearchPage<UserSearchResultDto> results = searchService.searchUsers("John Smith", 0, 10);
+
+        assertThat(results.getItems()).extracting(UserSearchResultDto::getEmail)
+                .containsExactly("jsmith@example.com", "john.smithers@example.com");
+        assertThat(results.isTotalExact()).isTrue();
+        assertThat(results.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldToleratePartialWordsAndTypos() {
+        assertThat(searchService.searchUsers("smyth", 0, 10).getItems())
+                .extracting(UserSearchResultDto::getLastName)
+                .contains("Smith");
+    }
+
+    @Test
+    void shouldEstimateTotalForLargeResultSets() {
+        SearchPage<UserSearchResultDto> results = searchService.searchUsers("member", 0, 20);
+
+        assertThat(results.getItems()).hasSize(20);
+        assertThat(results.isTotalExact()).isFalse();
+        assertThat(results.getTotalElements()).isGreaterThan(SearchService.EXACT_COUNT_LIMIT);
+    }
+
+    @Test
+    void shouldRejectTermsTooShortForTheTrigramIndex() {
+        assertThatThrownBy(() -> searchService.searchUsers("jo", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchPredicateIsServedByTrigramIndexes() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT 1 FROM users u WHERE lower(u.first_name) LIKE '%smit%' " +
+                        "OR lower(u.last_name) LIKE '%smit%' OR lower(u.email) LIKE '%smit%'", String.class));
+
+        assertThat(plan).doesNotContain("Seq Scan on users").contains("idx_users_last_name_trgm");
+    }
+}
@@ -0,0 +1,28 @@
+package com.gym.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for search term normalization
+ */
+public class SearchTermsTest {
+
+    @Test
+    void shouldDropTokensTooShortForTrigrams() {
+        assertThat(SearchTerms.tokens("  Mary  Li  JONES ")).containsExactly("mary", "jones");
+    }
+
+    @Test
+    void shouldRejectTermWithoutUsableToken() {
+        assertThatThrownBy(() -> SearchTerms.tokens("li")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchTerms.tokens(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldEscapeLikeWildcards() {
+        assertThat(SearchTerms.containsPattern("100%_a\\b")).isEqualTo("%100\\%\\_a\\\\b%");
+    }
+}
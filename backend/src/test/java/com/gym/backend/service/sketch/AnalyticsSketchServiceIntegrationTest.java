@@ -0,0 +1,145 @@
+package com.gym.backend.service.sketch;
+
+import com.gym.backend.GymBackendApplication;
+import com.gym.backend.dto.analytics.PopularClassesDto;
+import com.gym.backend.dto.analytics.UniqueVisitorsDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for incremental daily sketch refreshes and the reports read from them
+ */
+@SpringBootTest(classes = GymBackendApplication.class, properties = {
+        "app.analytics-sketch.enabled=false"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AnalyticsSketchServiceIntegrationTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2024, 4, 1);
+    private static final LocalDate DAY_TWO = LocalDate.of(2024, 4, 2);
+
+    /** Same key AnalyticsSketchService locks on */
+    private static final long ADVISORY_LOCK_KEY = 0x67796d736bL;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private AnalyticsSketchService analyticsSketchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "SELECT 940000 + g, 'sketch' || g || '@example.com', 'x', 'S', 'K' FROM generate_series(1, 4) g");
+        jdbcTemplate.execute("INSERT INTO users (id, email, password, first_name, last_name) VALUES " +
+                "(940005, 'sketch-trainer@example.com', 'x', 'Tina', 'Trainer')");
+        jdbcTemplate.execute("INSERT INTO member_profiles (id, user_id, is_active) " +
+                "SELECT 940000 + g, 940000 + g, true FROM generate_series(1, 4) g");
+        jdbcTemplate.execute("INSERT INTO trainer_profiles (id, user_id, employee_id) VALUES (940005, 940005, 'SKETCH-T1')");
+        jdbcTemplate.execute("INSERT INTO gym_classes (id, trainer_id, name, duration_minutes, max_capacity) VALUES " +
+                "(940001, 940005, 'Spin', 60, 20)");
+        jdbcTemplate.execute("INSERT INTO class_schedules (id, gym_class_id, start_time, end_time) VALUES " +
+                "(940001, 940001, TIMESTAMP '2024-04-05 07:00', TIMESTAMP '2024-04-05 08:00'), " +
+                "(940002, 940001, TIMESTAMP '2024-04-06 07:00', TIMESTAMP '2024-04-06 08:00')");
+        // Rows older than the refresh watermark, so only explicit changes count as touched
+        jdbcTemplate.execute("INSERT INTO attendance (id, member_id, check_in_time, visit_type, updated_at) VALUES " +
+                "(940001, 940001, TIMESTAMP '2024-04-01 07:00', 'GENERAL_WORKOUT', TIMESTAMP '2024-04-01 07:00'), " +
+                "(940002, 940001, TIMESTAMP '2024-04-01 18:00', 'GENERAL_WORKOUT', TIMESTAMP '2024-04-01 18:00'), " +
+                "(940003, 940002, TIMESTAMP '2024-04-01 09:00', 'GENERAL_WORKOUT', TIMESTAMP '2024-04-01 09:00'), " +
+                "(940004, 940003, TIMESTAMP '2024-04-01 23:59', 'GENERAL_WORKOUT', TIMESTAMP '2024-04-01 23:59'), " +
+                "(940005, 940004, TIMESTAMP '2024-04-02 00:00', 'GENERAL_WORKOUT', TIMESTAMP '2024-04-02 00:00')");
+        // Day one: schedule 1 twice (plus a cancellation), schedule 2 once; day two: schedule 2 twice
+        jdbcTemplate.execute("INSERT INTO class_bookings (id, member_id, class_schedule_id, booking_reference, status, booking_date, updated_at) VALUES " +
+                "(940001, 940001, 940001, 'SKETCH-1', 'CONFIRMED', TIMESTAMP '2024-04-01 08:00', TIMESTAMP '2024-04-01 08:00'), " +
+                "(940002, 940002, 940001, 'SKETCH-2', 'CONFIRMED', TIMESTAMP '2024-04-01 08:00', TIMESTAMP '2024-04-01 08:00'), " +
+                "(940003, 940003, 940001, 'SKETCH-3', 'CANCELLED', TIMESTAMP '2024-04-01 08:00', TIMESTAMP '2024-04-01 08:00'), " +
+                "(940004, 940001, 940002, 'SKETCH-4', 'CONFIRMED', TIMESTAMP '2024-04-01 08:00', TIMESTAMP '2024-04-01 08:00'), " +
+                "(940005, 940002, 940002, 'SKETCH-5', 'CONFIRMED', TIMESTAMP '2024-04-02 08:00', TIMESTAMP '2024-04-02 08:00'), " +
+                "(940006, 940003, 940002, 'SKETCH-6', 'CONFIRMED', TIMESTAMP '2024-04-02 08:00', TIMESTAMP '2024-04-02 08:00')");
+    }
+
+    @Test
+    void rebuildsOnlyTheDaysTouchedSinceTheWatermark() {
+        // No watermark yet: every day with attendance or bookings is built
+        assertThat(analyticsSketchService.refresh()).isEqualTo(2);
+        assertThat(analyticsSketchService.refresh()).isZero();
+
+        // End dates are exclusive
+        UniqueVisitorsDto dayOne = analyticsSketchService.getUniqueVisitors(DAY_ONE, DAY_TWO, SketchPeriod.DAY);
+        assertThat(dayOne.getTotalUniqueMembers()).isEqualTo(3);
+        assertThat(dayOne.getPoints()).containsExactly(new UniqueVisitorsDto.PeriodPoint(DAY_ONE, 3));
+        assertThat(dayOne.getSketchedThrough()).isNotNull();
+        assertThat(analyticsSketchService.getUniqueVisitors(DAY_ONE, DAY_TWO.plusDays(1), SketchPeriod.DAY)
+                .getTotalUniqueMembers()).isEqualTo(4);
+
+        PopularClassesDto bothDays = analyticsSketchService.getPopularClasses(DAY_ONE, DAY_TWO.plusDays(1), 10);
+        assertThat(bothDays.getTotalBookings()).isEqualTo(5);
+        assertThat(bothDays.getTopSchedules())
+                .extracting(PopularClassesDto.RankedItem::getId, PopularClassesDto.RankedItem::getEstimatedBookings)
+                .containsExactly(tuple(940002L, 3L), tuple(940001L, 2L));
+        assertThat(bothDays.getTopTrainers()).extracting(PopularClassesDto.RankedItem::getName)
+                .containsExactly("Tina Trainer");
+        assertThat(analyticsSketchService.getPopularClasses(DAY_ONE, DAY_TWO, 10).getTotalBookings()).isEqualTo(3);
+
+        Map<LocalDate, Timestamp> builtAt = sketchUpdatedAt();
+        jdbcTemplate.update("UPDATE class_bookings SET status = 'CANCELLED', updated_at = now() WHERE id = 940006");
+
+        assertThat(analyticsSketchService.refresh()).isEqualTo(1);
+
+        Map<LocalDate, Timestamp> rebuiltAt = sketchUpdatedAt();
+        assertThat(rebuiltAt.get(DAY_ONE)).isEqualTo(builtAt.get(DAY_ONE));
+        assertThat(rebuiltAt.get(DAY_TWO)).isAfter(builtAt.get(DAY_TWO));
+        assertThat(analyticsSketchService.getPopularClasses(DAY_TWO, DAY_TWO.plusDays(1), 10).getTotalBookings())
+                .isEqualTo(1);
+        assertThat(analyticsSketchService.getPopularClasses(DAY_ONE, DAY_TWO.plusDays(1), 10).getTotalBookings())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void skipsRefreshWhileAnotherInstanceHoldsTheLock() {
+        Integer refreshed = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, ADVISORY_LOCK_KEY);
+            // The lock is per session, so the competing refresh must run on another connection
+            return CompletableFuture.supplyAsync(analyticsSketchService::refresh).join();
+        });
+
+        assertThat(refreshed).isEqualTo(-1);
+    }
+
+    private Map<LocalDate, Timestamp> sketchUpdatedAt() {
+        Map<LocalDate, Timestamp> updatedAt = new HashMap<>();
+        jdbcTemplate.query("SELECT sketch_date, MAX(updated_at) AS updated_at FROM analytics_daily_sketches GROUP BY sketch_date",
+                rs -> {
+                    updatedAt.put(rs.getDate("sketch_date").toLocalDate(), rs.getTimestamp("updated_at"));
+                });
+        return updatedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gym.backend.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for HyperLogLog accuracy, merging and serialization
+ */
+public class HyperLogLogTest {
+
+    private static HyperLogLog of(long from, long to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = from; id < to; id++) {
+            sketch.add(id);
+        }
+        return sketch;
+    }
+
+    @Test
+    void shouldEstimateWithinThreeStandardErrors() {
+        for (long count : new long[]{10, 1_000, 12_000, 200_000}) {
+            assertThat((double) of(0, count).estimate())
+                    .isCloseTo(count, within(count * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR + 1));
+        }
+    }
+
+    @Test
+    void shouldCountOverlappingMembersOnceWhenMerged() {
+        HyperLogLog monday = of(0, 600);
+        HyperLogLog tuesday = of(300, 900);
+        // Adding the same members again changes nothing
+        tuesday.merge(of(300, 900));
+
+        monday.merge(tuesday);
+
+        assertThat(monday.estimate()).isEqualTo(of(0, 900).estimate());
+    }
+
+    @Test
+    void shouldRoundTripSparseAndDenseSketches() {
+        HyperLogLog sparse = of(0, 50);
+        HyperLogLog dense = of(0, 50_000);
+
+        assertThat(sparse.toBytes()).hasSize(3 + 3 * 50);
+        assertThat(dense.toBytes()).hasSize(1 + HyperLogLog.REGISTERS);
+        assertThat(HyperLogLog.fromBytes(sparse.toBytes()).estimate()).isEqualTo(sparse.estimate());
+        assertThat(HyperLogLog.fromBytes(dense.toBytes()).estimate()).isEqualTo(dense.estimate());
+    }
+}
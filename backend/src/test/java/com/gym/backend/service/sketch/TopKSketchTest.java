@@ -0,0 +1,58 @@
+package com.gym.backend.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for Count-Min heavy hitters across merged days
+ */
+public class TopKSketchTest {
+
+    @Test
+    void shouldRankHeavyHittersAcrossMergedDays() {
+        TopKSketch range = new TopKSketch(8);
+        for (int day = 0; day < 30; day++) {
+            TopKSketch daily = new TopKSketch(8);
+            // A long tail of schedules booked once or twice a day
+            for (long schedule = 1_000; schedule < 1_500; schedule++) {
+                daily.add(schedule + day * 500L, 1 + schedule % 2);
+            }
+            daily.add(1, 40);
+            daily.add(2, 30);
+            daily.add(3, day % 2 == 0 ? 50 : 0);
+            range.merge(TopKSketch.fromBytes(daily.toBytes()));
+        }
+
+        List<TopKSketch.Estimate> top = range.top(3);
+
+        assertThat(top).extracting(TopKSketch.Estimate::getKey).containsExactly(1L, 2L, 3L);
+        assertThat(range.total()).isEqualTo(30 * (750 + 70) + 15 * 50);
+        assertThat(top.get(0).getCount()).isBetween(1_200L, 1_200L + range.errorBound());
+        assertThat(top.get(2).getCount()).isBetween(750L, 750L + range.errorBound());
+    }
+
+    @Test
+    void shouldEvictSmallestCandidateWhenFull() {
+        TopKSketch sketch = new TopKSketch(2);
+        sketch.add(1, 5);
+        sketch.add(2, 1);
+        sketch.add(3, 3);
+        sketch.add(4, 1);
+
+        assertThat(sketch.top(5)).extracting(TopKSketch.Estimate::getKey).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void shouldStayCompactForQuietDays() {
+        TopKSketch sketch = new TopKSketch(64);
+        for (long schedule = 0; schedule < 40; schedule++) {
+            sketch.add(schedule, 3);
+        }
+
+        assertThat(sketch.toBytes().length).isLessThan(2_048);
+        assertThat(TopKSketch.fromBytes(sketch.toBytes()).top(40)).hasSize(40);
+    }
+}
@@ -0,0 +1,49 @@
+package com.gym.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the streaming CSV reader and writer
+ */
+public class CsvReaderTest {
+
+    @Test
+    void shouldReadQuotedFieldsWithEmbeddedSeparatorsAndNewlines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "email,notes\r\na@example.com,\"likes \"\"HIIT\"\", yoga\"\nb@example.com,\"two\nlines\"\n"));
+
+        assertThat(reader.readRecord()).containsExactly("email", "notes");
+        assertThat(reader.readRecord()).containsExactly("a@example.com", "likes \"HIIT\", yoga");
+        assertThat(reader.readRecord()).containsExactly("b@example.com", "two\nlines");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void shouldKeepEmptyTrailingFieldsAndLastRecordWithoutNewline() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,,\nb,c,d"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "", "");
+        assertThat(reader.readRecord()).containsExactly("b", "c", "d");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void shouldRoundTripWriterOutput() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.field(1L).field("O'Brien, \"Jo\"").field(LocalDate.of(1990, 5, 1)).endRecord();
+        writer.flush();
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+
+        assertThat(reader.readRecord()).containsExactly("1", "O'Brien, \"Jo\"", "1990-05-01");
+        assertThat(reader.readRecord()).isNull();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gym.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for keyset cursor encoding
+ */
+public class KeysetCursorTest {
+
+    @Test
+    void shouldRoundTripSortKeyAndId() {
+        LocalDateTime sortKey = LocalDateTime.of(2024, 3, 15, 18, 30, 12, 123_456_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(sortKey, 9_876L));
+
+        assertThat(cursor.getSortKey()).isEqualTo(sortKey);
+        assertThat(cursor.getId()).isEqualTo(9_876L);
+    }
+
+    @Test
+    void shouldStartBeforeNewestRowWhenCursorMissing() {
+        KeysetCursor cursor = KeysetCursor.decode(null);
+
+        assertThat(cursor.getSortKey()).isAfter(LocalDateTime.now().plusYears(100));
+        assertThat(cursor.getId()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        assertThat(KeysetCursor.pageSize(null)).isEqualTo(KeysetCursor.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetCursor.pageSize(0)).isEqualTo(KeysetCursor.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetCursor.pageSize(10_000)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+    }
+}